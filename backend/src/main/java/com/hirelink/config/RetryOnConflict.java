@@ -0,0 +1,25 @@
+package com.hirelink.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Run the method again, in a new transaction, when it fails on an optimistic
+ * lock conflict, i.e. an entity it updated was changed by someone else after
+ * it was read. The retry reads the current state, so its checks (e.g. status
+ * transitions) see the concurrent change. Only useful on methods that start
+ * their own transaction; see {@link RetryOnConflictAspect}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    /**
+     * Attempts in total, including the first.
+     */
+    int maxAttempts() default 3;
+}
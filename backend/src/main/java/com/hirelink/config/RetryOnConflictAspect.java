@@ -0,0 +1,97 @@
+package com.hirelink.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries {@link RetryOnConflict} methods on optimistic lock conflicts.
+ *
+ * Ordered before the transaction interceptor, so every attempt runs in a
+ * fresh transaction and conflicts detected at commit are seen here too.
+ * Between attempts it sleeps a random time up to an exponentially growing
+ * cap ("full jitter"), so requests that collided once do not collide again
+ * in lockstep. A method joining a caller's transaction is not retried: its
+ * stale reads belong to the caller. Outcomes are counted in
+ * {@code hirelink.optimistic.conflicts}, tagged by method and outcome
+ * (retried, recovered, exhausted); an exhausted conflict is rethrown.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RetryOnConflictAspect {
+
+    private static final String METRIC = "hirelink.optimistic.conflicts";
+
+    private final MeterRegistry meterRegistry;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public RetryOnConflictAspect(MeterRegistry meterRegistry,
+                                 @Value("${hirelink.conflict-retry.initial-backoff-ms:10}") long initialBackoffMs,
+                                 @Value("${hirelink.conflict-retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.meterRegistry = meterRegistry;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    count(method, "recovered");
+                }
+                return result;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    count(method, "exhausted");
+                    log.warn("{} still conflicting after {} attempts: {}", method, attempt, e.getMessage());
+                    throw e;
+                }
+                count(method, "retried");
+                log.debug("{} hit an optimistic lock conflict, attempt {}", method, attempt);
+                if (!backOff(attempt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false if interrupted while waiting
+     */
+    private boolean backOff(int attempt) {
+        long cap = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void count(String method, String outcome) {
+        meterRegistry.counter(METRIC, "method", method, "outcome", outcome).increment();
+    }
+}
@@ -51,6 +51,7 @@ public class SecurityConfig {
                     "/api/categories/**",
                     "/api/services/**",
                     "/api/providers/**",
+                    "/api/search/**",
                     "/swagger-ui/**",
                     "/swagger-ui.html",
                     "/api-docs/**",
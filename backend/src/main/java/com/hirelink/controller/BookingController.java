@@ -2,20 +2,31 @@ package com.hirelink.controller;
 
 import com.hirelink.dto.ApiResponse;
 import com.hirelink.dto.BookingDTO;
+import com.hirelink.dto.MapDTO;
 import com.hirelink.entity.User;
 import com.hirelink.exception.BadRequestException;
 import com.hirelink.security.CustomUserDetails;
+import com.hirelink.service.BookingFacetIndex;
+import com.hirelink.service.BookingHeatmapService;
 import com.hirelink.service.BookingService;
+import com.hirelink.service.MapClusterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -24,6 +35,8 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingHeatmapService bookingHeatmapService;
+    private final MapClusterService mapClusterService;
 
     @PostMapping
     @Operation(summary = "Create a new booking (Customers only)")
@@ -44,9 +57,24 @@ public class BookingController {
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @RequestParam(required = false) String status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        BookingDTO.BookingListResponse response = bookingService.getBookingsForUser(
-                userDetails.getUserId(), userDetails.getUserType(), status, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            // Present (empty for the first page) switches to cursor paging via nextCursor
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        BookingDTO.BookingListResponse response = cursor != null
+                ? bookingService.getBookingsForUser(
+                        userDetails.getUserId(), userDetails.getUserType(), status, cursor, size, withTotal)
+                : bookingService.getBookingsForUser(
+                        userDetails.getUserId(), userDetails.getUserType(), status, page, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/counts")
+    @Operation(summary = "Get booking counts per status for the current user (all bookings for admins)")
+    public ResponseEntity<ApiResponse<BookingDTO.StatusCountsResponse>> getStatusCounts(
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        BookingDTO.StatusCountsResponse response = bookingService.getStatusCountsForUser(
+                userDetails.getUserId(), userDetails.getUserType());
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -78,8 +106,71 @@ public class BookingController {
     public ResponseEntity<ApiResponse<BookingDTO.BookingListResponse>> getAllBookings(
             @RequestParam(required = false) String status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        BookingDTO.BookingListResponse response = bookingService.getAllBookings(status, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        BookingDTO.BookingListResponse response = cursor != null
+                ? bookingService.getBookingsAfter(null, null, status, cursor, size, withTotal)
+                : bookingService.getAllBookings(status, page, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/filter")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    @Operation(summary = "Filter bookings by status, city, state, category, urgency and scheduled date, with facet counts (Admin only)")
+    public ResponseEntity<ApiResponse<BookingDTO.FilterResponse>> filterBookings(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> city,
+            @RequestParam(required = false) List<String> state,
+            @RequestParam(required = false) List<String> categoryId,
+            @RequestParam(required = false) List<String> urgency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Map<BookingFacetIndex.Dimension, Set<String>> selections = new EnumMap<>(BookingFacetIndex.Dimension.class);
+        putSelection(selections, BookingFacetIndex.Dimension.STATUS, status);
+        putSelection(selections, BookingFacetIndex.Dimension.CITY, city);
+        putSelection(selections, BookingFacetIndex.Dimension.STATE, state);
+        putSelection(selections, BookingFacetIndex.Dimension.CATEGORY, categoryId);
+        putSelection(selections, BookingFacetIndex.Dimension.URGENCY, urgency);
+        BookingDTO.FilterResponse response = bookingService.filterBookings(
+                new BookingFacetIndex.Filter(selections, from, to), page, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    private static void putSelection(Map<BookingFacetIndex.Dimension, Set<String>> selections,
+                                     BookingFacetIndex.Dimension dimension, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            selections.put(dimension, new HashSet<>(values));
+        }
+    }
+
+    @GetMapping("/heatmap")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    @Operation(summary = "Get booking counts and revenue per map tile (Admin only)")
+    public ResponseEntity<ApiResponse<MapDTO.HeatmapResponse>> getBookingHeatmap(
+            @RequestParam BigDecimal minLat,
+            @RequestParam BigDecimal maxLat,
+            @RequestParam BigDecimal minLng,
+            @RequestParam BigDecimal maxLng,
+            @RequestParam(defaultValue = "10") int zoom) {
+        MapDTO.HeatmapResponse response = bookingHeatmapService.getHeatmap(
+                minLat.doubleValue(), maxLat.doubleValue(), minLng.doubleValue(), maxLng.doubleValue(), zoom);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/clusters")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    @Operation(summary = "Get booking location clusters for a map viewport (Admin only)")
+    public ResponseEntity<ApiResponse<MapDTO.ClusterResponse>> getBookingClusters(
+            @RequestParam BigDecimal minLat,
+            @RequestParam BigDecimal maxLat,
+            @RequestParam BigDecimal minLng,
+            @RequestParam BigDecimal maxLng,
+            @RequestParam(defaultValue = "10") int zoom) {
+        MapDTO.ClusterResponse response = mapClusterService.getBookingClusters(
+                minLat.doubleValue(), maxLat.doubleValue(), minLng.doubleValue(), maxLng.doubleValue(), zoom);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -0,0 +1,30 @@
+package com.hirelink.controller;
+
+import com.hirelink.dto.ApiResponse;
+import com.hirelink.dto.DashboardDTO;
+import com.hirelink.security.CustomUserDetails;
+import com.hirelink.service.BookingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@Tag(name = "Dashboard", description = "Dashboard endpoints")
+public class DashboardController {
+
+    private final BookingService bookingService;
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get status counts, upcoming and recent bookings, earnings and rating for the current user")
+    public ResponseEntity<ApiResponse<DashboardDTO.SummaryResponse>> getSummary(
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        DashboardDTO.SummaryResponse response = bookingService.getDashboardSummary(
+                userDetails.getUserId(), userDetails.getUserType());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
@@ -0,0 +1,36 @@
+package com.hirelink.controller;
+
+import com.hirelink.dto.ApiResponse;
+import com.hirelink.dto.MapDTO;
+import com.hirelink.service.ProviderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/geo")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+@Tag(name = "Geo Index", description = "Provider geo index administration")
+public class GeoIndexController {
+
+    private final ProviderService providerService;
+
+    @GetMapping("/regions")
+    @Operation(summary = "List geo regions held by this node")
+    public ResponseEntity<ApiResponse<List<MapDTO.GeoRegionStatus>>> getRegions() {
+        return ResponseEntity.ok(ApiResponse.success(providerService.getGeoRegions()));
+    }
+
+    @PostMapping("/regions/{region}/refresh")
+    @Operation(summary = "Reload one geo region from the database")
+    public ResponseEntity<ApiResponse<Integer>> refreshRegion(@PathVariable String region) {
+        int providers = providerService.refreshRegion(region.toLowerCase());
+        return ResponseEntity.ok(ApiResponse.success("Region refreshed", providers));
+    }
+}
@@ -2,24 +2,29 @@ package com.hirelink.controller;
 
 import com.hirelink.dto.ApiResponse;
 import com.hirelink.dto.BookingDTO;
+import com.hirelink.dto.MapDTO;
 import com.hirelink.dto.ProviderDTO;
 import com.hirelink.dto.ServiceDTO;
 import com.hirelink.entity.ServiceProvider;
 import com.hirelink.exception.ResourceNotFoundException;
 import com.hirelink.repository.ServiceProviderRepository;
 import com.hirelink.security.CustomUserDetails;
+import com.hirelink.service.AvailabilityService;
 import com.hirelink.service.BookingService;
+import com.hirelink.service.MapClusterService;
 import com.hirelink.service.ProviderService;
 import com.hirelink.service.ServiceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -31,6 +36,8 @@ public class ProviderController {
     private final ProviderService providerService;
     private final BookingService bookingService;
     private final ServiceService serviceService;
+    private final MapClusterService mapClusterService;
+    private final AvailabilityService availabilityService;
     private final ServiceProviderRepository providerRepository;
     private final com.hirelink.service.LocationService locationService;
 
@@ -73,12 +80,39 @@ public class ProviderController {
             @RequestParam BigDecimal lat,
             @RequestParam BigDecimal lng,
             @RequestParam(defaultValue = "10") Integer radiusKm,
-            @RequestParam(required = false) Long categoryId) {
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "true") boolean withinServiceArea) {
         List<ProviderDTO.ProviderSummary> providers = providerService.getNearbyProvidersByLocation(
-                lat, lng, radiusKm, categoryId);
+                lat, lng, radiusKm, categoryId, limit, withinServiceArea);
         return ResponseEntity.ok(ApiResponse.success(providers));
     }
 
+    @GetMapping("/nearby/coverage")
+    @Operation(summary = "Get providers whose service area covers the given coordinates")
+    public ResponseEntity<ApiResponse<List<ProviderDTO.ProviderSummary>>> getProvidersCoveringLocation(
+            @RequestParam BigDecimal lat,
+            @RequestParam BigDecimal lng,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer limit) {
+        List<ProviderDTO.ProviderSummary> providers = providerService.getProvidersCoveringLocation(
+                lat, lng, categoryId, limit);
+        return ResponseEntity.ok(ApiResponse.success(providers));
+    }
+
+    @GetMapping("/clusters")
+    @Operation(summary = "Get provider location clusters for a map viewport")
+    public ResponseEntity<ApiResponse<MapDTO.ClusterResponse>> getProviderClusters(
+            @RequestParam BigDecimal minLat,
+            @RequestParam BigDecimal maxLat,
+            @RequestParam BigDecimal minLng,
+            @RequestParam BigDecimal maxLng,
+            @RequestParam(defaultValue = "10") int zoom) {
+        MapDTO.ClusterResponse response = mapClusterService.getProviderClusters(
+                minLat.doubleValue(), maxLat.doubleValue(), minLng.doubleValue(), maxLng.doubleValue(), zoom);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/top-rated")
     @Operation(summary = "Get top rated providers")
     public ResponseEntity<ApiResponse<ProviderDTO.ProviderListResponse>> getTopRatedProviders(
@@ -88,6 +122,29 @@ public class ProviderController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Get open booking start times of a provider, for a service's duration and advance notice")
+    public ResponseEntity<ApiResponse<ProviderDTO.AvailabilityResponse>> getAvailability(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ProviderDTO.AvailabilityResponse response = availabilityService.getAvailability(id, serviceId, from, to);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/availability")
+    @Operation(summary = "Get open booking start times of several providers at once (e.g. a provider list page)")
+    public ResponseEntity<ApiResponse<List<ProviderDTO.AvailabilityResponse>>> getAvailabilityBatch(
+            @RequestParam List<Long> providerIds,
+            @RequestParam(required = false) Integer durationMinutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<ProviderDTO.AvailabilityResponse> response = availabilityService.getAvailability(
+                providerIds, durationMinutes, from, to);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/{id}/services")
     @Operation(summary = "Get services offered by provider")
     public ResponseEntity<ApiResponse<ServiceDTO.ServiceListResponse>> getProviderServices(
@@ -130,17 +187,27 @@ public class ProviderController {
         return ResponseEntity.ok(ApiResponse.success("Availability updated"));
     }
 
+    @PostMapping("/me/heartbeat")
+    @Operation(summary = "Keep provider presence alive")
+    public ResponseEntity<ApiResponse<Void>> heartbeat(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        providerService.heartbeat(userDetails.getUserId());
+        return ResponseEntity.ok(ApiResponse.success("Heartbeat received"));
+    }
+
     @GetMapping("/me/bookings")
     @Operation(summary = "Get provider's bookings")
     public ResponseEntity<ApiResponse<BookingDTO.BookingListResponse>> getMyBookings(
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @RequestParam(required = false) String status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
         ServiceProvider provider = providerRepository.findByUserUserId(userDetails.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Provider not found"));
-        BookingDTO.BookingListResponse response = bookingService.getProviderBookings(
-                provider.getProviderId(), status, page, size);
+        BookingDTO.BookingListResponse response = cursor != null
+                ? bookingService.getBookingsAfter(null, provider.getProviderId(), status, cursor, size, withTotal)
+                : bookingService.getProviderBookings(provider.getProviderId(), status, page, size);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -152,6 +219,7 @@ public class ProviderController {
         ServiceProvider provider = providerRepository.findByUserUserId(userDetails.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Provider not found"));
         ServiceDTO.ServiceResponse response = serviceService.createService(provider.getProviderId(), request);
+        providerService.refreshIndexedProvider(provider.getProviderId());
         return ResponseEntity.ok(ApiResponse.success("Service added", response));
     }
 }
@@ -0,0 +1,28 @@
+package com.hirelink.controller;
+
+import com.hirelink.dto.ApiResponse;
+import com.hirelink.dto.SearchDTO;
+import com.hirelink.service.SuggestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Search bar endpoints")
+public class SearchController {
+
+    private final SuggestionService suggestionService;
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Typeahead suggestions for services, categories and providers")
+    public ResponseEntity<ApiResponse<SearchDTO.SuggestResponse>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        SearchDTO.SuggestResponse response = suggestionService.suggest(q, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
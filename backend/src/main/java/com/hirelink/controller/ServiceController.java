@@ -61,9 +61,10 @@ public class ServiceController {
     @Operation(summary = "Search services")
     public ResponseEntity<ApiResponse<ServiceDTO.ServiceListResponse>> searchServices(
             @RequestParam String query,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        ServiceDTO.ServiceListResponse response = serviceService.searchServices(query, page, size);
+        ServiceDTO.ServiceListResponse response = serviceService.searchServices(query, fuzzy, page, size);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
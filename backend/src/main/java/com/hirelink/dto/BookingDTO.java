@@ -11,6 +11,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 public class BookingDTO {
 
@@ -153,11 +154,37 @@ public class BookingDTO {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class BookingListResponse {
+        private List<BookingResponse> bookings;
+        private Integer page;
+        private Integer size;
+        private Long total; // null in cursor mode unless requested
+        private Integer totalPages;
+        private String nextCursor; // cursor mode: pass back as ?cursor= for the next page
+        private Boolean hasMore;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FilterResponse {
         private List<BookingResponse> bookings;
         private Integer page;
         private Integer size;
         private Long total;
         private Integer totalPages;
+        // dimension (status, city, state, categoryId, urgency) -> value -> bookings, largest first
+        private Map<String, Map<String, Long>> facets;
+        private Boolean complete; // false while bookings are still being loaded after startup
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusCountsResponse {
+        private Map<String, Long> counts; // every BookingStatus, zero included
+        private Long total;
     }
 
     @Data
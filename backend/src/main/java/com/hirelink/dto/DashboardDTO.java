@@ -0,0 +1,33 @@
+package com.hirelink.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class DashboardDTO {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SummaryResponse {
+        private String userType;
+        private Long providerId; // provider dashboards only
+        private Map<String, Long> statusCounts; // every BookingStatus, zero included
+        private Long totalBookings;
+        private Long activeBookings; // pending, accepted, confirmed or in progress
+        private List<BookingDTO.BookingResponse> upcomingBookings; // active, soonest scheduled first
+        private List<BookingDTO.BookingResponse> recentBookings; // pending first, then newest
+        private BigDecimal totalSpent; // customers: completed bookings
+        private BigDecimal totalEarnings; // providers
+        private BigDecimal averageRating; // providers
+        private Integer totalReviews; // providers
+        private LocalDateTime generatedAt;
+    }
+}
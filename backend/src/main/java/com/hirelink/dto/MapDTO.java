@@ -0,0 +1,87 @@
+package com.hirelink.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public class MapDTO {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HeatmapResponse {
+        private Integer zoom;
+        private Long totalCount;
+        private BigDecimal totalRevenue;
+        private List<HeatmapTile> tiles;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HeatmapTile {
+        private Integer zoom;
+        private Integer x;
+        private Integer y;
+        private Double north;
+        private Double south;
+        private Double east;
+        private Double west;
+        private Long count;
+        private BigDecimal revenue;
+        private Map<String, Bucket> byStatus;
+        private Map<Long, Bucket> byCategory;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private Long count;
+        private BigDecimal revenue;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ClusterResponse {
+        private String layer;
+        private Integer zoom;
+        private Long totalCount;
+        private List<MapCluster> clusters;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MapCluster {
+        private Double latitude;
+        private Double longitude;
+        private Integer count;
+        private Long pointId;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GeoRegionStatus {
+        private String region;
+        private Integer providers;
+        private Boolean evicted;
+        private Double north;
+        private Double south;
+        private Double east;
+        private Double west;
+    }
+}
@@ -1,11 +1,16 @@
 package com.hirelink.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
 public class ProviderDTO {
@@ -58,7 +63,7 @@ public class ProviderDTO {
     }
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     public static class ProviderSummary {
@@ -118,6 +123,30 @@ public class ProviderDTO {
         private Integer experienceYears;
         private List<String> specializations;
         private String basePincode;
+
+        @Min(value = 1, message = "Service radius must be between 1 and 100 km")
+        @Max(value = 100, message = "Service radius must be between 1 and 100 km")
         private Integer serviceRadiusKm;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AvailabilityResponse {
+        private Long providerId;
+        private Integer durationMinutes;
+        private Integer slotMinutes;
+        private LocalDateTime nextAvailable; // null if nothing is open in the range
+        private List<DayAvailability> days;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DayAvailability {
+        private LocalDate date;
+        private List<LocalTime> startTimes; // times a booking of durationMinutes can start
+    }
 }
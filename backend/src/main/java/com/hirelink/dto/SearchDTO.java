@@ -0,0 +1,33 @@
+package com.hirelink.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+public class SearchDTO {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SuggestResponse {
+        private String query;
+        private List<Suggestion> suggestions;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Suggestion {
+        private String type; // CATEGORY, SERVICE or PROVIDER
+        private String label;
+        private Long id; // categoryId, providerId, or the most booked service with this name
+        private String slug; // category slug, for category suggestions
+        private Integer count; // services sharing this name
+        private Long popularity;
+    }
+}
@@ -166,6 +166,13 @@ public class Booking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: an update based on a stale read fails instead of
+    // overwriting a concurrent one (see RetryOnConflict). Left null on new
+    // entities so Spring Data still recognises them as new.
+    @Version
+    @Column(name = "version", columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+
     @PrePersist
     public void generateBookingNumber() {
         if (this.bookingNumber == null || this.bookingNumber.isEmpty()) {
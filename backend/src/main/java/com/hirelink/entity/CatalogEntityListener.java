@@ -0,0 +1,37 @@
+package com.hirelink.entity;
+
+import com.hirelink.event.CatalogChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a {@link CatalogChangedEvent} whenever a service or category row is
+ * inserted, updated or deleted through JPA, so no write path can leave the
+ * search caches and indexes behind. Hibernate gets the instance from Spring.
+ *
+ * Listeners of the event run after the transaction commits. Relative
+ * statistics updates written with plain SQL (times booked, ratings) do not
+ * pass through here; rankings pick those up on the periodic index rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCatalogEntityChanged(Object entity) {
+        if (entity instanceof Service service) {
+            eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogChangedEvent.Type.SERVICE, service.getServiceId()));
+        } else if (entity instanceof ServiceCategory category) {
+            eventPublisher.publishEvent(
+                    CatalogChangedEvent.of(CatalogChangedEvent.Type.CATEGORY, category.getCategoryId()));
+        }
+    }
+}
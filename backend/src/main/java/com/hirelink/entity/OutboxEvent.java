@@ -0,0 +1,60 @@
+package com.hirelink.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking lifecycle event recorded in the same transaction as the change
+ * that caused it, and delivered to the outbox subscribers afterwards by
+ * OutboxDispatcher. The payload is the event serialized as JSON.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_pending", columnList = "processed_at, event_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private Type eventType;
+
+    // Booking the event is about
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    // TEXT rather than JSON: H2 (embedded profile) would store the bound string as a JSON string literal
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Null until every subscriber has handled the event
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public enum Type {
+        BOOKING_CREATED,
+        BOOKING_STATUS_CHANGED,
+        REVIEW_ADDED
+    }
+}
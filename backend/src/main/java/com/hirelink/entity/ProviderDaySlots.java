@@ -0,0 +1,45 @@
+package com.hirelink.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Booked 15-minute slots of one provider on one day, as the two words of
+ * ProviderSlotCalendar (slots 0-63, 64-95). Bookings claim their slots here
+ * by a versioned update, so two nodes claiming the same day race on the
+ * version instead of locking, and the first insert of a day races on the
+ * unique key.
+ */
+@Entity
+@Table(name = "provider_day_slots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_provider_day", columnNames = {"provider_id", "slot_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProviderDaySlots {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "day_slots_id")
+    private Long daySlotsId;
+
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate slotDate;
+
+    @Column(name = "slots_low", nullable = false)
+    private long slotsLow;
+
+    @Column(name = "slots_high", nullable = false)
+    private long slotsHigh;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
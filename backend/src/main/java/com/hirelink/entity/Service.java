@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "services")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, CatalogEntityListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -82,7 +82,8 @@ public class Service {
     @Builder.Default
     private Boolean isFeatured = false;
 
-    @Column(name = "times_booked")
+    // Written only by BookingStatsWriter, see ServiceProvider.totalBookings
+    @Column(name = "times_booked", updatable = false)
     @Builder.Default
     private Integer timesBooked = 0;
 
@@ -102,6 +103,11 @@ public class Service {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock, see Booking.version
+    @Version
+    @Column(name = "version", columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+
     public enum PriceType {
         FIXED, HOURLY, PER_SQFT, STARTING_FROM, NEGOTIABLE
     }
@@ -12,7 +12,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "service_categories")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, CatalogEntityListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
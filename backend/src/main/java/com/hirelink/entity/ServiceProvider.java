@@ -81,7 +81,8 @@ public class ServiceProvider {
     @Column(name = "kyc_rejection_reason")
     private String kycRejectionReason;
 
-    @Column(name = "average_rating", precision = 3, scale = 2)
+    // Recalculated from the reviews only by ProviderRatingUpdater, see totalBookings
+    @Column(name = "average_rating", precision = 3, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal averageRating = BigDecimal.ZERO;
 
@@ -89,27 +90,29 @@ public class ServiceProvider {
     @Builder.Default
     private Integer totalRatings = 0;
 
-    @Column(name = "total_reviews")
+    @Column(name = "total_reviews", updatable = false)
     @Builder.Default
     private Integer totalReviews = 0;
 
-    @Column(name = "total_bookings")
+    // Booking stats are written only by BookingStatsWriter's relative updates;
+    // updatable = false keeps entity saves from overwriting them with stale values
+    @Column(name = "total_bookings", updatable = false)
     @Builder.Default
     private Integer totalBookings = 0;
 
-    @Column(name = "completed_bookings")
+    @Column(name = "completed_bookings", updatable = false)
     @Builder.Default
     private Integer completedBookings = 0;
 
-    @Column(name = "cancelled_bookings")
+    @Column(name = "cancelled_bookings", updatable = false)
     @Builder.Default
     private Integer cancelledBookings = 0;
 
-    @Column(name = "completion_rate", precision = 5, scale = 2)
+    @Column(name = "completion_rate", precision = 5, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal completionRate = BigDecimal.ZERO;
 
-    @Column(name = "total_earnings", precision = 12, scale = 2)
+    @Column(name = "total_earnings", precision = 12, scale = 2, updatable = false)
     @Builder.Default
     private BigDecimal totalEarnings = BigDecimal.ZERO;
 
@@ -142,6 +145,11 @@ public class ServiceProvider {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock, see Booking.version
+    @Version
+    @Column(name = "version", columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+
     @OneToMany(mappedBy = "provider", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @ToString.Exclude
     private List<Service> services;
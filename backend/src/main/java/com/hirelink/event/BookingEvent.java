@@ -0,0 +1,91 @@
+package com.hirelink.event;
+
+import com.hirelink.entity.Booking;
+import com.hirelink.entity.Booking.BookingStatus;
+import com.hirelink.entity.Service;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Snapshot of a booking at a lifecycle transition, published by BookingService
+ * so resident aggregates (heatmap counters etc.) can update without re-reading
+ * the booking. Listeners should use @TransactionalEventListener so nothing is
+ * applied for a transaction that rolls back.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEvent {
+
+    private Type type;
+    private Long bookingId;
+    private String bookingNumber;
+    private Long userId;
+    private Long providerId;
+    private Long serviceId;
+    private Long categoryId;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private String city;
+    private String state;
+    private Booking.UrgencyLevel urgencyLevel;
+    private BookingStatus previousStatus;
+    private BookingStatus status;
+    private BigDecimal previousAmount;
+    private BigDecimal amount;
+    private LocalDate scheduledDate;
+    private LocalTime scheduledTime;
+    private LocalTime scheduledEndTime;
+    private LocalDateTime createdAt;
+    // Booking version after the change; orders the startup replay against live events
+    private Long version;
+
+    public enum Type {
+        /** Existing booking replayed at startup to warm up aggregates */
+        SNAPSHOT,
+        CREATED,
+        STATUS_CHANGED
+    }
+
+    public static BookingEvent of(Type type, Booking booking, BookingStatus previousStatus, BigDecimal previousAmount) {
+        Service service = booking.getService();
+        return BookingEvent.builder()
+                .type(type)
+                .bookingId(booking.getBookingId())
+                .bookingNumber(booking.getBookingNumber())
+                .userId(booking.getUser() != null ? booking.getUser().getUserId() : null)
+                .providerId(booking.getProvider() != null ? booking.getProvider().getProviderId() : null)
+                .serviceId(service != null ? service.getServiceId() : null)
+                .categoryId(service != null && service.getCategory() != null ? service.getCategory().getCategoryId() : null)
+                .latitude(booking.getServiceLatitude())
+                .longitude(booking.getServiceLongitude())
+                .city(booking.getServiceCity())
+                .state(booking.getServiceState())
+                .urgencyLevel(booking.getUrgencyLevel())
+                .previousStatus(previousStatus)
+                .status(booking.getBookingStatus())
+                .previousAmount(previousAmount)
+                .amount(amountOf(booking))
+                .scheduledDate(booking.getScheduledDate())
+                .scheduledTime(booking.getScheduledTime())
+                .scheduledEndTime(booking.getScheduledEndTime())
+                .createdAt(booking.getCreatedAt())
+                .version(booking.getVersion())
+                .build();
+    }
+
+    /**
+     * Booking value used by aggregates: final amount once set, otherwise the estimate.
+     */
+    public static BigDecimal amountOf(Booking booking) {
+        return booking.getFinalAmount() != null ? booking.getFinalAmount() : booking.getEstimatedAmount();
+    }
+}
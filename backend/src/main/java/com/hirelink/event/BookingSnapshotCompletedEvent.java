@@ -0,0 +1,18 @@
+package com.hirelink.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published once the startup replay of {@link BookingEvent.Type#SNAPSHOT}
+ * events is over, so aggregates that must be complete before answering
+ * queries know when they are.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSnapshotCompletedEvent {
+
+    private int replayed;
+}
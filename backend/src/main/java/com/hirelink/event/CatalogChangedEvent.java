@@ -0,0 +1,29 @@
+package com.hirelink.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published after a change to something customers search for: a new or edited
+ * service, a category, or a provider's business name. Read models derived from
+ * the catalog (search suggestions, caches) listen for it instead of polling.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChangedEvent {
+
+    public enum Type {
+        SERVICE, CATEGORY, PROVIDER
+    }
+
+    private Type type;
+    private Long id;
+
+    public static CatalogChangedEvent of(Type type, Long id) {
+        return new CatalogChangedEvent(type, id);
+    }
+}
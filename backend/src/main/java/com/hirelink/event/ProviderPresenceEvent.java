@@ -0,0 +1,23 @@
+package com.hirelink.event;
+
+import com.hirelink.entity.ServiceProvider;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published by the presence registry whenever a provider's live availability
+ * changes, whether from an explicit toggle, a heartbeat after silence, or a
+ * heartbeat timeout.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderPresenceEvent {
+
+    private Long providerId;
+    private boolean available;
+    private ServiceProvider.AvailabilityStatus status;
+}
@@ -0,0 +1,25 @@
+package com.hirelink.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A customer reviewed a completed booking. Recorded in the outbox by
+ * BookingService, and published in-process by ProviderRatingUpdater once the
+ * provider's average rating has been recalculated.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewAddedEvent {
+
+    private Long bookingId;
+    private Long userId;
+    private Long providerId;
+    private BigDecimal rating;
+}
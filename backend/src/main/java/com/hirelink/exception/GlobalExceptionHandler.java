@@ -1,6 +1,7 @@
 package com.hirelink.exception;
 
 import com.hirelink.dto.ApiResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -43,6 +44,14 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("Invalid credentials", "UNAUTHORIZED"));
     }
 
+    // Still conflicting after RetryOnConflict gave up, or on a method without retries
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleConflict(OptimisticLockingFailureException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("This record was changed by someone else, please try again", "CONFLICT"));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationErrors(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
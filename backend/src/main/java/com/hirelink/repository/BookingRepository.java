@@ -11,6 +11,8 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,7 +38,9 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.provider.providerId = :providerId AND b.bookingStatus = :status")
     Page<Booking> findByProviderProviderIdAndBookingStatusOrderByCreatedAtDesc(@Param("providerId") Long providerId, @Param("status") BookingStatus status, Pageable pageable);
     
-    List<Booking> findByProviderProviderIdAndScheduledDateAndBookingStatusIn(Long providerId, LocalDate date, List<BookingStatus> statuses);
+    List<Booking> findByProviderProviderIdAndScheduledDateBetweenAndBookingStatusIn(Long providerId, LocalDate from, LocalDate to, List<BookingStatus> statuses);
+
+    List<Booking> findByProviderProviderIdInAndScheduledDateBetweenAndBookingStatusIn(Collection<Long> providerIds, LocalDate from, LocalDate to, List<BookingStatus> statuses);
     
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.user.userId = :userId AND b.bookingStatus = :status")
     Long countByUserAndStatus(@Param("userId") Long userId, @Param("status") BookingStatus status);
@@ -52,6 +56,20 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category WHERE b.bookingId = :id")
     Optional<Booking> findByIdWithDetails(@Param("id") Long id);
     
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category WHERE b.bookingId IN :ids")
+    List<Booking> findAllByIdWithDetails(@Param("ids") List<Long> ids);
+    
+    @Query("SELECT MAX(b.bookingId) FROM Booking b")
+    Long findMaxBookingId();
+    
+    // Id-ordered batches for replaying bookings into in-memory aggregates
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category WHERE b.bookingId > :afterId AND b.bookingId <= :maxId ORDER BY b.bookingId ASC")
+    List<Booking> findBatchAfterId(@Param("afterId") Long afterId, @Param("maxId") Long maxId, Pageable pageable);
+    
+    // Id-ordered batches of bookings written since a time, for catching up in-memory aggregates
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category WHERE b.updatedAt >= :since AND b.bookingId > :afterId ORDER BY b.bookingId ASC")
+    List<Booking> findBatchUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+    
     @Query(value = "SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category ORDER BY b.createdAt DESC",
            countQuery = "SELECT COUNT(b) FROM Booking b")
     Page<Booking> findAllByOrderByCreatedAtDesc(Pageable pageable);
@@ -60,6 +78,60 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.bookingStatus = :status")
     Page<Booking> findByBookingStatusOrderByCreatedAtDesc(@Param("status") BookingStatus status, Pageable pageable);
     
+    // ========== Keyset pagination: bookings after a (createdAt, bookingId) cursor, newest first ==========
+    // No count query is run. With BookingCursor.FIRST and an offset Pageable these also serve
+    // plain page numbers when the total comes from BookingStatusCounters.
+    
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category " +
+           "WHERE b.user.userId = :userId AND (:status IS NULL OR b.bookingStatus = :status) " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.bookingId < :bookingId)) " +
+           "ORDER BY b.createdAt DESC, b.bookingId DESC")
+    List<Booking> findUserBookingsBefore(@Param("userId") Long userId, @Param("status") BookingStatus status,
+                                         @Param("createdAt") LocalDateTime createdAt, @Param("bookingId") Long bookingId,
+                                         Pageable limit);
+    
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category " +
+           "WHERE b.provider.providerId = :providerId AND (:status IS NULL OR b.bookingStatus = :status) " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.bookingId < :bookingId)) " +
+           "ORDER BY b.createdAt DESC, b.bookingId DESC")
+    List<Booking> findProviderBookingsBefore(@Param("providerId") Long providerId, @Param("status") BookingStatus status,
+                                             @Param("createdAt") LocalDateTime createdAt, @Param("bookingId") Long bookingId,
+                                             Pageable limit);
+    
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category " +
+           "WHERE (:status IS NULL OR b.bookingStatus = :status) " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.bookingId < :bookingId)) " +
+           "ORDER BY b.createdAt DESC, b.bookingId DESC")
+    List<Booking> findAllBookingsBefore(@Param("status") BookingStatus status,
+                                        @Param("createdAt") LocalDateTime createdAt, @Param("bookingId") Long bookingId,
+                                        Pageable limit);
+    
+    long countByUserUserId(Long userId);
+    
+    long countByProviderProviderId(Long providerId);
+    
+    long countByBookingStatus(BookingStatus status);
+    
+    // ========== Per-status counts: reconciliation of BookingStatusCounters, and fallback until it is loaded ==========
+    
+    @Query("SELECT b.user.userId, b.bookingStatus, COUNT(b) FROM Booking b GROUP BY b.user.userId, b.bookingStatus")
+    List<Object[]> countGroupedByUserAndStatus();
+    
+    @Query("SELECT b.provider.providerId, b.bookingStatus, COUNT(b) FROM Booking b GROUP BY b.provider.providerId, b.bookingStatus")
+    List<Object[]> countGroupedByProviderAndStatus();
+    
+    @Query("SELECT b.bookingStatus, COUNT(b) FROM Booking b GROUP BY b.bookingStatus")
+    List<Object[]> countGroupedByStatus();
+    
+    // Status, count and booking value (final amount, else estimate) per status, for dashboards
+    @Query("SELECT b.bookingStatus, COUNT(b), COALESCE(SUM(COALESCE(b.finalAmount, b.estimatedAmount)), 0) FROM Booking b " +
+           "WHERE b.user.userId = :userId GROUP BY b.bookingStatus")
+    List<Object[]> summarizeByUserGroupedByStatus(@Param("userId") Long userId);
+    
+    @Query("SELECT b.bookingStatus, COUNT(b), COALESCE(SUM(COALESCE(b.finalAmount, b.estimatedAmount)), 0) FROM Booking b " +
+           "WHERE b.provider.providerId = :providerId GROUP BY b.bookingStatus")
+    List<Object[]> summarizeByProviderGroupedByStatus(@Param("providerId") Long providerId);
+    
     // Recent bookings for dashboard - sorted by PENDING first, then by date
     @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category WHERE b.user.userId = :userId ORDER BY CASE WHEN b.bookingStatus = 'PENDING' THEN 0 WHEN b.bookingStatus = 'ACCEPTED' THEN 1 WHEN b.bookingStatus = 'CONFIRMED' THEN 2 WHEN b.bookingStatus = 'IN_PROGRESS' THEN 3 ELSE 4 END, b.createdAt DESC")
     List<Booking> findRecentByUserIdPendingFirst(@Param("userId") Long userId, Pageable pageable);
@@ -67,6 +139,29 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category WHERE b.provider.providerId = :providerId ORDER BY CASE WHEN b.bookingStatus = 'PENDING' THEN 0 WHEN b.bookingStatus = 'ACCEPTED' THEN 1 WHEN b.bookingStatus = 'CONFIRMED' THEN 2 WHEN b.bookingStatus = 'IN_PROGRESS' THEN 3 ELSE 4 END, b.createdAt DESC")
     List<Booking> findRecentByProviderIdPendingFirst(@Param("providerId") Long providerId, Pageable pageable);
     
+    // Upcoming bookings for dashboards - active ones, soonest scheduled first
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category " +
+           "WHERE b.user.userId = :userId AND b.bookingStatus IN :statuses AND b.scheduledDate >= :fromDate " +
+           "ORDER BY b.scheduledDate ASC, b.scheduledTime ASC")
+    List<Booking> findUpcomingByUserId(@Param("userId") Long userId, @Param("statuses") List<BookingStatus> statuses,
+                                       @Param("fromDate") LocalDate fromDate, Pageable pageable);
+    
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category " +
+           "WHERE b.provider.providerId = :providerId AND b.bookingStatus IN :statuses AND b.scheduledDate >= :fromDate " +
+           "ORDER BY b.scheduledDate ASC, b.scheduledTime ASC")
+    List<Booking> findUpcomingByProviderId(@Param("providerId") Long providerId, @Param("statuses") List<BookingStatus> statuses,
+                                           @Param("fromDate") LocalDate fromDate, Pageable pageable);
+    
+    // Booking number prefix on the unique index, optionally scoped to a customer or provider
+    @Query(value = "SELECT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category " +
+           "WHERE b.bookingNumber LIKE CONCAT(:prefix, '%') " +
+           "AND (:userId IS NULL OR b.user.userId = :userId) AND (:providerId IS NULL OR b.provider.providerId = :providerId) " +
+           "ORDER BY b.bookingNumber DESC",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.bookingNumber LIKE CONCAT(:prefix, '%') " +
+           "AND (:userId IS NULL OR b.user.userId = :userId) AND (:providerId IS NULL OR b.provider.providerId = :providerId)")
+    Page<Booking> findByBookingNumberPrefix(@Param("prefix") String prefix, @Param("userId") Long userId,
+                                            @Param("providerId") Long providerId, Pageable pageable);
+    
     // Search bookings by keyword (booking number, service name, customer name)
     @Query(value = "SELECT b FROM Booking b " +
            "LEFT JOIN FETCH b.user u " +
@@ -113,6 +208,51 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            "LOWER(b.provider.businessName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Booking> searchAllBookings(@Param("keyword") String keyword, Pageable pageable);
     
+    // ========== FULLTEXT search (require database/migration_fulltext_search.sql) ==========
+    // Booking numbers match by prefix on their unique index; names match through
+    // FULLTEXT indexes in boolean mode. Return ids, newest first.
+    
+    @Query(value = "SELECT b.booking_id FROM bookings b WHERE b.user_id = :userId AND (" +
+           "b.booking_number LIKE CONCAT(:numberPrefix, '%') OR " +
+           "b.service_id IN (SELECT s.service_id FROM services s WHERE MATCH(s.service_name) AGAINST(:query IN BOOLEAN MODE)) OR " +
+           "b.provider_id IN (SELECT sp.provider_id FROM service_providers sp WHERE MATCH(sp.business_name) AGAINST(:query IN BOOLEAN MODE))) " +
+           "ORDER BY b.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM bookings b WHERE b.user_id = :userId AND (" +
+           "b.booking_number LIKE CONCAT(:numberPrefix, '%') OR " +
+           "b.service_id IN (SELECT s.service_id FROM services s WHERE MATCH(s.service_name) AGAINST(:query IN BOOLEAN MODE)) OR " +
+           "b.provider_id IN (SELECT sp.provider_id FROM service_providers sp WHERE MATCH(sp.business_name) AGAINST(:query IN BOOLEAN MODE)))",
+           nativeQuery = true)
+    Page<Long> searchUserBookingIdsFullText(@Param("userId") Long userId, @Param("numberPrefix") String numberPrefix,
+                                            @Param("query") String query, Pageable pageable);
+    
+    @Query(value = "SELECT b.booking_id FROM bookings b WHERE b.provider_id = :providerId AND (" +
+           "b.booking_number LIKE CONCAT(:numberPrefix, '%') OR " +
+           "b.service_id IN (SELECT s.service_id FROM services s WHERE MATCH(s.service_name) AGAINST(:query IN BOOLEAN MODE)) OR " +
+           "b.user_id IN (SELECT u.user_id FROM users u WHERE MATCH(u.name) AGAINST(:query IN BOOLEAN MODE))) " +
+           "ORDER BY b.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM bookings b WHERE b.provider_id = :providerId AND (" +
+           "b.booking_number LIKE CONCAT(:numberPrefix, '%') OR " +
+           "b.service_id IN (SELECT s.service_id FROM services s WHERE MATCH(s.service_name) AGAINST(:query IN BOOLEAN MODE)) OR " +
+           "b.user_id IN (SELECT u.user_id FROM users u WHERE MATCH(u.name) AGAINST(:query IN BOOLEAN MODE)))",
+           nativeQuery = true)
+    Page<Long> searchProviderBookingIdsFullText(@Param("providerId") Long providerId, @Param("numberPrefix") String numberPrefix,
+                                                @Param("query") String query, Pageable pageable);
+    
+    @Query(value = "SELECT b.booking_id FROM bookings b WHERE " +
+           "b.booking_number LIKE CONCAT(:numberPrefix, '%') OR " +
+           "b.service_id IN (SELECT s.service_id FROM services s WHERE MATCH(s.service_name) AGAINST(:query IN BOOLEAN MODE)) OR " +
+           "b.user_id IN (SELECT u.user_id FROM users u WHERE MATCH(u.name) AGAINST(:query IN BOOLEAN MODE)) OR " +
+           "b.provider_id IN (SELECT sp.provider_id FROM service_providers sp WHERE MATCH(sp.business_name) AGAINST(:query IN BOOLEAN MODE)) " +
+           "ORDER BY b.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM bookings b WHERE " +
+           "b.booking_number LIKE CONCAT(:numberPrefix, '%') OR " +
+           "b.service_id IN (SELECT s.service_id FROM services s WHERE MATCH(s.service_name) AGAINST(:query IN BOOLEAN MODE)) OR " +
+           "b.user_id IN (SELECT u.user_id FROM users u WHERE MATCH(u.name) AGAINST(:query IN BOOLEAN MODE)) OR " +
+           "b.provider_id IN (SELECT sp.provider_id FROM service_providers sp WHERE MATCH(sp.business_name) AGAINST(:query IN BOOLEAN MODE))",
+           nativeQuery = true)
+    Page<Long> searchAllBookingIdsFullText(@Param("numberPrefix") String numberPrefix, @Param("query") String query,
+                                           Pageable pageable);
+    
     // ========== Location-based queries ==========
     
     // Find bookings within a geographic bounding box
@@ -151,4 +291,25 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            "LEFT JOIN FETCH b.service s LEFT JOIN FETCH s.category " +
            "WHERE LOWER(b.serviceState) = LOWER(:state)")
     List<Booking> findByServiceState(@Param("state") String state);
+    
+    // Booking IDs inside a bounding box using the SPATIAL index on service_location
+    // (requires database/migration_spatial_location.sql)
+    @Query(value = "SELECT b.booking_id FROM bookings b " +
+           "WHERE MBRContains(ST_GeomFromText(:boxWkt, 4326, 'axis-order=long-lat'), b.service_location) " +
+           "AND b.service_latitude IS NOT NULL AND b.service_longitude IS NOT NULL",
+           nativeQuery = true)
+    List<Long> findBookingIdsInAreaSpatial(@Param("boxWkt") String boxWkt);
+    
+    // Booking IDs within a radius, nearest first (requires database/migration_spatial_location.sql)
+    @Query(value = "SELECT b.booking_id FROM bookings b " +
+           "WHERE MBRContains(ST_GeomFromText(:boxWkt, 4326, 'axis-order=long-lat'), b.service_location) " +
+           "AND b.service_latitude IS NOT NULL AND b.service_longitude IS NOT NULL " +
+           "AND ST_Distance_Sphere(b.service_location, ST_GeomFromText(:centerWkt, 4326, 'axis-order=long-lat')) <= :radiusMeters " +
+           "ORDER BY ST_Distance_Sphere(b.service_location, ST_GeomFromText(:centerWkt, 4326, 'axis-order=long-lat'))",
+           nativeQuery = true)
+    List<Long> findBookingIdsWithinRadiusSpatial(
+        @Param("boxWkt") String boxWkt,
+        @Param("centerWkt") String centerWkt,
+        @Param("radiusMeters") double radiusMeters
+    );
 }
@@ -0,0 +1,51 @@
+package com.hirelink.repository;
+
+import com.hirelink.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Hibernate's lock timeout value for SKIP LOCKED (LockOptions.SKIP_LOCKED)
+    String SKIP_LOCKED = "-2";
+
+    // Oldest undelivered events, skipping those that failed too often. The rows
+    // stay locked until the transaction ends; rows another node has locked are
+    // skipped (SKIP LOCKED), so concurrent dispatchers never share an event.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.attempts < :maxAttempts " +
+           "ORDER BY e.eventId")
+    List<OutboxEvent> claimPending(@Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    // Single event, if it is still undelivered and not locked by another node
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.eventId = :id AND e.processedAt IS NULL")
+    Optional<OutboxEvent> claimPending(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :processedAt WHERE e.eventId IN :ids")
+    int markProcessed(@Param("ids") List<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.eventId = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,14 @@
+package com.hirelink.repository;
+
+import com.hirelink.entity.ProviderDaySlots;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface ProviderDaySlotsRepository extends JpaRepository<ProviderDaySlots, Long> {
+
+    Optional<ProviderDaySlots> findByProviderIdAndSlotDate(Long providerId, LocalDate slotDate);
+}
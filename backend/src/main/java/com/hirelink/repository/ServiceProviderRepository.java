@@ -4,6 +4,7 @@ import com.hirelink.entity.ServiceProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -36,7 +37,7 @@ public interface ServiceProviderRepository extends JpaRepository<ServiceProvider
     @Query("SELECT sp FROM ServiceProvider sp LEFT JOIN FETCH sp.user WHERE sp.user.accountStatus = 'ACTIVE' AND sp.isAvailable = true ORDER BY sp.averageRating DESC, sp.completedBookings DESC")
     Page<ServiceProvider> findActiveProviders(Pageable pageable);
     
-    @Query("SELECT sp FROM ServiceProvider sp LEFT JOIN FETCH sp.user LEFT JOIN FETCH sp.services WHERE sp.providerId = :id")
+    @Query("SELECT sp FROM ServiceProvider sp LEFT JOIN FETCH sp.user LEFT JOIN FETCH sp.services s LEFT JOIN FETCH s.category WHERE sp.providerId = :id")
     Optional<ServiceProvider> findByIdWithDetails(@Param("id") Long id);
     
     // ========== Location-based queries ==========
@@ -53,6 +54,24 @@ public interface ServiceProviderRepository extends JpaRepository<ServiceProvider
         @Param("maxLng") BigDecimal maxLng
     );
     
+    // Available providers in a bounding box grouped into step x step degree cells, as
+    // [count, average latitude, average longitude, lowest provider id] per occupied cell
+    @Query(value = "SELECT COUNT(*) AS providers, AVG(sp.base_latitude) AS latitude, AVG(sp.base_longitude) AS longitude, " +
+           "MIN(sp.provider_id) AS first_provider_id, " +
+           "FLOOR((sp.base_latitude + 90) / :step) AS lat_cell, FLOOR((sp.base_longitude + 180) / :step) AS lon_cell " +
+           "FROM service_providers sp " +
+           "WHERE sp.base_latitude BETWEEN :minLat AND :maxLat " +
+           "AND sp.base_longitude BETWEEN :minLng AND :maxLng " +
+           "AND sp.is_available = true " +
+           "GROUP BY lat_cell, lon_cell", nativeQuery = true)
+    List<Object[]> countProvidersInAreaByCell(
+        @Param("minLat") BigDecimal minLat,
+        @Param("maxLat") BigDecimal maxLat,
+        @Param("minLng") BigDecimal minLng,
+        @Param("maxLng") BigDecimal maxLng,
+        @Param("step") double step
+    );
+    
     // Find providers in area with category filter
     @Query("SELECT DISTINCT sp FROM ServiceProvider sp " +
            "LEFT JOIN FETCH sp.user " +
@@ -69,9 +88,92 @@ public interface ServiceProviderRepository extends JpaRepository<ServiceProvider
         @Param("categoryId") Long categoryId
     );
     
-    // Find all providers with location data (for distance calculation)
-    @Query("SELECT sp FROM ServiceProvider sp LEFT JOIN FETCH sp.user " +
+    // Find all providers with location data (for building the geo index)
+    @Query("SELECT DISTINCT sp FROM ServiceProvider sp LEFT JOIN FETCH sp.user " +
+           "LEFT JOIN FETCH sp.services s LEFT JOIN FETCH s.category " +
            "WHERE sp.baseLatitude IS NOT NULL AND sp.baseLongitude IS NOT NULL " +
            "AND sp.isAvailable = true")
     List<ServiceProvider> findAllWithLocation();
+    
+    // Providers of one geo region (for per-region index refresh)
+    @Query("SELECT DISTINCT sp FROM ServiceProvider sp LEFT JOIN FETCH sp.user " +
+           "LEFT JOIN FETCH sp.services s LEFT JOIN FETCH s.category " +
+           "WHERE sp.baseLatitude BETWEEN :minLat AND :maxLat " +
+           "AND sp.baseLongitude BETWEEN :minLng AND :maxLng " +
+           "AND sp.isAvailable = true")
+    List<ServiceProvider> findAllWithLocationInArea(
+        @Param("minLat") BigDecimal minLat,
+        @Param("maxLat") BigDecimal maxLat,
+        @Param("minLng") BigDecimal minLng,
+        @Param("maxLng") BigDecimal maxLng
+    );
+    
+    // Occupied region grid cells as [latIndex, lonIndex] pairs
+    @Query("SELECT DISTINCT FLOOR((sp.baseLatitude + 90) / :latStep), FLOOR((sp.baseLongitude + 180) / :lonStep) " +
+           "FROM ServiceProvider sp " +
+           "WHERE sp.baseLatitude IS NOT NULL AND sp.baseLongitude IS NOT NULL AND sp.isAvailable = true")
+    List<Object[]> findLocatedRegionCells(@Param("latStep") double latStep, @Param("lonStep") double lonStep);
+    
+    // Business names as [providerId, businessName] rows for the booking keyword index
+    @Query("SELECT sp.providerId, sp.businessName FROM ServiceProvider sp WHERE sp.businessName IS NOT NULL")
+    List<Object[]> findAllBusinessNames();
+    
+    // Business names of active providers as [providerId, businessName, totalBookings] rows
+    @Query("SELECT sp.providerId, sp.businessName, sp.totalBookings FROM ServiceProvider sp " +
+           "WHERE sp.businessName IS NOT NULL AND sp.user.accountStatus = 'ACTIVE'")
+    List<Object[]> findActiveBusinessNames();
+    
+    @Query("SELECT DISTINCT sp FROM ServiceProvider sp LEFT JOIN FETCH sp.user WHERE sp.providerId IN :ids")
+    List<ServiceProvider> findAllByIdInWithUser(@Param("ids") List<Long> ids);
+    
+    // ========== Spatial-index queries (require database/migration_spatial_location.sql) ==========
+    
+    // Available provider IDs within a radius, nearest first, using the SPATIAL index on base_location
+    @Query(value = "SELECT sp.provider_id FROM service_providers sp " +
+           "WHERE MBRContains(ST_GeomFromText(:boxWkt, 4326, 'axis-order=long-lat'), sp.base_location) " +
+           "AND sp.base_latitude IS NOT NULL AND sp.base_longitude IS NOT NULL " +
+           "AND sp.is_available = true " +
+           "AND ST_Distance_Sphere(sp.base_location, ST_GeomFromText(:centerWkt, 4326, 'axis-order=long-lat')) <= :radiusMeters " +
+           "ORDER BY ST_Distance_Sphere(sp.base_location, ST_GeomFromText(:centerWkt, 4326, 'axis-order=long-lat'))",
+           nativeQuery = true)
+    List<Long> findProviderIdsWithinRadiusSpatial(
+        @Param("boxWkt") String boxWkt,
+        @Param("centerWkt") String centerWkt,
+        @Param("radiusMeters") double radiusMeters
+    );
+    
+    // Same as above, restricted to providers offering a service in the category
+    @Query(value = "SELECT sp.provider_id FROM service_providers sp " +
+           "WHERE MBRContains(ST_GeomFromText(:boxWkt, 4326, 'axis-order=long-lat'), sp.base_location) " +
+           "AND sp.base_latitude IS NOT NULL AND sp.base_longitude IS NOT NULL " +
+           "AND sp.is_available = true " +
+           "AND EXISTS (SELECT 1 FROM services s WHERE s.provider_id = sp.provider_id AND s.category_id = :categoryId) " +
+           "AND ST_Distance_Sphere(sp.base_location, ST_GeomFromText(:centerWkt, 4326, 'axis-order=long-lat')) <= :radiusMeters " +
+           "ORDER BY ST_Distance_Sphere(sp.base_location, ST_GeomFromText(:centerWkt, 4326, 'axis-order=long-lat'))",
+           nativeQuery = true)
+    List<Long> findProviderIdsWithinRadiusSpatialByCategory(
+        @Param("boxWkt") String boxWkt,
+        @Param("centerWkt") String centerWkt,
+        @Param("radiusMeters") double radiusMeters,
+        @Param("categoryId") Long categoryId
+    );
+
+    @Modifying
+    @Query("UPDATE ServiceProvider sp SET sp.isAvailable = :available, sp.availabilityStatus = :status " +
+           "WHERE sp.providerId IN :ids")
+    int updateAvailability(
+        @Param("ids") List<Long> ids,
+        @Param("available") Boolean available,
+        @Param("status") ServiceProvider.AvailabilityStatus status
+    );
+
+    // Average and count of the visible reviews, recomputed from scratch so repeating it is harmless
+    @Modifying
+    @Query(value = "UPDATE service_providers sp SET " +
+           "sp.average_rating = COALESCE((SELECT ROUND(AVG(r.overall_rating), 2) FROM reviews r " +
+           "WHERE r.reviewee_provider_id = sp.provider_id AND r.is_visible = true), 0), " +
+           "sp.total_reviews = (SELECT COUNT(*) FROM reviews r " +
+           "WHERE r.reviewee_provider_id = sp.provider_id AND r.is_visible = true) " +
+           "WHERE sp.provider_id IN :ids", nativeQuery = true)
+    int recalculateRatings(@Param("ids") List<Long> ids);
 }
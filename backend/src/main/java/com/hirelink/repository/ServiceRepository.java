@@ -30,8 +30,17 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     @Query("SELECT s FROM Service s LEFT JOIN FETCH s.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH s.category WHERE s.isActive = true ORDER BY s.timesBooked DESC")
     Page<Service> findPopularServices(Pageable pageable);
     
-    @Query("SELECT s FROM Service s LEFT JOIN FETCH s.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH s.category WHERE s.isActive = true AND (LOWER(s.serviceName) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(s.serviceDescription) LIKE LOWER(CONCAT('%', :query, '%')))")
-    Page<Service> searchServices(@Param("query") String query, Pageable pageable);
+    @Query("SELECT s.serviceId FROM Service s WHERE s.isActive = true AND (LOWER(s.serviceName) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(s.serviceDescription) LIKE LOWER(CONCAT('%', :query, '%')))")
+    Page<Long> searchServiceIds(@Param("query") String query, Pageable pageable);
+    
+    // Active service ids by FULLTEXT relevance (requires database/migration_fulltext_search.sql)
+    @Query(value = "SELECT s.service_id FROM services s WHERE s.is_active = true " +
+           "AND MATCH(s.service_name, s.service_description) AGAINST(:query IN BOOLEAN MODE) " +
+           "ORDER BY MATCH(s.service_name, s.service_description) AGAINST(:query IN BOOLEAN MODE) DESC, s.times_booked DESC",
+           countQuery = "SELECT COUNT(*) FROM services s WHERE s.is_active = true " +
+           "AND MATCH(s.service_name, s.service_description) AGAINST(:query IN BOOLEAN MODE)",
+           nativeQuery = true)
+    Page<Long> searchServiceIdsFullText(@Param("query") String query, Pageable pageable);
     
     @Query("SELECT s FROM Service s LEFT JOIN FETCH s.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH s.category WHERE s.category.categoryId = :categoryId AND s.isActive = true ORDER BY s.averageRating DESC, s.timesBooked DESC")
     Page<Service> findTopServicesByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
@@ -44,4 +53,18 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     
     @Query("SELECT s FROM Service s LEFT JOIN FETCH s.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH s.category WHERE s.serviceId = :id")
     java.util.Optional<Service> findByIdWithDetails(@Param("id") Long id);
+    
+    @Query("SELECT s FROM Service s LEFT JOIN FETCH s.provider p LEFT JOIN FETCH p.user LEFT JOIN FETCH s.category WHERE s.serviceId IN :ids")
+    List<Service> findAllByIdInWithDetails(@Param("ids") List<Long> ids);
+    
+    // Names as [serviceId, serviceName] rows for the booking keyword index
+    @Query("SELECT s.serviceId, s.serviceName FROM Service s")
+    List<Object[]> findAllNames();
+    
+    // Everything the search index needs: text fields, category name and ranking stats
+    @Query("SELECT s FROM Service s LEFT JOIN FETCH s.category WHERE s.isActive = true")
+    List<Service> findAllActiveWithCategory();
+
+    @Query("SELECT s FROM Service s JOIN FETCH s.category c WHERE c.categoryId = :categoryId")
+    List<Service> findAllByCategoryIdWithCategory(@Param("categoryId") Long categoryId);
 }
@@ -2,8 +2,10 @@ package com.hirelink.repository;
 
 import com.hirelink.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -23,4 +25,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Find user by Google ID for OAuth authentication
      */
     Optional<User> findByGoogleId(String googleId);
+    
+    // Names as [userId, name] rows for the booking keyword index
+    @Query("SELECT u.userId, u.name FROM User u")
+    List<Object[]> findAllNames();
 }
@@ -0,0 +1,252 @@
+package com.hirelink.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hirelink.dto.ProviderDTO;
+import com.hirelink.entity.Booking;
+import com.hirelink.entity.Service;
+import com.hirelink.exception.BadRequestException;
+import com.hirelink.exception.ResourceNotFoundException;
+import com.hirelink.repository.BookingRepository;
+import com.hirelink.repository.ServiceProviderRepository;
+import com.hirelink.repository.ServiceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Open start times of providers, derived from {@link ProviderSlotCalendar}.
+ *
+ * For a booking of k slots, a start slot is open when it and the k - 1 slots
+ * after it are free and inside working hours. With the day's free slots as a
+ * 128-bit word pair, that is an AND of the word with itself shifted, doubling
+ * the run length each step, so a whole day takes about log2(k) word operations.
+ * Results are cached per provider, day and length, keyed by the provider's
+ * calendar version so any booking change for the provider makes them stale.
+ *
+ * The calendar only follows bookings made through this node, so every
+ * request first refreshes the requested providers and days from MySQL, with
+ * one query for all of them. The cache still saves the slot arithmetic while
+ * the refresh finds nothing new.
+ */
+@org.springframework.stereotype.Service
+public class AvailabilityService {
+
+    public static final String CACHE_NAME = "provider-availability";
+
+    private final ProviderSlotCalendar calendar;
+    private final ServiceRepository serviceRepository;
+    private final ServiceProviderRepository providerRepository;
+    private final BookingRepository bookingRepository;
+    private final Cache<Key, long[]> cache;
+    private final long[] workingSlots;
+    private final int maxDays;
+    private final int maxProviders;
+
+    public AvailabilityService(ProviderSlotCalendar calendar,
+                               ServiceRepository serviceRepository,
+                               ServiceProviderRepository providerRepository,
+                               BookingRepository bookingRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${hirelink.availability.day-start:08:00}") String dayStart,
+                               @Value("${hirelink.availability.day-end:20:00}") String dayEnd,
+                               @Value("${hirelink.availability.max-days:14}") int maxDays,
+                               @Value("${hirelink.availability.max-providers:50}") int maxProviders,
+                               @Value("${hirelink.availability.cache.max-entries:50000}") long maxEntries) {
+        this.calendar = calendar;
+        this.serviceRepository = serviceRepository;
+        this.providerRepository = providerRepository;
+        this.bookingRepository = bookingRepository;
+        this.maxDays = maxDays;
+        this.maxProviders = maxProviders;
+        int from = slotOf(LocalTime.parse(dayStart));
+        LocalTime end = LocalTime.parse(dayEnd);
+        int to = end.equals(LocalTime.MIDNIGHT) ? ProviderSlotCalendar.SLOTS_PER_DAY : slotOf(end);
+        this.workingSlots = new long[]{
+                ProviderSlotCalendar.mask(from, to, 0), ProviderSlotCalendar.mask(from, to, 64)};
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Open start times of one provider for a service (its duration and advance
+     * notice), or for the default booking length when no service is given.
+     */
+    @Transactional(readOnly = true)
+    public ProviderDTO.AvailabilityResponse getAvailability(Long providerId, Long serviceId,
+                                                            LocalDate from, LocalDate to) {
+        if (!providerRepository.existsById(providerId)) {
+            throw new ResourceNotFoundException("Provider not found");
+        }
+        int durationMinutes = calendar.durationOrDefault(null);
+        int advanceHours = 0;
+        if (serviceId != null) {
+            Service service = serviceRepository.findById(serviceId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
+            if (!service.getProvider().getProviderId().equals(providerId)) {
+                throw new BadRequestException("This provider does not offer this service");
+            }
+            durationMinutes = calendar.durationOrDefault(service.getEstimatedDurationMinutes());
+            advanceHours = service.getAdvanceBookingHours() != null ? service.getAdvanceBookingHours() : 0;
+        }
+        LocalDate start = checkedFrom(from);
+        LocalDate end = checkedTo(from, to);
+        refreshFromDatabase(List.of(providerId), start, end);
+        return availability(providerId, durationMinutes, advanceHours, start, end);
+    }
+
+    /**
+     * Open start times of many providers for the same booking length, e.g. for
+     * a provider list page. One query refreshes all of them.
+     */
+    public List<ProviderDTO.AvailabilityResponse> getAvailability(List<Long> providerIds, Integer durationMinutes,
+                                                                  LocalDate from, LocalDate to) {
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(providerIds);
+        if (ids.size() > maxProviders) {
+            throw new BadRequestException("At most " + maxProviders + " providers per request");
+        }
+        int duration = calendar.durationOrDefault(durationMinutes);
+        LocalDate start = checkedFrom(from);
+        LocalDate end = checkedTo(from, to);
+        refreshFromDatabase(ids, start, end);
+        List<ProviderDTO.AvailabilityResponse> responses = new ArrayList<>(ids.size());
+        for (Long providerId : ids) {
+            responses.add(availability(providerId, duration, 0, start, end));
+        }
+        return responses;
+    }
+
+    /**
+     * Make the calendar hold the providers' bookings of the days, and of the
+     * day before for bookings running past midnight, as MySQL has them: the
+     * calendar lacks bookings made through other nodes and, during the startup
+     * replay, those not replayed yet, and still holds bookings cancelled
+     * elsewhere. Only an actual change moves the calendar version, so cached
+     * answers survive a refresh that finds nothing new.
+     */
+    private void refreshFromDatabase(Collection<Long> providerIds, LocalDate from, LocalDate to) {
+        LocalDate firstDay = from.minusDays(1);
+        Map<Long, List<Booking>> bookingsByProvider = new HashMap<>();
+        providerIds.forEach(id -> bookingsByProvider.put(id, new ArrayList<>()));
+        for (Booking booking : bookingRepository.findByProviderProviderIdInAndScheduledDateBetweenAndBookingStatusIn(
+                providerIds, firstDay, to, ProviderSlotCalendar.BLOCKING_STATUSES)) {
+            bookingsByProvider.get(booking.getProvider().getProviderId()).add(booking);
+        }
+        bookingsByProvider.forEach((providerId, bookings) -> calendar.refresh(providerId, firstDay, to, bookings));
+    }
+
+    private ProviderDTO.AvailabilityResponse availability(Long providerId, int durationMinutes, int advanceHours,
+                                                          LocalDate from, LocalDate to) {
+        int slots = Math.min(ProviderSlotCalendar.SLOTS_PER_DAY,
+                (durationMinutes + ProviderSlotCalendar.SLOT_MINUTES - 1) / ProviderSlotCalendar.SLOT_MINUTES);
+        LocalDateTime earliest = LocalDateTime.now().plusHours(advanceHours);
+        long version = calendar.version(providerId);
+
+        List<ProviderDTO.DayAvailability> days = new ArrayList<>();
+        LocalDateTime nextAvailable = null;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (date.isBefore(earliest.toLocalDate())) {
+                continue;
+            }
+            LocalDate day = date;
+            long[] starts = cache.get(new Key(providerId, day, slots, version),
+                    key -> openStarts(calendar.occupancy(providerId, day), slots));
+            if (date.equals(earliest.toLocalDate())) {
+                // Minutes rounded up: a slot starting before the earliest time is not offered
+                int firstSlot = (earliest.toLocalTime().toSecondOfDay() + ProviderSlotCalendar.SLOT_MINUTES * 60 - 1)
+                        / (ProviderSlotCalendar.SLOT_MINUTES * 60);
+                starts = new long[]{
+                        starts[0] & ProviderSlotCalendar.mask(firstSlot, ProviderSlotCalendar.SLOTS_PER_DAY, 0),
+                        starts[1] & ProviderSlotCalendar.mask(firstSlot, ProviderSlotCalendar.SLOTS_PER_DAY, 64)};
+            }
+
+            List<LocalTime> startTimes = toTimes(starts);
+            if (nextAvailable == null && !startTimes.isEmpty()) {
+                nextAvailable = LocalDateTime.of(date, startTimes.get(0));
+            }
+            days.add(ProviderDTO.DayAvailability.builder()
+                    .date(date)
+                    .startTimes(startTimes)
+                    .build());
+        }
+
+        return ProviderDTO.AvailabilityResponse.builder()
+                .providerId(providerId)
+                .durationMinutes(durationMinutes)
+                .slotMinutes(ProviderSlotCalendar.SLOT_MINUTES)
+                .nextAvailable(nextAvailable)
+                .days(days)
+                .build();
+    }
+
+    /**
+     * Start slots of free, in-hours runs of at least {@code length} slots.
+     */
+    long[] openStarts(long[] occupied, int length) {
+        long low = ~occupied[0] & workingSlots[0];
+        long high = ~occupied[1] & workingSlots[1];
+        // Invariant: bit s set means slots s .. s + run - 1 are all free
+        int run = 1;
+        while (run < length) {
+            int step = Math.min(run, length - run);
+            long shiftedLow = step >= 64 ? high >>> (step - 64) : (low >>> step) | (high << (64 - step));
+            long shiftedHigh = step >= 64 ? 0 : high >>> step;
+            low &= shiftedLow;
+            high &= shiftedHigh;
+            run += step;
+        }
+        return new long[]{low, high};
+    }
+
+    private static List<LocalTime> toTimes(long[] starts) {
+        List<LocalTime> times = new ArrayList<>(Long.bitCount(starts[0]) + Long.bitCount(starts[1]));
+        for (int word = 0; word < 2; word++) {
+            long bits = starts[word];
+            while (bits != 0) {
+                int slot = word * 64 + Long.numberOfTrailingZeros(bits);
+                times.add(LocalTime.MIDNIGHT.plusMinutes((long) slot * ProviderSlotCalendar.SLOT_MINUTES));
+                bits &= bits - 1;
+            }
+        }
+        return times;
+    }
+
+    private static int slotOf(LocalTime time) {
+        return time.toSecondOfDay() / 60 / ProviderSlotCalendar.SLOT_MINUTES;
+    }
+
+    private static LocalDate checkedFrom(LocalDate from) {
+        LocalDate today = LocalDate.now();
+        return from == null || from.isBefore(today) ? today : from;
+    }
+
+    private LocalDate checkedTo(LocalDate from, LocalDate to) {
+        LocalDate start = checkedFrom(from);
+        LocalDate end = to != null ? to : start.plusDays(6);
+        if (end.isBefore(start)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            throw new BadRequestException("At most " + maxDays + " days per request");
+        }
+        return end;
+    }
+
+    private record Key(Long providerId, LocalDate date, int slots, long calendarVersion) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Booking;
+import com.hirelink.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a newest-first booking list: the (createdAt, bookingId) of the
+ * last booking already returned. The booking id breaks ties between bookings
+ * created in the same instant. Clients receive it as an opaque base64url token.
+ */
+public record BookingCursor(LocalDateTime createdAt, Long bookingId) {
+
+    // Sorts after every real booking; within the DATETIME range MySQL accepts
+    public static final BookingCursor FIRST = new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public static BookingCursor after(Booking booking) {
+        return new BookingCursor(booking.getCreatedAt(), booking.getBookingId());
+    }
+
+    /**
+     * @return {@link #FIRST} for a blank token
+     */
+    public static BookingCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new BookingCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "_" + bookingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,306 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Booking.BookingStatus;
+import com.hirelink.event.BookingEvent;
+import com.hirelink.event.BookingSnapshotCompletedEvent;
+import com.hirelink.exception.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Resident bitmap index for the admin booking filter.
+ *
+ * For every value of every filterable dimension (status, city, state,
+ * category, urgency, scheduled date) there is a compressed Roaring bitmap of
+ * the booking ids having it. A filter ORs the selected values within a
+ * dimension and ANDs across dimensions, so another predicate is one more
+ * bitmap operation rather than another query. Facet counts are cardinalities
+ * of intersections: each dimension is counted against the bookings matching
+ * the other dimensions' selections, so the counts show what selecting another
+ * value of that dimension would add.
+ *
+ * Bookings come from booking events (startup replay, creation, status
+ * changes); results are complete once the replay has finished. Events only
+ * reach the node that wrote the booking, so a periodic catch-up also re-reads
+ * every booking written since the previous pass, on any node. Writers and
+ * readers share a read-write lock since Roaring bitmaps are not thread-safe.
+ * Booking ids are assumed to fit in an int.
+ */
+@Slf4j
+@Component
+public class BookingFacetIndex {
+
+    private static final int MAX_FACET_VALUES = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Catch-up passes re-read this far before the previous pass started, for
+    // clock skew between nodes and transactions committing after the pass
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    private final BookingSnapshotLoader snapshotLoader;
+
+    private final Map<Dimension, Map<String, RoaringBitmap>> postings = new EnumMap<>(Dimension.class);
+    private final Map<Dimension, Map<String, String>> labels = new EnumMap<>(Dimension.class);
+    private final TreeMap<LocalDate, RoaringBitmap> byDate = new TreeMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final BookingReplayGuard replayGuard = new BookingReplayGuard();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready = false;
+    // Start of the previous catch-up pass; before the first one, a time before the replay
+    private volatile LocalDateTime caughtUpTo = LocalDateTime.now();
+
+    public BookingFacetIndex(BookingSnapshotLoader snapshotLoader) {
+        this.snapshotLoader = snapshotLoader;
+        for (Dimension dimension : Dimension.values()) {
+            postings.put(dimension, new HashMap<>());
+            labels.put(dimension, new HashMap<>());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return all.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        index(event);
+    }
+
+    /**
+     * Re-read the bookings written since the previous pass, including those
+     * of other nodes. A row read just before a live change on this node can
+     * overwrite that change; the changed row is read again on the next pass.
+     */
+    @Scheduled(initialDelayString = "${hirelink.booking.facets.catch-up-interval-ms:60000}",
+            fixedDelayString = "${hirelink.booking.facets.catch-up-interval-ms:60000}")
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        int read = snapshotLoader.readChangedSince(caughtUpTo.minus(CATCH_UP_OVERLAP), this::index);
+        caughtUpTo = started;
+        log.debug("Booking facet index caught up with {} bookings", read);
+    }
+
+    private void index(BookingEvent event) {
+        if (event.getBookingId() == null || event.getBookingId() > Integer.MAX_VALUE) {
+            return;
+        }
+        int id = event.getBookingId().intValue();
+        lock.writeLock().lock();
+        try {
+            // A replayed row read before a live change, or a live change delivered
+            // after a newer one, must not overwrite the newer status
+            if (!replayGuard.isNewer(event)) {
+                return;
+            }
+            for (RoaringBitmap statusBitmap : postings.get(Dimension.STATUS).values()) {
+                statusBitmap.remove(id);
+            }
+            all.add(id);
+            add(Dimension.STATUS, event.getStatus() != null ? event.getStatus().name() : null, null, id);
+            add(Dimension.CITY, key(event.getCity()), event.getCity(), id);
+            add(Dimension.STATE, key(event.getState()), event.getState(), id);
+            add(Dimension.CATEGORY, event.getCategoryId() != null ? event.getCategoryId().toString() : null, null, id);
+            add(Dimension.URGENCY, event.getUrgencyLevel() != null ? event.getUrgencyLevel().name() : null, null, id);
+            if (event.getScheduledDate() != null) {
+                byDate.computeIfAbsent(event.getScheduledDate(), d -> new RoaringBitmap()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onSnapshotCompleted(BookingSnapshotCompletedEvent event) {
+        replayGuard.finish();
+        lock.writeLock().lock();
+        try {
+            for (Map<String, RoaringBitmap> values : postings.values()) {
+                values.values().forEach(RoaringBitmap::runOptimize);
+            }
+            byDate.values().forEach(RoaringBitmap::runOptimize);
+            all.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Booking facet index ready with {} bookings", size());
+    }
+
+    private void add(Dimension dimension, String key, String label, int id) {
+        if (key == null) {
+            return;
+        }
+        postings.get(dimension).computeIfAbsent(key, k -> new RoaringBitmap()).add(id);
+        if (label != null) {
+            labels.get(dimension).putIfAbsent(key, label.trim());
+        }
+    }
+
+    /**
+     * Matching booking ids for one page, newest (highest id) first, the total,
+     * and the facet counts of every dimension.
+     */
+    public Result filter(Filter filter, int page, int size) {
+        if (page < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        lock.readLock().lock();
+        try {
+            Map<Dimension, RoaringBitmap> selected = new EnumMap<>(Dimension.class);
+            filter.selections().forEach((dimension, values) -> {
+                if (values != null && !values.isEmpty()) {
+                    selected.put(dimension, union(dimension, values));
+                }
+            });
+            RoaringBitmap dates = filter.from() != null || filter.to() != null ? dateRange(filter.from(), filter.to()) : null;
+
+            RoaringBitmap matches = intersect(selected, dates, null);
+
+            Map<Dimension, Map<String, Long>> facets = new EnumMap<>(Dimension.class);
+            for (Dimension dimension : Dimension.values()) {
+                RoaringBitmap base = selected.containsKey(dimension) ? intersect(selected, dates, dimension) : matches;
+                facets.put(dimension, facetCounts(dimension, base));
+            }
+
+            int total = matches.getCardinality();
+            List<Long> ids = new ArrayList<>();
+            long from = (long) page * size;
+            for (long i = from; i < Math.min(from + size, total); i++) {
+                ids.add((long) matches.select((int) (total - 1 - i)));
+            }
+            return new Result(ids, total, facets, ready);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap union(Dimension dimension, Collection<String> values) {
+        Map<String, RoaringBitmap> byValue = postings.get(dimension);
+        List<RoaringBitmap> bitmaps = new ArrayList<>(values.size());
+        for (String value : values) {
+            RoaringBitmap bitmap = byValue.get(dimension.normalize(value));
+            if (bitmap != null) {
+                bitmaps.add(bitmap);
+            }
+        }
+        return FastAggregation.or(bitmaps.iterator());
+    }
+
+    private RoaringBitmap dateRange(LocalDate from, LocalDate to) {
+        Map<LocalDate, RoaringBitmap> range;
+        if (from != null && to != null) {
+            range = from.isAfter(to) ? Map.of() : byDate.subMap(from, true, to, true);
+        } else if (from != null) {
+            range = byDate.tailMap(from, true);
+        } else {
+            range = byDate.headMap(to, true);
+        }
+        return FastAggregation.or(range.values().iterator());
+    }
+
+    /**
+     * All bookings matching every selected dimension but {@code except}.
+     */
+    private RoaringBitmap intersect(Map<Dimension, RoaringBitmap> selected, RoaringBitmap dates, Dimension except) {
+        RoaringBitmap result = all.clone();
+        selected.forEach((dimension, bitmap) -> {
+            if (dimension != except) {
+                result.and(bitmap);
+            }
+        });
+        if (dates != null) {
+            result.and(dates);
+        }
+        return result;
+    }
+
+    /**
+     * Non-zero counts by value within the base set, largest first.
+     */
+    private Map<String, Long> facetCounts(Dimension dimension, RoaringBitmap base) {
+        Map<String, String> names = labels.get(dimension);
+        List<Map.Entry<String, Long>> counts = new ArrayList<>();
+        postings.get(dimension).forEach((key, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(base, bitmap);
+            if (count > 0) {
+                counts.add(Map.entry(names.getOrDefault(key, key), count));
+            }
+        });
+        counts.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(MAX_FACET_VALUES, counts.size()); i++) {
+            top.put(counts.get(i).getKey(), counts.get(i).getValue());
+        }
+        return top;
+    }
+
+    private static String key(String text) {
+        return text == null || text.isBlank() ? null : text.trim().toLowerCase();
+    }
+
+    public enum Dimension {
+        STATUS, CITY, STATE, CATEGORY, URGENCY;
+
+        /**
+         * Request value in the form the index keys it by.
+         */
+        String normalize(String value) {
+            String trimmed = value.trim();
+            return switch (this) {
+                case CITY, STATE -> trimmed.toLowerCase();
+                case STATUS, URGENCY -> trimmed.toUpperCase();
+                case CATEGORY -> trimmed;
+            };
+        }
+    }
+
+    /**
+     * Selected values per dimension (any of them matches) and an inclusive
+     * scheduled date range; either end may be open.
+     */
+    public record Filter(Map<Dimension, Set<String>> selections, LocalDate from, LocalDate to) {
+    }
+
+    /**
+     * @param complete false while the startup replay is still running
+     */
+    public record Result(List<Long> bookingIds, long total, Map<Dimension, Map<String, Long>> facets,
+                         boolean complete) {
+    }
+}
@@ -0,0 +1,209 @@
+package com.hirelink.service;
+
+import com.hirelink.dto.MapDTO;
+import com.hirelink.entity.Booking.BookingStatus;
+import com.hirelink.event.BookingEvent;
+import com.hirelink.event.BookingSnapshotCompletedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Booking heatmap backed by resident per-tile counters.
+ *
+ * Every booking is counted in one Web Mercator tile per supported zoom level,
+ * split by status and by category, with its value (final amount, else the
+ * estimate) tracked alongside. Counters are maintained from booking lifecycle
+ * events, so drawing a map never loads booking rows.
+ */
+@org.springframework.stereotype.Service
+public class BookingHeatmapService {
+
+    public static final int MIN_ZOOM = 4;
+    public static final int MAX_ZOOM = 14;
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final long UNCATEGORIZED = 0L;
+
+    private final List<Map<Long, TileCounters>> levels = new ArrayList<>();
+    private final BookingReplayGuard replayGuard = new BookingReplayGuard();
+
+    public BookingHeatmapService() {
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            levels.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        if (event.getLatitude() == null || event.getLongitude() == null) {
+            return;
+        }
+        replayGuard.toCount(event).forEach(this::count);
+    }
+
+    @EventListener
+    public void onSnapshotCompleted(BookingSnapshotCompletedEvent event) {
+        replayGuard.finish();
+    }
+
+    private void count(BookingEvent event) {
+        double lat = event.getLatitude().doubleValue();
+        double lon = event.getLongitude().doubleValue();
+        long category = event.getCategoryId() != null ? event.getCategoryId() : UNCATEGORIZED;
+
+        switch (event.getType()) {
+            case SNAPSHOT, CREATED -> record(lat, lon, 1, event.getStatus(), category, toPaise(event.getAmount()));
+            case STATUS_CHANGED -> {
+                record(lat, lon, -1, event.getPreviousStatus(), category, toPaise(event.getPreviousAmount()));
+                record(lat, lon, 1, event.getStatus(), category, toPaise(event.getAmount()));
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Aggregate tiles intersecting the bounding box at the given zoom level
+     * (clamped to the supported range).
+     */
+    public MapDTO.HeatmapResponse getHeatmap(double minLat, double maxLat, double minLon, double maxLon, int zoom) {
+        int z = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+        Map<Long, TileCounters> level = levels.get(z - MIN_ZOOM);
+
+        int minX = MapTiles.tileX(minLon, z);
+        int maxX = MapTiles.tileX(maxLon, z);
+        int minY = MapTiles.tileY(maxLat, z); // tile rows grow southwards
+        int maxY = MapTiles.tileY(minLat, z);
+
+        List<MapDTO.HeatmapTile> tiles = new ArrayList<>();
+        long span = (long) (maxX - minX + 1) * (maxY - minY + 1);
+        if (span <= level.size()) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    TileCounters counters = level.get(MapTiles.tileKey(z, x, y));
+                    if (counters != null) {
+                        addTile(tiles, counters, z, x, y);
+                    }
+                }
+            }
+        } else {
+            // Sparse level: cheaper to scan the populated tiles than the box
+            level.forEach((key, counters) -> {
+                int x = MapTiles.keyX(key);
+                int y = MapTiles.keyY(key);
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    addTile(tiles, counters, z, x, y);
+                }
+            });
+        }
+
+        long totalCount = tiles.stream().mapToLong(MapDTO.HeatmapTile::getCount).sum();
+        BigDecimal totalRevenue = tiles.stream()
+                .map(MapDTO.HeatmapTile::getRevenue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return MapDTO.HeatmapResponse.builder()
+                .zoom(z)
+                .totalCount(totalCount)
+                .totalRevenue(totalRevenue)
+                .tiles(tiles)
+                .build();
+    }
+
+    private void record(double lat, double lon, int sign, BookingStatus status, long category, long amountPaise) {
+        if (status == null) {
+            return;
+        }
+        for (int z = MIN_ZOOM; z <= MAX_ZOOM; z++) {
+            long key = MapTiles.tileKey(z, MapTiles.tileX(lon, z), MapTiles.tileY(lat, z));
+            levels.get(z - MIN_ZOOM)
+                    .computeIfAbsent(key, k -> new TileCounters())
+                    .add(sign, status, category, amountPaise);
+        }
+    }
+
+    private void addTile(List<MapDTO.HeatmapTile> tiles, TileCounters counters, int z, int x, int y) {
+        long count = 0;
+        long revenue = 0;
+        Map<String, MapDTO.Bucket> byStatus = new LinkedHashMap<>();
+        for (BookingStatus status : STATUSES) {
+            long statusCount = counters.statusCounts[status.ordinal()].sum();
+            if (statusCount == 0) {
+                continue;
+            }
+            long statusRevenue = counters.statusRevenue[status.ordinal()].sum();
+            byStatus.put(status.name(), bucket(statusCount, statusRevenue));
+            count += statusCount;
+            revenue += statusRevenue;
+        }
+        if (count == 0) {
+            return;
+        }
+
+        Map<Long, MapDTO.Bucket> byCategory = new LinkedHashMap<>();
+        counters.categories.forEach((categoryId, adders) -> {
+            long categoryCount = adders[0].sum();
+            if (categoryCount != 0) {
+                byCategory.put(categoryId, bucket(categoryCount, adders[1].sum()));
+            }
+        });
+
+        tiles.add(MapDTO.HeatmapTile.builder()
+                .zoom(z)
+                .x(x)
+                .y(y)
+                .north(MapTiles.tileLatitude(y, z))
+                .south(MapTiles.tileLatitude(y + 1, z))
+                .west(MapTiles.tileLongitude(x, z))
+                .east(MapTiles.tileLongitude(x + 1, z))
+                .count(count)
+                .revenue(BigDecimal.valueOf(revenue, 2))
+                .byStatus(byStatus)
+                .byCategory(byCategory)
+                .build());
+    }
+
+    private static MapDTO.Bucket bucket(long count, long revenuePaise) {
+        return MapDTO.Bucket.builder()
+                .count(count)
+                .revenue(BigDecimal.valueOf(revenuePaise, 2))
+                .build();
+    }
+
+    private static long toPaise(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).longValue() : 0L;
+    }
+
+    /**
+     * Striped counters for one tile: count and value per status, and per category.
+     */
+    private static final class TileCounters {
+        private final LongAdder[] statusCounts = newAdders(STATUSES.length);
+        private final LongAdder[] statusRevenue = newAdders(STATUSES.length);
+        private final Map<Long, LongAdder[]> categories = new ConcurrentHashMap<>();
+
+        void add(int sign, BookingStatus status, long category, long amountPaise) {
+            statusCounts[status.ordinal()].add(sign);
+            statusRevenue[status.ordinal()].add(sign * amountPaise);
+            LongAdder[] categoryAdders = categories.computeIfAbsent(category, k -> newAdders(2));
+            categoryAdders[0].add(sign);
+            categoryAdders[1].add(sign * amountPaise);
+        }
+
+        private static LongAdder[] newAdders(int size) {
+            LongAdder[] adders = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.hirelink.service;
+
+import com.hirelink.event.BookingEvent;
+import com.hirelink.event.BookingSnapshotCompletedEvent;
+import com.hirelink.event.CatalogChangedEvent;
+import com.hirelink.repository.ServiceProviderRepository;
+import com.hirelink.repository.ServiceRepository;
+import com.hirelink.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Resident index answering booking keyword searches without touching MySQL
+ * until the page of results is known.
+ *
+ * Bookings are kept as (booking, customer, provider, service) id tuples, listed
+ * per customer, per provider and per service; names live once per entity in
+ * lower-cased dictionaries. A customer or provider search filters that party's
+ * own bookings by the names they reference. An admin search first finds the
+ * services, providers and customers whose name contains the keyword, then
+ * unions their booking lists. Matching is case-insensitive substring, like the
+ * LIKE queries it replaces.
+ *
+ * Tuples arrive from booking events (startup replay plus new bookings), so the
+ * index is usable once the replay has completed and the names are loaded.
+ * Bookings created on other nodes send no event here; a periodic catch-up
+ * reads the bookings written since its previous pass and adds the new ones.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingKeywordIndex {
+
+    // Catch-up passes re-read this far before the previous pass started, for
+    // clock skew between nodes and transactions committing after the pass
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    private final ServiceRepository serviceRepository;
+    private final ServiceProviderRepository providerRepository;
+    private final UserRepository userRepository;
+    private final BookingSnapshotLoader snapshotLoader;
+
+    private final Map<Long, RefList> byUser = new ConcurrentHashMap<>();
+    private final Map<Long, RefList> byProvider = new ConcurrentHashMap<>();
+    private final Map<Long, RefList> byService = new ConcurrentHashMap<>();
+    // Ids of the listed bookings: the replay, live events and catch-up passes
+    // may all deliver the same booking, and each is listed once
+    private final Roaring64Bitmap indexed = new Roaring64Bitmap();
+
+    private volatile Map<Long, String> serviceNames = new ConcurrentHashMap<>();
+    private volatile Map<Long, String> providerNames = new ConcurrentHashMap<>();
+    private volatile Map<Long, String> customerNames = new ConcurrentHashMap<>();
+
+    private volatile boolean snapshotLoaded = false;
+    private volatile boolean namesLoaded = false;
+    // Start of the previous catch-up pass; before the first one, a time before the replay
+    private volatile LocalDateTime caughtUpTo = LocalDateTime.now();
+
+    public boolean isReady() {
+        return snapshotLoaded && namesLoaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        if (event.getType() != BookingEvent.Type.SNAPSHOT && event.getType() != BookingEvent.Type.CREATED) {
+            return;
+        }
+        Ref ref = append(event);
+        if (ref != null && event.getType() == BookingEvent.Type.CREATED) {
+            loadMissingNames(ref);
+        }
+    }
+
+    @EventListener
+    public void onSnapshotCompleted(BookingSnapshotCompletedEvent event) {
+        snapshotLoaded = true;
+    }
+
+    /**
+     * Add the bookings written since the previous pass that this node has not
+     * listed yet, i.e. those created through other nodes.
+     */
+    @Scheduled(initialDelayString = "${hirelink.booking.search.catch-up-interval-ms:60000}",
+            fixedDelayString = "${hirelink.booking.search.catch-up-interval-ms:60000}")
+    public void catchUp() {
+        if (!snapshotLoaded) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        int read = snapshotLoader.readChangedSince(caughtUpTo.minus(CATCH_UP_OVERLAP), event -> {
+            Ref ref = append(event);
+            if (ref != null) {
+                loadMissingNames(ref);
+            }
+        });
+        caughtUpTo = started;
+        log.debug("Booking keyword index caught up with {} bookings", read);
+    }
+
+    /**
+     * List the event's booking unless it is listed already.
+     *
+     * @return the new tuple, or null if nothing was added
+     */
+    private Ref append(BookingEvent event) {
+        if (event.getBookingId() == null || event.getUserId() == null
+                || event.getProviderId() == null || event.getServiceId() == null) {
+            return null;
+        }
+        synchronized (indexed) {
+            if (indexed.contains(event.getBookingId())) {
+                return null;
+            }
+            indexed.addLong(event.getBookingId());
+        }
+        Ref ref = new Ref(event.getBookingId(), event.getUserId(), event.getProviderId(), event.getServiceId());
+        byUser.computeIfAbsent(ref.userId(), id -> new RefList()).append(ref);
+        byProvider.computeIfAbsent(ref.providerId(), id -> new RefList()).append(ref);
+        byService.computeIfAbsent(ref.serviceId(), id -> new RefList()).append(ref);
+        return ref;
+    }
+
+    /**
+     * Names for the first booking of a new customer, provider or service.
+     */
+    private void loadMissingNames(Ref ref) {
+        if (!namesLoaded) {
+            return;
+        }
+        if (!customerNames.containsKey(ref.userId())) {
+            userRepository.findById(ref.userId())
+                    .ifPresent(u -> putName(customerNames, ref.userId(), u.getName()));
+        }
+        if (!providerNames.containsKey(ref.providerId())) {
+            providerRepository.findById(ref.providerId())
+                    .ifPresent(p -> putName(providerNames, ref.providerId(), p.getBusinessName()));
+        }
+        if (!serviceNames.containsKey(ref.serviceId())) {
+            serviceRepository.findById(ref.serviceId())
+                    .ifPresent(s -> putName(serviceNames, ref.serviceId(), s.getServiceName()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!namesLoaded || event.getId() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case SERVICE -> serviceRepository.findById(event.getId())
+                    .ifPresent(s -> putName(serviceNames, event.getId(), s.getServiceName()));
+            case PROVIDER -> providerRepository.findById(event.getId())
+                    .ifPresent(p -> putName(providerNames, event.getId(), p.getBusinessName()));
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Reload every name, which also picks up renamed customers.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${hirelink.booking.search.names-refresh-interval-ms:600000}",
+            fixedDelayString = "${hirelink.booking.search.names-refresh-interval-ms:600000}")
+    public void refreshNames() {
+        serviceNames = toNameMap(serviceRepository.findAllNames());
+        providerNames = toNameMap(providerRepository.findAllBusinessNames());
+        customerNames = toNameMap(userRepository.findAllNames());
+        namesLoaded = true;
+        log.info("Booking keyword index names loaded: {} services, {} providers, {} users",
+                serviceNames.size(), providerNames.size(), customerNames.size());
+    }
+
+    /**
+     * Bookings of a customer whose service or provider name contains the keyword.
+     */
+    public Hits searchCustomer(Long userId, String keyword, int page, int size) {
+        Map<Long, String> services = serviceNames;
+        Map<Long, String> providers = providerNames;
+        String needle = keyword.toLowerCase();
+        return collect(byUser.get(userId), ref ->
+                contains(services, ref.serviceId(), needle) || contains(providers, ref.providerId(), needle),
+                page, size);
+    }
+
+    /**
+     * Bookings of a provider whose service or customer name contains the keyword.
+     */
+    public Hits searchProvider(Long providerId, String keyword, int page, int size) {
+        Map<Long, String> services = serviceNames;
+        Map<Long, String> customers = customerNames;
+        String needle = keyword.toLowerCase();
+        return collect(byProvider.get(providerId), ref ->
+                contains(services, ref.serviceId(), needle) || contains(customers, ref.userId(), needle),
+                page, size);
+    }
+
+    /**
+     * All bookings whose service, customer or provider name contains the keyword.
+     */
+    public Hits searchAll(String keyword, int page, int size) {
+        String needle = keyword.toLowerCase();
+        Set<Long> ids = new HashSet<>();
+        addBookingsOfMatches(serviceNames, byService, needle, ids);
+        addBookingsOfMatches(providerNames, byProvider, needle, ids);
+        addBookingsOfMatches(customerNames, byUser, needle, ids);
+
+        long[] sorted = new long[ids.size()];
+        int n = 0;
+        for (Long id : ids) {
+            sorted[n++] = id;
+        }
+        Arrays.sort(sorted);
+        return pageNewestFirst(sorted, sorted.length, page, size);
+    }
+
+    private static void addBookingsOfMatches(Map<Long, String> names, Map<Long, RefList> lists, String needle,
+                                             Set<Long> ids) {
+        names.forEach((id, name) -> {
+            if (name.contains(needle)) {
+                RefList list = lists.get(id);
+                if (list != null) {
+                    RefList.View view = list.view();
+                    for (int i = 0; i < view.size(); i++) {
+                        ids.add(view.refs()[i].bookingId());
+                    }
+                }
+            }
+        });
+    }
+
+    private static Hits collect(RefList list, Predicate<Ref> matches, int page, int size) {
+        if (list == null) {
+            return new Hits(List.of(), 0);
+        }
+        RefList.View view = list.view();
+        long[] ids = new long[view.size()];
+        int count = 0;
+        for (int i = 0; i < view.size(); i++) {
+            Ref ref = view.refs()[i];
+            if (matches.test(ref)) {
+                ids[count++] = ref.bookingId();
+            }
+        }
+        Arrays.sort(ids, 0, count);
+        return pageNewestFirst(ids, count, page, size);
+    }
+
+    /**
+     * Page over ascending ids from the end, so newer bookings come first.
+     */
+    private static Hits pageNewestFirst(long[] ascending, int length, int page, int size) {
+        int from = (int) Math.min((long) page * size, length);
+        int to = Math.min(from + size, length);
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(ascending[length - 1 - i]);
+        }
+        return new Hits(ids, length);
+    }
+
+    private static boolean contains(Map<Long, String> names, long id, String needle) {
+        String name = names.get(id);
+        return name != null && name.contains(needle);
+    }
+
+    private static void putName(Map<Long, String> names, Long id, String name) {
+        if (name != null) {
+            names.put(id, name.toLowerCase());
+        }
+    }
+
+    private static Map<Long, String> toNameMap(List<Object[]> rows) {
+        Map<Long, String> names = new ConcurrentHashMap<>(Math.max(16, rows.size() * 4 / 3));
+        for (Object[] row : rows) {
+            putName(names, (Long) row[0], (String) row[1]);
+        }
+        return names;
+    }
+
+    /**
+     * One page of booking ids, newest first, and the total number of matches.
+     */
+    public record Hits(List<Long> bookingIds, long total) {
+    }
+
+    private record Ref(long bookingId, long userId, long providerId, long serviceId) {
+    }
+
+    /**
+     * Append-only list; readers see a consistent prefix without locking.
+     */
+    private static final class RefList {
+
+        private volatile Ref[] refs = new Ref[4];
+        private volatile int size = 0;
+
+        synchronized void append(Ref ref) {
+            Ref[] target = refs;
+            if (size == target.length) {
+                target = Arrays.copyOf(target, size * 2);
+            }
+            target[size] = ref;
+            refs = target;
+            size = size + 1;
+        }
+
+        /**
+         * Size is read before the array, so the array always holds that many refs.
+         */
+        View view() {
+            int n = size;
+            return new View(refs, n);
+        }
+
+        record View(Ref[] refs, int size) {
+        }
+    }
+}
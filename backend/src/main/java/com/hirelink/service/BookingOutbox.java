@@ -0,0 +1,65 @@
+package com.hirelink.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hirelink.entity.OutboxEvent;
+import com.hirelink.event.BookingEvent;
+import com.hirelink.event.ReviewAddedEvent;
+import com.hirelink.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Records booking events in the outbox table as part of the current
+ * transaction, so an event exists exactly when the change it describes was
+ * committed. Work that follows from the event runs later in
+ * {@link OutboxDispatcher}, which is woken once the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher outboxDispatcher;
+    private final ObjectMapper objectMapper;
+
+    public void append(BookingEvent event) {
+        OutboxEvent.Type type = switch (event.getType()) {
+            case CREATED -> OutboxEvent.Type.BOOKING_CREATED;
+            case STATUS_CHANGED -> OutboxEvent.Type.BOOKING_STATUS_CHANGED;
+            case SNAPSHOT -> throw new IllegalArgumentException("Snapshot events are not recorded");
+        };
+        append(type, event.getBookingId(), event);
+    }
+
+    public void append(ReviewAddedEvent event) {
+        append(OutboxEvent.Type.REVIEW_ADDED, event.getBookingId(), event);
+    }
+
+    private void append(OutboxEvent.Type type, Long bookingId, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event", e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(type)
+                .aggregateId(bookingId)
+                .payload(payload)
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxDispatcher.wake();
+                }
+            });
+        } else {
+            outboxDispatcher.wake();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.hirelink.service;
+
+import com.hirelink.event.BookingEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps one booking aggregate consistent while the startup replay
+ * ({@link BookingSnapshotLoader}) runs alongside live booking events.
+ *
+ * A live event and the replayed row of the same booking can reach a listener
+ * in either order, and the row may have been read before or after the live
+ * change. Booking versions (the optimistic lock column, carried by every
+ * event) tell which state is newer. Only bookings seen during the replay are
+ * tracked; {@link #finish()} drops them once the replay has completed and
+ * every later event applies as is. Each listener owns its own guard.
+ */
+final class BookingReplayGuard {
+
+    private final Map<Long, Seen> seen = new HashMap<>();
+    private boolean replaying = true;
+
+    /**
+     * For listeners holding the latest state of a booking (sets, calendars):
+     * whether the event is newer than anything applied for its booking.
+     */
+    synchronized boolean isNewer(BookingEvent event) {
+        if (!replaying || event.getBookingId() == null || event.getVersion() == null) {
+            return true;
+        }
+        Seen entry = seen.computeIfAbsent(event.getBookingId(), id -> new Seen());
+        if (entry.version != null && entry.version >= event.getVersion()) {
+            return false;
+        }
+        entry.version = event.getVersion();
+        return true;
+    }
+
+    /**
+     * For listeners counting bookings by status: the events to count in place
+     * of this one. A live change already reflected in the replayed row is
+     * skipped. When the replayed row arrives after live changes were counted,
+     * the ones the row already reflects are counted back out, so the booking
+     * ends up counted once, in its latest state, whatever the order.
+     */
+    synchronized List<BookingEvent> toCount(BookingEvent event) {
+        if (!replaying || event.getBookingId() == null || event.getVersion() == null) {
+            return List.of(event);
+        }
+        Seen entry = seen.computeIfAbsent(event.getBookingId(), id -> new Seen());
+        if (event.getType() == BookingEvent.Type.SNAPSHOT) {
+            if (entry.version != null) {
+                return List.of();
+            }
+            entry.version = event.getVersion();
+            List<BookingEvent> toCount = new ArrayList<>();
+            toCount.add(event);
+            if (entry.counted != null) {
+                for (BookingEvent live : entry.counted) {
+                    if (live.getVersion() <= event.getVersion()) {
+                        toCount.add(reverse(live));
+                    }
+                }
+                entry.counted = null;
+            }
+            return toCount;
+        }
+
+        if (entry.version != null) {
+            return event.getVersion() > entry.version ? List.of(event) : List.of();
+        }
+        if (entry.counted == null) {
+            entry.counted = new ArrayList<>(2);
+        }
+        entry.counted.add(event);
+        return List.of(event);
+    }
+
+    /**
+     * A status change undoing the live event (a creation is undone by
+     * dropping to no status).
+     */
+    private static BookingEvent reverse(BookingEvent live) {
+        boolean created = live.getType() == BookingEvent.Type.CREATED;
+        return BookingEvent.builder()
+                .type(BookingEvent.Type.STATUS_CHANGED)
+                .bookingId(live.getBookingId())
+                .userId(live.getUserId())
+                .providerId(live.getProviderId())
+                .serviceId(live.getServiceId())
+                .categoryId(live.getCategoryId())
+                .latitude(live.getLatitude())
+                .longitude(live.getLongitude())
+                .city(live.getCity())
+                .state(live.getState())
+                .urgencyLevel(live.getUrgencyLevel())
+                .previousStatus(live.getStatus())
+                .previousAmount(live.getAmount())
+                .status(created ? null : live.getPreviousStatus())
+                .amount(created ? null : live.getPreviousAmount())
+                .scheduledDate(live.getScheduledDate())
+                .scheduledTime(live.getScheduledTime())
+                .scheduledEndTime(live.getScheduledEndTime())
+                .createdAt(live.getCreatedAt())
+                .version(live.getVersion())
+                .build();
+    }
+
+    synchronized void finish() {
+        replaying = false;
+        seen.clear();
+    }
+
+    private static final class Seen {
+
+        // Version of the newest state applied; for counting listeners, that of
+        // the replayed row, null until it has arrived
+        Long version;
+        // Live events counted before the replayed row arrived
+        List<BookingEvent> counted;
+    }
+}
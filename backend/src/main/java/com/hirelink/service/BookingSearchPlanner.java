@@ -0,0 +1,61 @@
+package com.hirelink.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * Decides how a booking search keyword is answered.
+ *
+ * Booking numbers have the fixed shape {@code HL<yyyyMMdd><5 digits>} (see
+ * {@code Booking.generateBookingNumber}), so a keyword of that shape is an
+ * equality lookup and a leading part of one is a range scan, both on the
+ * unique booking_number index. Keywords with letters go to the keyword index
+ * over service, provider and customer names. Anything else, such as digits
+ * from the middle of a number, keeps the substring scan.
+ */
+public final class BookingSearchPlanner {
+
+    private static final Pattern FULL_NUMBER = Pattern.compile("(?i)HL\\d{13}");
+    private static final Pattern NUMBER_PREFIX = Pattern.compile("(?i)HL\\d{0,12}");
+    // Staff often leave out "HL"; require a date-like start so tails of numbers keep substring semantics
+    private static final Pattern BARE_NUMBER = Pattern.compile("20\\d{6,11}");
+    private static final Pattern HAS_LETTER = Pattern.compile(".*\\p{L}.*");
+
+    public enum Strategy {
+        /** findByBookingNumber */
+        NUMBER_EXACT,
+        /** LIKE 'prefix%' on booking_number */
+        NUMBER_PREFIX,
+        /** Resident name index, see {@link BookingKeywordIndex} */
+        KEYWORD,
+        /** LIKE '%kw%' or FULLTEXT queries */
+        SCAN
+    }
+
+    /**
+     * @param value the normalized booking number or prefix for number strategies,
+     *              otherwise the trimmed keyword
+     */
+    public record Plan(Strategy strategy, String value) {
+    }
+
+    private BookingSearchPlanner() {
+    }
+
+    public static Plan plan(String keyword) {
+        String trimmed = keyword.trim();
+        if (FULL_NUMBER.matcher(trimmed).matches()) {
+            return new Plan(Strategy.NUMBER_EXACT, trimmed.toUpperCase());
+        }
+        if (NUMBER_PREFIX.matcher(trimmed).matches()) {
+            return new Plan(Strategy.NUMBER_PREFIX, trimmed.toUpperCase());
+        }
+        if (BARE_NUMBER.matcher(trimmed).matches()) {
+            String number = "HL" + trimmed;
+            return new Plan(number.length() == 15 ? Strategy.NUMBER_EXACT : Strategy.NUMBER_PREFIX, number);
+        }
+        if (HAS_LETTER.matcher(trimmed).matches()) {
+            return new Plan(Strategy.KEYWORD, trimmed);
+        }
+        return new Plan(Strategy.SCAN, trimmed);
+    }
+}
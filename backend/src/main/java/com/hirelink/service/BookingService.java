@@ -3,36 +3,68 @@ package com.hirelink.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hirelink.config.RetryOnConflict;
 import com.hirelink.dto.BookingDTO;
+import com.hirelink.dto.DashboardDTO;
 import com.hirelink.entity.*;
 import com.hirelink.entity.Booking.BookingStatus;
+import com.hirelink.event.BookingEvent;
+import com.hirelink.event.ReviewAddedEvent;
 import com.hirelink.exception.BadRequestException;
 import com.hirelink.exception.ResourceNotFoundException;
 import com.hirelink.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
 public class BookingService {
 
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(
+            BookingStatus.PENDING, BookingStatus.ACCEPTED, BookingStatus.CONFIRMED, BookingStatus.IN_PROGRESS);
+    private static final int DASHBOARD_LIST_SIZE = 5;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ServiceRepository serviceRepository;
     private final ServiceProviderRepository providerRepository;
     private final ReviewRepository reviewRepository;
     private final ObjectMapper objectMapper;
-
+    private final ApplicationEventPublisher eventPublisher;
+    private final LocationService locationService;
+    private final BookingKeywordIndex bookingKeywordIndex;
+    private final BookingStatusCounters bookingStatusCounters;
+    private final DashboardSummaryCache dashboardSummaryCache;
+    private final BookingFacetIndex bookingFacetIndex;
+    private final ProviderSlotCalendar providerSlotCalendar;
+    private final ProviderSlotLedger providerSlotLedger;
+    private final BookingOutbox bookingOutbox;
+
+    @Value("${hirelink.search.query-mode:like}")
+    private String searchQueryMode;
+
+    @RetryOnConflict
     @Transactional
     public BookingDTO.BookingResponse createBooking(Long userId, BookingDTO.CreateBookingRequest request) {
         User user = userRepository.findById(userId)
@@ -50,11 +82,8 @@ public class BookingService {
         }
 
         // Check for duplicate pending bookings
-        List<BookingStatus> activeStatuses = Arrays.asList(
-                BookingStatus.PENDING, BookingStatus.ACCEPTED, BookingStatus.CONFIRMED, BookingStatus.IN_PROGRESS
-        );
         if (bookingRepository.existsByUserUserIdAndServiceServiceIdAndBookingStatusIn(
-                userId, request.getServiceId(), activeStatuses)) {
+                userId, request.getServiceId(), ACTIVE_STATUSES)) {
             throw new BadRequestException("You already have an active booking for this service");
         }
 
@@ -72,19 +101,50 @@ public class BookingService {
             urgency = Booking.UrgencyLevel.valueOf(request.getUrgencyLevel());
         }
 
+        // Fill missing location details from the pincode directory
+        String serviceCity = request.getServiceCity();
+        String serviceState = request.getServiceState();
+        BigDecimal serviceLatitude = request.getServiceLatitude();
+        BigDecimal serviceLongitude = request.getServiceLongitude();
+        int pincodeSlot = locationService.findPincode(request.getServicePincode());
+        if (pincodeSlot != PincodeDirectory.NOT_FOUND) {
+            if (serviceCity == null || serviceCity.isBlank()) {
+                serviceCity = locationService.pincodeCity(pincodeSlot);
+            }
+            if (serviceState == null || serviceState.isBlank()) {
+                serviceState = locationService.pincodeState(pincodeSlot);
+            }
+            if (serviceLatitude == null || serviceLongitude == null) {
+                serviceLatitude = BigDecimal.valueOf(locationService.pincodeLatitude(pincodeSlot))
+                        .setScale(6, RoundingMode.HALF_UP);
+                serviceLongitude = BigDecimal.valueOf(locationService.pincodeLongitude(pincodeSlot))
+                        .setScale(6, RoundingMode.HALF_UP);
+            }
+        }
+
+        // Claimed in the provider's day rows, shared by all nodes: a concurrent
+        // claim of the same day fails on the row version and is retried
+        // (@RetryOnConflict) against the slots taken by the winner
+        int durationMinutes = providerSlotCalendar.durationOrDefault(service.getEstimatedDurationMinutes());
+        if (!providerSlotLedger.claim(provider.getProviderId(), request.getScheduledDate(),
+                request.getScheduledTime(), durationMinutes)) {
+            throw new BadRequestException("The provider is already booked at this time");
+        }
+
         Booking booking = Booking.builder()
                 .user(user)
                 .provider(provider)
                 .service(service)
                 .scheduledDate(request.getScheduledDate())
                 .scheduledTime(request.getScheduledTime())
+                .scheduledEndTime(request.getScheduledTime().plusMinutes(durationMinutes))
                 .serviceAddress(request.getServiceAddress())
                 .serviceLandmark(request.getServiceLandmark())
                 .servicePincode(request.getServicePincode())
-                .serviceLatitude(request.getServiceLatitude())
-                .serviceLongitude(request.getServiceLongitude())
-                .serviceCity(request.getServiceCity())
-                .serviceState(request.getServiceState())
+                .serviceLatitude(serviceLatitude)
+                .serviceLongitude(serviceLongitude)
+                .serviceCity(serviceCity)
+                .serviceState(serviceState)
                 .issueTitle(request.getIssueTitle())
                 .issueDescription(request.getIssueDescription())
                 .issueImages(issueImagesJson)
@@ -93,15 +153,15 @@ public class BookingService {
                 .build();
 
         booking = bookingRepository.save(booking);
-        
-        // Update provider stats
-        provider.setTotalBookings(provider.getTotalBookings() + 1);
-        providerRepository.save(provider);
 
-        // Update service stats
-        service.setTimesBooked(service.getTimesBooked() + 1);
-        serviceRepository.save(service);
+        // Taken in this node's availability from now on, and freed again on rollback
+        providerSlotCalendar.hold(provider.getProviderId(), booking.getBookingId(),
+                request.getScheduledDate(), request.getScheduledTime(), durationMinutes);
 
+        // Provider and service stats follow from the outbox (BookingStatsWriter)
+        BookingEvent created = BookingEvent.of(BookingEvent.Type.CREATED, booking, null, null);
+        bookingOutbox.append(created);
+        eventPublisher.publishEvent(created);
         return mapToBookingResponse(booking);
     }
 
@@ -136,7 +196,12 @@ public class BookingService {
         Pageable pageable = PageRequest.of(page, size);
         Page<Booking> bookingPage;
 
-        if (status != null && !status.isEmpty()) {
+        if (bookingStatusCounters.isReady()) {
+            BookingStatus bookingStatus = parseStatus(status);
+            bookingPage = new PageImpl<>(bookingRepository.findUserBookingsBefore(userId, bookingStatus,
+                    BookingCursor.FIRST.createdAt(), BookingCursor.FIRST.bookingId(), pageable),
+                    pageable, bookingStatusCounters.countForUser(userId, bookingStatus));
+        } else if (status != null && !status.isEmpty()) {
             BookingStatus bookingStatus = BookingStatus.valueOf(status.toUpperCase());
             bookingPage = bookingRepository.findByUserUserIdAndBookingStatusOrderByCreatedAtDesc(userId, bookingStatus, pageable);
         } else {
@@ -151,7 +216,12 @@ public class BookingService {
         Pageable pageable = PageRequest.of(page, size);
         Page<Booking> bookingPage;
 
-        if (status != null && !status.isEmpty()) {
+        if (bookingStatusCounters.isReady()) {
+            BookingStatus bookingStatus = parseStatus(status);
+            bookingPage = new PageImpl<>(bookingRepository.findProviderBookingsBefore(providerId, bookingStatus,
+                    BookingCursor.FIRST.createdAt(), BookingCursor.FIRST.bookingId(), pageable),
+                    pageable, bookingStatusCounters.countForProvider(providerId, bookingStatus));
+        } else if (status != null && !status.isEmpty()) {
             BookingStatus bookingStatus = BookingStatus.valueOf(status.toUpperCase());
             bookingPage = bookingRepository.findByProviderProviderIdAndBookingStatusOrderByCreatedAtDesc(providerId, bookingStatus, pageable);
         } else {
@@ -166,7 +236,12 @@ public class BookingService {
         Pageable pageable = PageRequest.of(page, size);
         Page<Booking> bookingPage;
 
-        if (status != null && !status.isEmpty()) {
+        if (bookingStatusCounters.isReady()) {
+            BookingStatus bookingStatus = parseStatus(status);
+            bookingPage = new PageImpl<>(bookingRepository.findAllBookingsBefore(bookingStatus,
+                    BookingCursor.FIRST.createdAt(), BookingCursor.FIRST.bookingId(), pageable),
+                    pageable, bookingStatusCounters.countAll(bookingStatus));
+        } else if (status != null && !status.isEmpty()) {
             BookingStatus bookingStatus = BookingStatus.valueOf(status.toUpperCase());
             bookingPage = bookingRepository.findByBookingStatusOrderByCreatedAtDesc(bookingStatus, pageable);
         } else {
@@ -176,6 +251,96 @@ public class BookingService {
         return mapToBookingListResponse(bookingPage);
     }
 
+    /**
+     * Cursor (keyset) variant of {@link #getBookingsForUser}: each page seeks past
+     * the last booking of the previous one instead of skipping rows, so deep pages
+     * cost the same as the first. Pass a blank cursor for the first page.
+     */
+    @Transactional(readOnly = true)
+    public BookingDTO.BookingListResponse getBookingsForUser(Long userId, User.UserType userType, String status,
+                                                             String cursor, int size, boolean withTotal) {
+        switch (userType) {
+            case CUSTOMER:
+                return getBookingsAfter(userId, null, status, cursor, size, withTotal);
+            case PROVIDER:
+                ServiceProvider provider = providerRepository.findByUserUserId(userId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Provider profile not found for this user"));
+                return getBookingsAfter(null, provider.getProviderId(), status, cursor, size, withTotal);
+            case ADMIN:
+            case SUPER_ADMIN:
+                return getBookingsAfter(null, null, status, cursor, size, withTotal);
+            default:
+                throw new BadRequestException("Invalid user type");
+        }
+    }
+
+    /**
+     * One page of bookings, newest first, after the cursor. Scoped to a customer or
+     * a provider when the id is given, otherwise all bookings. The total is only
+     * counted when asked for, since that is the expensive part on large tables.
+     */
+    @Transactional(readOnly = true)
+    public BookingDTO.BookingListResponse getBookingsAfter(Long customerId, Long providerId, String status,
+                                                           String cursor, int size, boolean withTotal) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        BookingStatus bookingStatus = parseStatus(status);
+        BookingCursor after = BookingCursor.decode(cursor);
+        // One extra row tells whether another page follows
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<Booking> rows;
+        if (customerId != null) {
+            rows = bookingRepository.findUserBookingsBefore(customerId, bookingStatus,
+                    after.createdAt(), after.bookingId(), limit);
+        } else if (providerId != null) {
+            rows = bookingRepository.findProviderBookingsBefore(providerId, bookingStatus,
+                    after.createdAt(), after.bookingId(), limit);
+        } else {
+            rows = bookingRepository.findAllBookingsBefore(bookingStatus,
+                    after.createdAt(), after.bookingId(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<Booking> page = hasMore ? rows.subList(0, size) : rows;
+
+        Long total = null;
+        Integer totalPages = null;
+        if (withTotal) {
+            total = countBookings(customerId, providerId, bookingStatus);
+            totalPages = (int) ((total + size - 1) / size);
+        }
+
+        return BookingDTO.BookingListResponse.builder()
+                .bookings(page.stream().map(this::mapToBookingResponse).collect(Collectors.toList()))
+                .size(size)
+                .total(total)
+                .totalPages(totalPages)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? BookingCursor.after(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    private long countBookings(Long customerId, Long providerId, BookingStatus status) {
+        if (bookingStatusCounters.isReady()) {
+            return customerId != null ? bookingStatusCounters.countForUser(customerId, status)
+                    : providerId != null ? bookingStatusCounters.countForProvider(providerId, status)
+                    : bookingStatusCounters.countAll(status);
+        }
+        if (customerId != null) {
+            return status != null
+                    ? bookingRepository.countByUserAndStatus(customerId, status)
+                    : bookingRepository.countByUserUserId(customerId);
+        }
+        if (providerId != null) {
+            return status != null
+                    ? bookingRepository.countByProviderAndStatus(providerId, status)
+                    : bookingRepository.countByProviderProviderId(providerId);
+        }
+        return status != null ? bookingRepository.countByBookingStatus(status) : bookingRepository.count();
+    }
+
     /**
      * Search bookings based on user type
      */
@@ -185,29 +350,139 @@ public class BookingService {
             return getBookingsForUser(userId, userType, null, page, size);
         }
         
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Booking> bookingPage;
-        
+        // Customers see their own bookings, providers theirs, admins everything
+        Long customerId = null;
+        Long providerId = null;
         switch (userType) {
             case CUSTOMER:
-                bookingPage = bookingRepository.searchUserBookings(userId, keyword.trim(), pageable);
+                customerId = userId;
                 break;
             case PROVIDER:
                 ServiceProvider provider = providerRepository.findByUserUserId(userId)
                         .orElseThrow(() -> new ResourceNotFoundException("Provider profile not found"));
-                bookingPage = bookingRepository.searchProviderBookings(provider.getProviderId(), keyword.trim(), pageable);
+                providerId = provider.getProviderId();
                 break;
             case ADMIN:
             case SUPER_ADMIN:
-                bookingPage = bookingRepository.searchAllBookings(keyword.trim(), pageable);
                 break;
             default:
                 throw new BadRequestException("Invalid user type");
         }
+
+        Pageable pageable = PageRequest.of(page, size);
+        BookingSearchPlanner.Plan plan = BookingSearchPlanner.plan(keyword);
+        switch (plan.strategy()) {
+            case NUMBER_EXACT:
+                return mapToBookingListResponse(findByBookingNumber(plan.value(), customerId, providerId, pageable));
+            case NUMBER_PREFIX:
+                return mapToBookingListResponse(bookingRepository.findByBookingNumberPrefix(
+                        FullTextQuery.likePrefix(plan.value()), customerId, providerId, pageable));
+            case KEYWORD:
+                if (bookingKeywordIndex.isReady()) {
+                    BookingKeywordIndex.Hits hits = customerId != null
+                            ? bookingKeywordIndex.searchCustomer(customerId, plan.value(), page, size)
+                            : providerId != null
+                            ? bookingKeywordIndex.searchProvider(providerId, plan.value(), page, size)
+                            : bookingKeywordIndex.searchAll(plan.value(), page, size);
+                    return mapToBookingListResponse(loadPage(hits.bookingIds(), hits.total(), pageable));
+                }
+                break;
+            default:
+                break;
+        }
+
+        String fullTextQuery = FullTextQuery.MODE.equalsIgnoreCase(searchQueryMode)
+                ? FullTextQuery.booleanQuery(keyword) : null;
+        if (fullTextQuery != null) {
+            return mapToBookingListResponse(
+                    searchBookingsFullText(customerId, providerId, keyword, fullTextQuery, pageable));
+        }
+
+        Page<Booking> bookingPage;
+        if (customerId != null) {
+            bookingPage = bookingRepository.searchUserBookings(customerId, keyword.trim(), pageable);
+        } else if (providerId != null) {
+            bookingPage = bookingRepository.searchProviderBookings(providerId, keyword.trim(), pageable);
+        } else {
+            bookingPage = bookingRepository.searchAllBookings(keyword.trim(), pageable);
+        }
         
         return mapToBookingListResponse(bookingPage);
     }
 
+    /**
+     * Equality lookup on the unique booking number, restricted to the caller's scope.
+     */
+    private Page<Booking> findByBookingNumber(String bookingNumber, Long customerId, Long providerId,
+                                              Pageable pageable) {
+        Optional<Booking> match = bookingRepository.findByBookingNumber(bookingNumber)
+                .filter(b -> customerId == null || customerId.equals(b.getUser().getUserId()))
+                .filter(b -> providerId == null || providerId.equals(b.getProvider().getProviderId()));
+        List<Booking> bookings = match.isPresent() && pageable.getPageNumber() == 0
+                ? List.of(match.get()) : Collections.emptyList();
+        return new PageImpl<>(bookings, pageable, match.isPresent() ? 1 : 0);
+    }
+
+    /**
+     * Keyword search through the FULLTEXT indexes: page of matching ids first,
+     * then only those bookings are loaded.
+     */
+    private Page<Booking> searchBookingsFullText(Long customerId, Long providerId, String keyword,
+                                                 String fullTextQuery, Pageable pageable) {
+        String numberPrefix = FullTextQuery.likePrefix(keyword);
+        Page<Long> idPage;
+        if (customerId != null) {
+            idPage = bookingRepository.searchUserBookingIdsFullText(customerId, numberPrefix, fullTextQuery, pageable);
+        } else if (providerId != null) {
+            idPage = bookingRepository.searchProviderBookingIdsFullText(providerId, numberPrefix, fullTextQuery, pageable);
+        } else {
+            idPage = bookingRepository.searchAllBookingIdsFullText(numberPrefix, fullTextQuery, pageable);
+        }
+        return loadPage(idPage.getContent(), idPage.getTotalElements(), pageable);
+    }
+
+    /**
+     * Admin booking filter over any combination of dimensions, newest first,
+     * with facet counts. Filtering and counting happen in the bitmap index;
+     * only the bookings of the requested page are read from MySQL.
+     */
+    @Transactional(readOnly = true)
+    public BookingDTO.FilterResponse filterBookings(BookingFacetIndex.Filter filter, int page, int size) {
+        BookingFacetIndex.Result result = bookingFacetIndex.filter(filter, page, size);
+        Page<Booking> bookingPage = loadPage(result.bookingIds(), result.total(), PageRequest.of(page, size));
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        result.facets().forEach((dimension, counts) -> facets.put(
+                dimension == BookingFacetIndex.Dimension.CATEGORY ? "categoryId" : dimension.name().toLowerCase(),
+                counts));
+
+        return BookingDTO.FilterResponse.builder()
+                .bookings(toResponses(bookingPage.getContent()))
+                .page(page)
+                .size(size)
+                .total(result.total())
+                .totalPages(bookingPage.getTotalPages())
+                .facets(facets)
+                .complete(result.complete())
+                .build();
+    }
+
+    /**
+     * Load a page of bookings by id, keeping the order of the ids.
+     */
+    private Page<Booking> loadPage(List<Long> ids, long total, Pageable pageable) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, total);
+        }
+        Map<Long, Booking> loaded = bookingRepository.findAllByIdWithDetails(ids).stream()
+                .collect(Collectors.toMap(Booking::getBookingId, Function.identity()));
+        List<Booking> bookings = ids.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(bookings, pageable, total);
+    }
+
     /**
      * Get recent bookings for dashboard (sorted by PENDING first)
      */
@@ -298,6 +573,7 @@ public class BookingService {
         }
     }
 
+    @RetryOnConflict
     @Transactional
     public BookingDTO.BookingResponse updateBookingStatus(Long bookingId, Long userId, BookingDTO.UpdateBookingStatusRequest request) {
         Booking booking = bookingRepository.findById(bookingId)
@@ -305,6 +581,7 @@ public class BookingService {
 
         BookingStatus newStatus = BookingStatus.valueOf(request.getStatus().toUpperCase());
         BookingStatus currentStatus = booking.getBookingStatus();
+        BigDecimal previousAmount = BookingEvent.amountOf(booking);
 
         // Validate status transition
         validateStatusTransition(currentStatus, newStatus);
@@ -322,10 +599,6 @@ public class BookingService {
                 } else if (booking.getProvider().getUser().getUserId().equals(userId)) {
                     booking.setCancelledBy(Booking.CancelledBy.PROVIDER);
                 }
-                // Update provider stats
-                ServiceProvider provider = booking.getProvider();
-                provider.setCancelledBookings(provider.getCancelledBookings() + 1);
-                providerRepository.save(provider);
                 break;
             case ACCEPTED:
             case CONFIRMED:
@@ -343,24 +616,26 @@ public class BookingService {
                 } else {
                     booking.setFinalAmount(booking.getEstimatedAmount());
                 }
-                // Update provider stats
-                ServiceProvider completedProvider = booking.getProvider();
-                completedProvider.setCompletedBookings(completedProvider.getCompletedBookings() + 1);
-                BigDecimal rate = BigDecimal.valueOf(completedProvider.getCompletedBookings())
-                        .multiply(BigDecimal.valueOf(100))
-                        .divide(BigDecimal.valueOf(completedProvider.getTotalBookings()), 2, BigDecimal.ROUND_HALF_UP);
-                completedProvider.setCompletionRate(rate);
-                completedProvider.setTotalEarnings(completedProvider.getTotalEarnings().add(booking.getFinalAmount()));
-                providerRepository.save(completedProvider);
                 break;
             default:
                 break;
         }
 
-        booking = bookingRepository.save(booking);
+        // Flushed so the event carries the booking's new version
+        booking = bookingRepository.saveAndFlush(booking);
+        if (ProviderSlotCalendar.BLOCKING_STATUSES.contains(currentStatus)
+                && !ProviderSlotCalendar.BLOCKING_STATUSES.contains(newStatus)) {
+            providerSlotLedger.release(booking.getProvider().getProviderId(), booking.getScheduledDate(),
+                    booking.getScheduledTime(), booking.getScheduledEndTime());
+        }
+        // Cancelled/completed counts, earnings and completion rate follow from the outbox (BookingStatsWriter)
+        BookingEvent changed = BookingEvent.of(BookingEvent.Type.STATUS_CHANGED, booking, currentStatus, previousAmount);
+        bookingOutbox.append(changed);
+        eventPublisher.publishEvent(changed);
         return mapToBookingResponse(booking);
     }
 
+    @RetryOnConflict
     @Transactional
     public void addReview(Long bookingId, Long userId, BookingDTO.AddReviewRequest request) {
         Booking booking = bookingRepository.findById(bookingId)
@@ -408,13 +683,13 @@ public class BookingService {
         booking.setUserRating(request.getOverallRating());
         bookingRepository.save(booking);
 
-        // Update provider rating
-        ServiceProvider provider = booking.getProvider();
-        BigDecimal avgRating = reviewRepository.calculateAverageRating(provider.getProviderId());
-        Long reviewCount = reviewRepository.countByProviderId(provider.getProviderId());
-        provider.setAverageRating(avgRating != null ? avgRating : BigDecimal.ZERO);
-        provider.setTotalReviews(reviewCount.intValue());
-        providerRepository.save(provider);
+        // The provider's rating is recalculated from the outbox (ProviderRatingUpdater)
+        bookingOutbox.append(ReviewAddedEvent.builder()
+                .bookingId(bookingId)
+                .userId(userId)
+                .providerId(booking.getProvider().getProviderId())
+                .rating(request.getOverallRating())
+                .build());
     }
 
     private void validateStatusTransition(BookingStatus from, BookingStatus to) {
@@ -435,6 +710,141 @@ public class BookingService {
         }
     }
 
+    /**
+     * Booking counts per status for the user's own bookings (all bookings for admins).
+     */
+    @Transactional(readOnly = true)
+    public BookingDTO.StatusCountsResponse getStatusCountsForUser(Long userId, User.UserType userType) {
+        Map<BookingStatus, Long> counts;
+        switch (userType) {
+            case CUSTOMER:
+                counts = bookingStatusCounters.isReady()
+                        ? bookingStatusCounters.userCounts(userId)
+                        : toStatusCounts(bookingRepository.summarizeByUserGroupedByStatus(userId));
+                break;
+            case PROVIDER:
+                ServiceProvider provider = providerRepository.findByUserUserId(userId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Provider profile not found for this user"));
+                counts = bookingStatusCounters.isReady()
+                        ? bookingStatusCounters.providerCounts(provider.getProviderId())
+                        : toStatusCounts(bookingRepository.summarizeByProviderGroupedByStatus(provider.getProviderId()));
+                break;
+            case ADMIN:
+            case SUPER_ADMIN:
+                counts = bookingStatusCounters.isReady()
+                        ? bookingStatusCounters.globalCounts()
+                        : toStatusCounts(bookingRepository.countGroupedByStatus());
+                break;
+            default:
+                throw new BadRequestException("Invalid user type");
+        }
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        counts.forEach((status, count) -> byStatus.put(status.name(), count));
+        return BookingDTO.StatusCountsResponse.builder()
+                .counts(byStatus)
+                .total(counts.values().stream().mapToLong(Long::longValue).sum())
+                .build();
+    }
+
+    /**
+     * Everything a dashboard shows, in one response: status counts and value
+     * from one grouped query, upcoming and recent bookings, and for providers
+     * the earnings and rating kept on their profile. Cached per user until one
+     * of their bookings changes; admins get the resident global counts.
+     */
+    @Transactional(readOnly = true)
+    public DashboardDTO.SummaryResponse getDashboardSummary(Long userId, User.UserType userType) {
+        switch (userType) {
+            case CUSTOMER:
+                return dashboardSummaryCache.get(userId, this::buildCustomerSummary);
+            case PROVIDER:
+                return dashboardSummaryCache.get(userId, this::buildProviderSummary);
+            case ADMIN:
+            case SUPER_ADMIN:
+                Map<BookingStatus, Long> counts = bookingStatusCounters.isReady()
+                        ? bookingStatusCounters.globalCounts()
+                        : toStatusCounts(bookingRepository.countGroupedByStatus());
+                return summaryBuilder(userType, counts)
+                        .upcomingBookings(Collections.emptyList())
+                        .recentBookings(Collections.emptyList())
+                        .build();
+            default:
+                throw new BadRequestException("Invalid user type");
+        }
+    }
+
+    private DashboardDTO.SummaryResponse buildCustomerSummary(Long userId) {
+        List<Object[]> rows = bookingRepository.summarizeByUserGroupedByStatus(userId);
+        Pageable top = PageRequest.of(0, DASHBOARD_LIST_SIZE);
+        return summaryBuilder(User.UserType.CUSTOMER, toStatusCounts(rows))
+                .totalSpent(amountOf(rows, BookingStatus.COMPLETED))
+                .upcomingBookings(toResponses(bookingRepository.findUpcomingByUserId(
+                        userId, ACTIVE_STATUSES, LocalDate.now(), top)))
+                .recentBookings(toResponses(bookingRepository.findRecentByUserIdPendingFirst(userId, top)))
+                .build();
+    }
+
+    private DashboardDTO.SummaryResponse buildProviderSummary(Long userId) {
+        ServiceProvider provider = providerRepository.findByUserUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Provider profile not found"));
+        Long providerId = provider.getProviderId();
+        List<Object[]> rows = bookingRepository.summarizeByProviderGroupedByStatus(providerId);
+        Pageable top = PageRequest.of(0, DASHBOARD_LIST_SIZE);
+        // Earnings from the bookings themselves: the provider row is updated behind the outbox
+        return summaryBuilder(User.UserType.PROVIDER, toStatusCounts(rows))
+                .providerId(providerId)
+                .totalEarnings(amountOf(rows, BookingStatus.COMPLETED))
+                .averageRating(provider.getAverageRating())
+                .totalReviews(provider.getTotalReviews())
+                .upcomingBookings(toResponses(bookingRepository.findUpcomingByProviderId(
+                        providerId, ACTIVE_STATUSES, LocalDate.now(), top)))
+                .recentBookings(toResponses(bookingRepository.findRecentByProviderIdPendingFirst(providerId, top)))
+                .build();
+    }
+
+    private static DashboardDTO.SummaryResponse.SummaryResponseBuilder summaryBuilder(
+            User.UserType userType, Map<BookingStatus, Long> counts) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        counts.forEach((status, count) -> byStatus.put(status.name(), count));
+        return DashboardDTO.SummaryResponse.builder()
+                .userType(userType.name())
+                .statusCounts(byStatus)
+                .totalBookings(counts.values().stream().mapToLong(Long::longValue).sum())
+                .activeBookings(ACTIVE_STATUSES.stream().mapToLong(counts::get).sum())
+                .generatedAt(LocalDateTime.now());
+    }
+
+    private static BigDecimal amountOf(List<Object[]> rows, BookingStatus status) {
+        for (Object[] row : rows) {
+            if (row[0] == status) {
+                return (BigDecimal) row[2];
+            }
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private List<BookingDTO.BookingResponse> toResponses(List<Booking> bookings) {
+        return bookings.stream()
+                .map(this::mapToBookingResponse)
+                .collect(Collectors.toList());
+    }
+
+    private static Map<BookingStatus, Long> toStatusCounts(List<Object[]> rows) {
+        Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : rows) {
+            counts.put((BookingStatus) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private static BookingStatus parseStatus(String status) {
+        return status != null && !status.isEmpty() ? BookingStatus.valueOf(status.toUpperCase()) : null;
+    }
+
     private BookingDTO.BookingListResponse mapToBookingListResponse(Page<Booking> bookingPage) {
         List<BookingDTO.BookingResponse> bookings = bookingPage.getContent().stream()
                 .map(this::mapToBookingResponse)
@@ -0,0 +1,105 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Booking;
+import com.hirelink.event.BookingEvent;
+import com.hirelink.event.BookingSnapshotCompletedEvent;
+import com.hirelink.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Replays existing bookings as {@link BookingEvent.Type#SNAPSHOT} events on
+ * startup so in-memory booking aggregates start from the current database
+ * state. Bookings are read in id order, one short read-only transaction per
+ * batch, and only up to the highest id present when the replay started;
+ * anything newer arrives through regular CREATED events.
+ *
+ * Live events keep flowing while the replay runs, so a booking's replayed row
+ * and its live changes may arrive in either order; aggregates sort them out
+ * by booking version with a {@link BookingReplayGuard}.
+ *
+ * Aggregates that must also follow bookings written by other nodes read them
+ * back periodically with {@link #readChangedSince}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingSnapshotLoader {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayBookings() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Long maxId = readOnly.execute(status -> bookingRepository.findMaxBookingId());
+        if (maxId == null) {
+            eventPublisher.publishEvent(new BookingSnapshotCompletedEvent(0));
+            return;
+        }
+
+        long afterId = 0L;
+        int replayed = 0;
+        while (afterId < maxId) {
+            final long cursor = afterId;
+            List<Booking> batch = readOnly.execute(status -> {
+                List<Booking> bookings = bookingRepository.findBatchAfterId(cursor, maxId, PageRequest.of(0, BATCH_SIZE));
+                bookings.forEach(booking -> eventPublisher.publishEvent(
+                        BookingEvent.of(BookingEvent.Type.SNAPSHOT, booking, null, null)));
+                return bookings;
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).getBookingId();
+            replayed += batch.size();
+        }
+        log.info("Replayed {} bookings into in-memory aggregates", replayed);
+        eventPublisher.publishEvent(new BookingSnapshotCompletedEvent(replayed));
+    }
+
+    /**
+     * Hand every booking written at or after {@code since} to {@code sink} as
+     * a SNAPSHOT event, in id order and in the same read-only batches as the
+     * replay. The events are not published: counting aggregates would count a
+     * booking they have already seen a second time.
+     *
+     * @return the number of bookings read
+     */
+    public int readChangedSince(LocalDateTime since, Consumer<BookingEvent> sink) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long afterId = 0L;
+        int read = 0;
+        while (true) {
+            final long cursor = afterId;
+            List<Booking> batch = readOnly.execute(status -> {
+                List<Booking> bookings = bookingRepository.findBatchUpdatedSince(since, cursor, PageRequest.of(0, BATCH_SIZE));
+                bookings.forEach(booking -> sink.accept(BookingEvent.of(BookingEvent.Type.SNAPSHOT, booking, null, null)));
+                return bookings;
+            });
+            if (batch == null || batch.isEmpty()) {
+                return read;
+            }
+            afterId = batch.get(batch.size() - 1).getBookingId();
+            read += batch.size();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Booking.BookingStatus;
+import com.hirelink.event.BookingEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Booking statistics of providers (total, completed and cancelled bookings,
+ * earnings, completion rate) and services (times booked).
+ *
+ * Booking transactions used to read, bump and save these columns on the
+ * provider and service rows, so every booking of a popular provider waited on
+ * the same row lock and concurrent updates could overwrite each other. Now the
+ * booking events of an outbox batch are summed per provider and service and
+ * applied with one batch of relative {@code SET x = x + ?} updates, which
+ * cannot lose increments. The updates run in the dispatch transaction that
+ * marks the events delivered, so a redelivered batch is never counted twice.
+ * The completion rate is recomputed in the same statement from the counts
+ * and the deltas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingStatsWriter implements OutboxSubscriber {
+
+    // completion_rate is computed from the old counts plus the deltas: MySQL
+    // applies assignments left to right but standard SQL (H2) uses the old values
+    private static final String PROVIDER_UPDATE = "UPDATE service_providers SET " +
+            "total_bookings = COALESCE(total_bookings, 0) + ?, " +
+            "completed_bookings = COALESCE(completed_bookings, 0) + ?, " +
+            "cancelled_bookings = COALESCE(cancelled_bookings, 0) + ?, " +
+            "total_earnings = COALESCE(total_earnings, 0) + ?, " +
+            "completion_rate = CASE WHEN COALESCE(total_bookings, 0) + ? > 0 " +
+            "THEN ROUND((COALESCE(completed_bookings, 0) + ?) * 100.0 / (COALESCE(total_bookings, 0) + ?), 2) " +
+            "ELSE 0 END " +
+            "WHERE provider_id = ?";
+
+    private static final String SERVICE_UPDATE =
+            "UPDATE services SET times_booked = COALESCE(times_booked, 0) + ? WHERE service_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void onBookingEvents(List<BookingEvent> events) {
+        // Sorted by id, so rows are always locked in the same order
+        Map<Long, ProviderStats> providers = new TreeMap<>();
+        Map<Long, Long> servicesBooked = new TreeMap<>();
+        for (BookingEvent event : events) {
+            if (event.getProviderId() == null) {
+                continue;
+            }
+            ProviderStats stats = providers.computeIfAbsent(event.getProviderId(), id -> new ProviderStats());
+            if (event.getType() == BookingEvent.Type.CREATED) {
+                stats.total++;
+                if (event.getServiceId() != null) {
+                    servicesBooked.merge(event.getServiceId(), 1L, Long::sum);
+                }
+            } else if (event.getType() == BookingEvent.Type.STATUS_CHANGED
+                    && event.getPreviousStatus() != event.getStatus()) {
+                if (event.getStatus() == BookingStatus.CANCELLED) {
+                    stats.cancelled++;
+                } else if (event.getStatus() == BookingStatus.COMPLETED) {
+                    stats.completed++;
+                    if (event.getAmount() != null) {
+                        stats.earnings = stats.earnings.add(event.getAmount());
+                    }
+                }
+            }
+        }
+
+        List<Object[]> providerRows = new ArrayList<>(providers.size());
+        providers.forEach((providerId, stats) -> {
+            if (stats.total != 0 || stats.completed != 0 || stats.cancelled != 0) {
+                providerRows.add(new Object[]{stats.total, stats.completed, stats.cancelled, stats.earnings,
+                        stats.total, stats.completed, stats.total, providerId});
+            }
+        });
+        List<Object[]> serviceRows = new ArrayList<>(servicesBooked.size());
+        servicesBooked.forEach((serviceId, booked) -> serviceRows.add(new Object[]{booked, serviceId}));
+
+        if (!providerRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(PROVIDER_UPDATE, providerRows);
+        }
+        if (!serviceRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(SERVICE_UPDATE, serviceRows);
+        }
+        log.debug("Applied booking stats of {} providers and {} services", providerRows.size(), serviceRows.size());
+    }
+
+    private static final class ProviderStats {
+
+        long total;
+        long completed;
+        long cancelled;
+        BigDecimal earnings = BigDecimal.ZERO;
+    }
+}
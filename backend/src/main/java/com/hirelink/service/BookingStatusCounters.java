@@ -0,0 +1,216 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Booking.BookingStatus;
+import com.hirelink.event.BookingEvent;
+import com.hirelink.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Booking counts per status for every customer, every provider and overall,
+ * kept in memory so list totals and status badges need no COUNT query.
+ *
+ * Counters move with the CREATED and STATUS_CHANGED events of committed
+ * bookings. Each is a {@link LongAdder}, so concurrent bookings bump separate
+ * cells instead of contending on one value (this matters for the global row).
+ * A GROUP BY pass over the bookings table seeds the counters at startup and
+ * then periodically corrects any drift, e.g. from a listener that missed an
+ * event or a row changed outside the application. Until the first pass has
+ * finished {@link #isReady()} is false and callers should count in MySQL.
+ */
+@Slf4j
+@Component
+public class BookingStatusCounters {
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final BookingRepository bookingRepository;
+    private final Counter driftCorrections;
+
+    private final Map<Long, Counts> byUser = new ConcurrentHashMap<>();
+    private final Map<Long, Counts> byProvider = new ConcurrentHashMap<>();
+    private final Counts global = new Counts();
+
+    private volatile boolean ready = false;
+
+    public BookingStatusCounters(BookingRepository bookingRepository, MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.driftCorrections = Counter.builder("hirelink.booking.counters.corrections")
+                .description("Status counters corrected by reconciliation with the bookings table")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        if (event.getType() == BookingEvent.Type.CREATED) {
+            apply(event, null, event.getStatus());
+        } else if (event.getType() == BookingEvent.Type.STATUS_CHANGED
+                && event.getPreviousStatus() != event.getStatus()) {
+            apply(event, event.getPreviousStatus(), event.getStatus());
+        }
+    }
+
+    private void apply(BookingEvent event, BookingStatus from, BookingStatus to) {
+        if (event.getUserId() != null) {
+            byUser.computeIfAbsent(event.getUserId(), id -> new Counts()).move(from, to);
+        }
+        if (event.getProviderId() != null) {
+            byProvider.computeIfAbsent(event.getProviderId(), id -> new Counts()).move(from, to);
+        }
+        global.move(from, to);
+    }
+
+    /**
+     * Bookings of a customer with the status, or all of them for a null status.
+     */
+    public long countForUser(Long userId, BookingStatus status) {
+        return count(byUser.get(userId), status);
+    }
+
+    public long countForProvider(Long providerId, BookingStatus status) {
+        return count(byProvider.get(providerId), status);
+    }
+
+    public long countAll(BookingStatus status) {
+        return count(global, status);
+    }
+
+    public Map<BookingStatus, Long> userCounts(Long userId) {
+        return snapshot(byUser.get(userId));
+    }
+
+    public Map<BookingStatus, Long> providerCounts(Long providerId) {
+        return snapshot(byProvider.get(providerId));
+    }
+
+    public Map<BookingStatus, Long> globalCounts() {
+        return snapshot(global);
+    }
+
+    /**
+     * Bring every counter in line with the bookings table. Each counter gets
+     * the difference added rather than being overwritten, so increments made
+     * while the queries run are not thrown away; a booking changing exactly
+     * between the query and the correction is fixed on the next pass.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${hirelink.booking.counters.reconcile-interval-ms:600000}",
+            fixedDelayString = "${hirelink.booking.counters.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        long corrected = reconcile(byUser, bookingRepository.countGroupedByUserAndStatus())
+                + reconcile(byProvider, bookingRepository.countGroupedByProviderAndStatus());
+
+        long[] actual = new long[STATUSES.length];
+        for (Object[] row : bookingRepository.countGroupedByStatus()) {
+            actual[((BookingStatus) row[0]).ordinal()] = ((Number) row[1]).longValue();
+        }
+        corrected += global.correct(actual);
+
+        if (ready && corrected > 0) {
+            log.warn("Booking status counters drifted; corrected {} counters", corrected);
+        }
+        driftCorrections.increment(ready ? corrected : 0);
+        ready = true;
+    }
+
+    private static long reconcile(Map<Long, Counts> counters, List<Object[]> rows) {
+        Map<Long, long[]> actual = new HashMap<>(Math.max(16, rows.size() * 2));
+        for (Object[] row : rows) {
+            long[] counts = actual.computeIfAbsent((Long) row[0], id -> new long[STATUSES.length]);
+            counts[((BookingStatus) row[1]).ordinal()] = ((Number) row[2]).longValue();
+        }
+
+        long corrected = 0;
+        Set<Long> ids = new HashSet<>(counters.keySet());
+        ids.addAll(actual.keySet());
+        for (Long id : ids) {
+            long[] counts = actual.getOrDefault(id, new long[STATUSES.length]);
+            corrected += counters.computeIfAbsent(id, key -> new Counts()).correct(counts);
+        }
+        return corrected;
+    }
+
+    private static long count(Counts counts, BookingStatus status) {
+        if (counts == null) {
+            return 0;
+        }
+        return status != null ? counts.get(status) : counts.total();
+    }
+
+    private static Map<BookingStatus, Long> snapshot(Counts counts) {
+        Map<BookingStatus, Long> result = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : STATUSES) {
+            result.put(status, counts != null ? counts.get(status) : 0L);
+        }
+        return result;
+    }
+
+    /**
+     * One counter per status.
+     */
+    private static final class Counts {
+
+        private final LongAdder[] perStatus = new LongAdder[STATUSES.length];
+
+        Counts() {
+            for (int i = 0; i < perStatus.length; i++) {
+                perStatus[i] = new LongAdder();
+            }
+        }
+
+        void move(BookingStatus from, BookingStatus to) {
+            if (from != null) {
+                perStatus[from.ordinal()].decrement();
+            }
+            if (to != null) {
+                perStatus[to.ordinal()].increment();
+            }
+        }
+
+        long get(BookingStatus status) {
+            return perStatus[status.ordinal()].sum();
+        }
+
+        long total() {
+            long total = 0;
+            for (LongAdder adder : perStatus) {
+                total += adder.sum();
+            }
+            return total;
+        }
+
+        /**
+         * @return number of statuses whose counter was off
+         */
+        int correct(long[] actual) {
+            int corrected = 0;
+            for (int i = 0; i < perStatus.length; i++) {
+                long delta = actual[i] - perStatus[i].sum();
+                if (delta != 0) {
+                    perStatus[i].add(delta);
+                    corrected++;
+                }
+            }
+            return corrected;
+        }
+    }
+}
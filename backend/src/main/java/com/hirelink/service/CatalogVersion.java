@@ -0,0 +1,26 @@
+package com.hirelink.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version of the searchable catalog. Caches put the version in their
+ * keys, so bumping it invalidates every derived entry at once; entries of old
+ * versions are never read again and age out of the cache. Bumped by
+ * ServiceService after the search index took in a catalog change, never
+ * before, so no stale result is cached under the new version.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public long bump() {
+        return version.incrementAndGet();
+    }
+}
@@ -0,0 +1,81 @@
+package com.hirelink.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hirelink.dto.DashboardDTO;
+import com.hirelink.event.BookingEvent;
+import com.hirelink.event.ReviewAddedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Dashboard summaries of customers and providers, keyed by user id.
+ *
+ * An entry is dropped when a booking of that customer or provider is created
+ * or changes status, or when the provider gets a review, so the next dashboard
+ * load recomputes it. Booking events only carry the provider id, so the
+ * provider's user id is remembered from the summary itself. The expiry is a
+ * backstop for bookings that stop being upcoming as the date passes.
+ * Invalidating a key that is being loaded waits for the load to finish, so a
+ * summary computed from pre-commit data does not survive the eviction.
+ */
+@Component
+public class DashboardSummaryCache {
+
+    public static final String NAME = "dashboard-summary";
+
+    private final Cache<Long, DashboardDTO.SummaryResponse> cache;
+    private final Map<Long, Long> providerUserIds = new ConcurrentHashMap<>();
+
+    public DashboardSummaryCache(MeterRegistry meterRegistry,
+                                 @Value("${hirelink.dashboard.cache.max-entries:10000}") long maxEntries,
+                                 @Value("${hirelink.dashboard.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    public DashboardDTO.SummaryResponse get(Long userId, Function<Long, DashboardDTO.SummaryResponse> loader) {
+        return cache.get(userId, id -> {
+            DashboardDTO.SummaryResponse summary = loader.apply(id);
+            if (summary.getProviderId() != null) {
+                providerUserIds.put(summary.getProviderId(), id);
+            }
+            return summary;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        if (event.getType() == BookingEvent.Type.SNAPSHOT) {
+            return;
+        }
+        if (event.getUserId() != null) {
+            cache.invalidate(event.getUserId());
+        }
+        evictProvider(event.getProviderId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewAdded(ReviewAddedEvent event) {
+        evictProvider(event.getProviderId());
+    }
+
+    private void evictProvider(Long providerId) {
+        Long userId = providerId != null ? providerUserIds.get(providerId) : null;
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+}
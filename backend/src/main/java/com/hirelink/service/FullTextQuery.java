@@ -0,0 +1,47 @@
+package com.hirelink.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds arguments for the MySQL FULLTEXT search queries.
+ */
+public final class FullTextQuery {
+
+    public static final String MODE = "fulltext";
+
+    // innodb_ft_min_token_size: shorter words are not in the index
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * Boolean-mode query requiring every word as a prefix ("ac repai" becomes
+     * "+repai*" since "ac" is too short to be indexed), or null if no word is
+     * long enough, in which case callers fall back to LIKE. Operators typed by
+     * the user are dropped.
+     */
+    public static String booleanQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : keyword.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_TOKEN_LENGTH) {
+                terms.add("+" + word + "*");
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+
+    /**
+     * Keyword as a LIKE prefix with wildcards escaped, for booking numbers.
+     */
+    public static String likePrefix(String keyword) {
+        return keyword.trim().toUpperCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,154 @@
+package com.hirelink.service;
+
+import com.hirelink.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Geohash-prefix partitioning of provider read models.
+ *
+ * A region is a geohash of {@code hirelink.geo.region.precision} characters,
+ * which at any precision is a regular lat/lon grid cell, so regions can be
+ * computed from grid indexes and loaded from MySQL with a plain bounding box.
+ * A node holds only the regions matching {@code hirelink.geo.regions} (comma
+ * separated geohash prefixes; empty means every region).
+ */
+@Component
+public class GeoRegions {
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final int MAX_REGIONS_PER_QUERY = 64;
+
+    private final int precision;
+    private final List<String> servedPrefixes;
+    private final int latBits;
+    private final int lonBits;
+    private final double latStep;
+    private final double lonStep;
+
+    public GeoRegions(@Value("${hirelink.geo.region.precision:3}") int precision,
+                      @Value("${hirelink.geo.regions:}") String servedPrefixes) {
+        this.precision = Math.max(1, Math.min(6, precision));
+        this.servedPrefixes = Arrays.stream(servedPrefixes.split(","))
+                .map(String::trim)
+                .map(String::toLowerCase)
+                .filter(p -> !p.isEmpty())
+                .toList();
+        int bits = this.precision * 5;
+        this.lonBits = (bits + 1) / 2; // geohash starts with a longitude bit
+        this.latBits = bits / 2;
+        this.latStep = 180.0 / (1 << latBits);
+        this.lonStep = 360.0 / (1 << lonBits);
+    }
+
+    public double latStep() {
+        return latStep;
+    }
+
+    public double lonStep() {
+        return lonStep;
+    }
+
+    public String regionOf(double latitude, double longitude) {
+        return regionOfCell(latIndex(latitude), lonIndex(longitude));
+    }
+
+    /**
+     * Region for grid indexes as returned by {@code FLOOR((lat + 90) / latStep)}
+     * and {@code FLOOR((lon + 180) / lonStep)}.
+     */
+    public String regionOfCell(int latIndex, int lonIndex) {
+        char[] chars = new char[precision];
+        int latBit = latBits - 1;
+        int lonBit = lonBits - 1;
+        boolean lonTurn = true;
+        for (int c = 0; c < precision; c++) {
+            int value = 0;
+            for (int b = 0; b < 5; b++) {
+                int bit = lonTurn ? (lonIndex >> lonBit--) & 1 : (latIndex >> latBit--) & 1;
+                value = (value << 1) | bit;
+                lonTurn = !lonTurn;
+            }
+            chars[c] = BASE32.charAt(value);
+        }
+        return new String(chars);
+    }
+
+    public LocationService.BoundingBox boundsOf(String region) {
+        if (region == null || region.length() != precision) {
+            throw new BadRequestException("Region must be a geohash of length " + precision);
+        }
+        int latIndex = 0;
+        int lonIndex = 0;
+        boolean lonTurn = true;
+        for (int c = 0; c < precision; c++) {
+            int value = BASE32.indexOf(Character.toLowerCase(region.charAt(c)));
+            if (value < 0) {
+                throw new BadRequestException("Invalid geohash: " + region);
+            }
+            for (int b = 4; b >= 0; b--) {
+                int bit = (value >> b) & 1;
+                if (lonTurn) {
+                    lonIndex = (lonIndex << 1) | bit;
+                } else {
+                    latIndex = (latIndex << 1) | bit;
+                }
+                lonTurn = !lonTurn;
+            }
+        }
+        double minLat = latIndex * latStep - 90.0;
+        double minLon = lonIndex * lonStep - 180.0;
+        return new LocationService.BoundingBox(minLat, minLat + latStep, minLon, minLon + lonStep);
+    }
+
+    /**
+     * Regions intersecting the box, or null if it spans too many regions to be
+     * worth answering from memory.
+     */
+    public List<String> regionsOverlapping(LocationService.BoundingBox box) {
+        int minLatIndex = latIndex(box.minLat());
+        int maxLatIndex = latIndex(box.maxLat());
+        int minLonIndex = lonIndex(box.minLon());
+        int maxLonIndex = lonIndex(box.maxLon());
+        long count = (long) (maxLatIndex - minLatIndex + 1) * (maxLonIndex - minLonIndex + 1);
+        if (count > MAX_REGIONS_PER_QUERY) {
+            return null;
+        }
+        List<String> regions = new ArrayList<>((int) count);
+        for (int lat = minLatIndex; lat <= maxLatIndex; lat++) {
+            for (int lon = minLonIndex; lon <= maxLonIndex; lon++) {
+                regions.add(regionOfCell(lat, lon));
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Whether this node is configured to hold the region.
+     */
+    public boolean serves(String region) {
+        if (servedPrefixes.isEmpty()) {
+            return true;
+        }
+        for (String prefix : servedPrefixes) {
+            if (region.startsWith(prefix) || prefix.startsWith(region)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int latIndex(double latitude) {
+        int index = (int) Math.floor((latitude + 90.0) / latStep);
+        return Math.max(0, Math.min((1 << latBits) - 1, index));
+    }
+
+    private int lonIndex(double longitude) {
+        int index = (int) Math.floor((longitude + 180.0) / lonStep);
+        return Math.max(0, Math.min((1 << lonBits) - 1, index));
+    }
+}
@@ -1,19 +1,24 @@
 package com.hirelink.service;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 
 /**
  * Service for location-based calculations and utilities.
  * Uses Haversine formula for calculating distances between coordinates.
  */
 @Service
+@RequiredArgsConstructor
 public class LocationService {
     
     private static final double EARTH_RADIUS_KM = 6371.0;
     private static final double KM_PER_DEGREE_LAT = 111.0; // Approximate km per degree of latitude
     
+    private final PincodeDirectory pincodeDirectory;
+    
     /**
      * Calculate the distance between two coordinates using the Haversine formula.
      * 
@@ -36,6 +41,67 @@ public class LocationService {
         return EARTH_RADIUS_KM * c;
     }
     
+    /**
+     * Batch variant of {@link #calculateDistance(double, double, double, double)} for one
+     * origin and many points stored in primitive columns. Origin trigonometry is computed
+     * once and the loop does not allocate, so callers can reuse the output buffer.
+     * 
+     * @param originLat Origin latitude
+     * @param originLon Origin longitude
+     * @param latitudes Point latitudes
+     * @param longitudes Point longitudes
+     * @param count Number of points to process from the start of the columns
+     * @param distancesOut Receives the distance in kilometers for each point
+     */
+    public void calculateDistances(double originLat, double originLon,
+                                   double[] latitudes, double[] longitudes, int count, double[] distancesOut) {
+        double lat1 = Math.toRadians(originLat);
+        double lon1 = Math.toRadians(originLon);
+        double cosLat1 = Math.cos(lat1);
+        
+        for (int i = 0; i < count; i++) {
+            double a = haversineTerm(lat1, lon1, cosLat1, latitudes[i], longitudes[i]);
+            distancesOut[i] = 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+        }
+    }
+    
+    /**
+     * Batch radius test: sets bit {@code i} of {@code maskOut} when point {@code i} lies
+     * within the radius. Compares the Haversine term against a precomputed threshold,
+     * so no square root or inverse trig is needed per point.
+     * 
+     * @param maskOut Bitmask with room for {@code count} bits; it is cleared first
+     * @return Number of points within the radius
+     */
+    public int markWithinRadius(double originLat, double originLon,
+                                double[] latitudes, double[] longitudes, int count,
+                                double radiusKm, long[] maskOut) {
+        double lat1 = Math.toRadians(originLat);
+        double lon1 = Math.toRadians(originLon);
+        double cosLat1 = Math.cos(lat1);
+        double halfAngle = radiusKm / (2 * EARTH_RADIUS_KM);
+        double threshold = halfAngle >= Math.PI / 2 ? 1.0 : Math.sin(halfAngle) * Math.sin(halfAngle);
+        
+        Arrays.fill(maskOut, 0, (count + 63) >>> 6, 0L);
+        int matches = 0;
+        for (int i = 0; i < count; i++) {
+            if (haversineTerm(lat1, lon1, cosLat1, latitudes[i], longitudes[i]) <= threshold) {
+                maskOut[i >>> 6] |= 1L << i;
+                matches++;
+            }
+        }
+        return matches;
+    }
+    
+    private static double haversineTerm(double lat1Rad, double lon1Rad, double cosLat1,
+                                        double lat2Deg, double lon2Deg) {
+        double lat2 = Math.toRadians(lat2Deg);
+        double sinDLat = Math.sin((lat2 - lat1Rad) / 2);
+        double sinDLon = Math.sin((Math.toRadians(lon2Deg) - lon1Rad) / 2);
+        double a = sinDLat * sinDLat + cosLat1 * Math.cos(lat2) * sinDLon * sinDLon;
+        return Math.min(1.0, a);
+    }
+    
     /**
      * Calculate distance using BigDecimal coordinates.
      */
@@ -117,6 +183,40 @@ public class LocationService {
         );
     }
     
+    /**
+     * Look up the centroid of a pincode without allocating.
+     * 
+     * @param pincode 6-digit pincode
+     * @return Slot to read with the {@code pincode*} accessors, or {@link PincodeDirectory#NOT_FOUND}
+     */
+    public int findPincode(CharSequence pincode) {
+        return pincodeDirectory.find(pincode);
+    }
+    
+    public double pincodeLatitude(int slot) {
+        return pincodeDirectory.latitude(slot);
+    }
+    
+    public double pincodeLongitude(int slot) {
+        return pincodeDirectory.longitude(slot);
+    }
+    
+    public String pincodeCity(int slot) {
+        return pincodeDirectory.city(slot);
+    }
+    
+    public String pincodeState(int slot) {
+        return pincodeDirectory.state(slot);
+    }
+    
+    /**
+     * Format a point as WKT in long-lat axis order, for native spatial queries
+     * that pass {@code 'axis-order=long-lat'} to ST_GeomFromText.
+     */
+    public String toWktPoint(double lat, double lon) {
+        return "POINT(" + lon + " " + lat + ")";
+    }
+    
     /**
      * Record class representing a geographic bounding box.
      */
@@ -153,5 +253,17 @@ public class LocationService {
         public BigDecimal maxLonBD() {
             return BigDecimal.valueOf(maxLon);
         }
+        
+        /**
+         * Get the box as a closed WKT polygon in long-lat axis order.
+         */
+        public String toWktPolygon() {
+            return "POLYGON((" +
+                minLon + " " + minLat + "," +
+                maxLon + " " + minLat + "," +
+                maxLon + " " + maxLat + "," +
+                minLon + " " + maxLat + "," +
+                minLon + " " + minLat + "))";
+        }
     }
 }
@@ -0,0 +1,110 @@
+package com.hirelink.service;
+
+import com.hirelink.dto.MapDTO;
+import com.hirelink.event.BookingEvent;
+import com.hirelink.repository.ServiceProviderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Map clusters for provider base locations and booking service locations.
+ *
+ * Providers are fed by {@link ProviderService} whenever a geo index region is
+ * refreshed or a provider changes, so the provider clusters only cover the
+ * regions the geo index holds. Viewports reaching beyond them (index disabled
+ * or not loaded yet, regions evicted or served by other nodes) are clustered
+ * by a GROUP BY in MySQL on a degree grid of the same cell width. Bookings are
+ * fed by booking lifecycle events (startup replay plus newly created bookings).
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+public class MapClusterService {
+
+    public static final String PROVIDER_LAYER = "providers";
+    public static final String BOOKING_LAYER = "bookings";
+
+    private final ProviderGeoIndex providerGeoIndex;
+    private final ServiceProviderRepository providerRepository;
+
+    private final PointClusterIndex providerClusters = new PointClusterIndex();
+    private final PointClusterIndex bookingClusters = new PointClusterIndex();
+
+    @Value("${hirelink.geo.index.enabled:true}")
+    private boolean geoIndexEnabled;
+
+    public void upsertProvider(Long providerId, double latitude, double longitude) {
+        providerClusters.upsert(providerId, latitude, longitude);
+    }
+
+    public void removeProvider(Long providerId) {
+        providerClusters.remove(providerId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        if (event.getLatitude() == null || event.getLongitude() == null) {
+            return;
+        }
+        // Status changes do not move a booking, so only new rows touch the clusters
+        if (event.getType() == BookingEvent.Type.SNAPSHOT || event.getType() == BookingEvent.Type.CREATED) {
+            bookingClusters.upsert(event.getBookingId(),
+                    event.getLatitude().doubleValue(), event.getLongitude().doubleValue());
+        }
+    }
+
+    public MapDTO.ClusterResponse getProviderClusters(double minLat, double maxLat, double minLon, double maxLon,
+                                                      int zoom) {
+        if (geoIndexEnabled && providerGeoIndex.covers(new LocationService.BoundingBox(minLat, maxLat, minLon, maxLon))) {
+            return toResponse(PROVIDER_LAYER, providerClusters, minLat, maxLat, minLon, maxLon, zoom);
+        }
+        return providerClustersFromDatabase(minLat, maxLat, minLon, maxLon, zoom);
+    }
+
+    public MapDTO.ClusterResponse getBookingClusters(double minLat, double maxLat, double minLon, double maxLon,
+                                                     int zoom) {
+        return toResponse(BOOKING_LAYER, bookingClusters, minLat, maxLat, minLon, maxLon, zoom);
+    }
+
+    /**
+     * Cells as wide as the index's at the same zoom (a quarter tile), but square
+     * in degrees since MySQL has no Mercator projection to group by.
+     */
+    private MapDTO.ClusterResponse providerClustersFromDatabase(double minLat, double maxLat, double minLon,
+                                                                double maxLon, int zoom) {
+        int z = Math.max(PointClusterIndex.MIN_ZOOM, Math.min(PointClusterIndex.MAX_ZOOM, zoom));
+        double step = 360.0 / (1L << (z + PointClusterIndex.CELL_ZOOM_OFFSET));
+        List<MapDTO.MapCluster> clusters = new ArrayList<>();
+        for (Object[] row : providerRepository.countProvidersInAreaByCell(BigDecimal.valueOf(minLat),
+                BigDecimal.valueOf(maxLat), BigDecimal.valueOf(minLon), BigDecimal.valueOf(maxLon), step)) {
+            int count = ((Number) row[0]).intValue();
+            clusters.add(MapDTO.MapCluster.builder()
+                    .latitude(((Number) row[1]).doubleValue())
+                    .longitude(((Number) row[2]).doubleValue())
+                    .count(count)
+                    .pointId(count == 1 ? ((Number) row[3]).longValue() : null)
+                    .build());
+        }
+        return toResponse(PROVIDER_LAYER, z, clusters);
+    }
+
+    private static MapDTO.ClusterResponse toResponse(String layer, PointClusterIndex index, double minLat, double maxLat,
+                                              double minLon, double maxLon, int zoom) {
+        int z = Math.max(PointClusterIndex.MIN_ZOOM, Math.min(PointClusterIndex.MAX_ZOOM, zoom));
+        return toResponse(layer, z, index.getClusters(minLat, maxLat, minLon, maxLon, z));
+    }
+
+    private static MapDTO.ClusterResponse toResponse(String layer, int z, List<MapDTO.MapCluster> clusters) {
+        long totalCount = clusters.stream().mapToLong(MapDTO.MapCluster::getCount).sum();
+        return MapDTO.ClusterResponse.builder()
+                .layer(layer)
+                .zoom(z)
+                .totalCount(totalCount)
+                .clusters(clusters)
+                .build();
+    }
+}
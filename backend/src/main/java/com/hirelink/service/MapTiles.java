@@ -0,0 +1,56 @@
+package com.hirelink.service;
+
+/**
+ * Web Mercator ("slippy map") tile arithmetic shared by the map aggregation
+ * services, so server-side tiles line up with the tiles the frontend map draws.
+ */
+public final class MapTiles {
+
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private MapTiles() {
+    }
+
+    public static int tileX(double longitude, int zoom) {
+        int n = 1 << zoom;
+        int x = (int) Math.floor((longitude + 180.0) / 360.0 * n);
+        return Math.max(0, Math.min(n - 1, x));
+    }
+
+    public static int tileY(double latitude, int zoom) {
+        int n = 1 << zoom;
+        double lat = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        int y = (int) Math.floor((1.0 - Math.log(Math.tan(lat) + 1.0 / Math.cos(lat)) / Math.PI) / 2.0 * n);
+        return Math.max(0, Math.min(n - 1, y));
+    }
+
+    /**
+     * Western edge of tile column {@code x}.
+     */
+    public static double tileLongitude(int x, int zoom) {
+        return x / (double) (1 << zoom) * 360.0 - 180.0;
+    }
+
+    /**
+     * Northern edge of tile row {@code y}.
+     */
+    public static double tileLatitude(int y, int zoom) {
+        double n = Math.PI - 2.0 * Math.PI * y / (1 << zoom);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    /**
+     * Pack zoom/x/y into one long map key (x and y fit in 28 bits up to zoom 28).
+     */
+    public static long tileKey(int zoom, int x, int y) {
+        return ((long) zoom << 56) | ((long) x << 28) | y;
+    }
+
+    public static int keyX(long key) {
+        return (int) ((key >>> 28) & 0xFFFFFFF);
+    }
+
+    public static int keyY(long key) {
+        return (int) (key & 0xFFFFFFF);
+    }
+}
@@ -0,0 +1,236 @@
+package com.hirelink.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hirelink.entity.OutboxEvent;
+import com.hirelink.event.BookingEvent;
+import com.hirelink.event.ReviewAddedEvent;
+import com.hirelink.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the events recorded by {@link BookingOutbox} to every
+ * {@link OutboxSubscriber}.
+ *
+ * Pending events are claimed oldest first in batches with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}; each batch is handed to the
+ * subscribers and marked delivered in the transaction holding the claim.
+ * Nodes sharing the database therefore never deliver the same event twice,
+ * while a crash or a failing subscriber leaves the whole batch pending and it
+ * is delivered again (at-least-once). A failed batch is retried one event at
+ * a time to find the failing event, which records the error and is retried
+ * on later polls until it has failed {@code max-attempts} times; after that
+ * it stays in the table for inspection. Delivered events are deleted after
+ * the retention period.
+ *
+ * Draining runs on a single thread per node with room for one queued
+ * wake-up; a commit wakes it, and a poll covers events written by other
+ * nodes or whose wake-up was lost.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSubscriber> subscribers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retentionHours;
+    private final Counter delivered;
+    private final Counter failures;
+
+    // A wake-up arriving while one drain runs and another is queued is covered by the queued one
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), runnable -> {
+                Thread thread = new Thread(runnable, "outbox-dispatch");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<OutboxSubscriber> subscribers,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${hirelink.outbox.batch-size:200}") int batchSize,
+                            @Value("${hirelink.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${hirelink.outbox.retention-hours:72}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retentionHours = retentionHours;
+        this.delivered = Counter.builder("hirelink.outbox.delivered")
+                .description("Outbox events handed to all subscribers")
+                .register(meterRegistry);
+        this.failures = Counter.builder("hirelink.outbox.failures")
+                .description("Failed outbox event deliveries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drain the outbox soon, on the dispatch thread.
+     */
+    public void wake() {
+        executor.execute(this::drain);
+    }
+
+    @Scheduled(initialDelayString = "${hirelink.outbox.poll-interval-ms:1000}",
+               fixedDelayString = "${hirelink.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        wake();
+    }
+
+    void drain() {
+        try {
+            while (true) {
+                List<Long> claimed = new ArrayList<>();
+                int size;
+                try {
+                    size = transactionTemplate.execute(status -> {
+                        List<OutboxEvent> batch = outboxEventRepository.claimPending(
+                                maxAttempts, PageRequest.of(0, batchSize));
+                        batch.forEach(event -> claimed.add(event.getEventId()));
+                        deliver(batch);
+                        return batch.size();
+                    });
+                } catch (RuntimeException e) {
+                    if (claimed.isEmpty()) {
+                        throw e;
+                    }
+                    log.debug("Outbox batch of {} failed, delivering one by one: {}", claimed.size(), e.getMessage());
+                    if (!deliverEach(claimed)) {
+                        // Failed events wait for the next poll rather than being retried right away
+                        return;
+                    }
+                    continue;
+                }
+                delivered.increment(size);
+                if (size < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox drain failed, retrying next poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deliver the events in a transaction each, claiming them again since the
+     * failed batch released its locks; events delivered meanwhile by another
+     * node are skipped.
+     *
+     * @return false if any event could not be delivered
+     */
+    private boolean deliverEach(List<Long> eventIds) {
+        boolean allDelivered = true;
+        for (Long eventId : eventIds) {
+            try {
+                Boolean done = transactionTemplate.execute(status -> outboxEventRepository.claimPending(eventId)
+                        .map(event -> {
+                            deliver(List.of(event));
+                            return true;
+                        })
+                        .orElse(false));
+                if (Boolean.TRUE.equals(done)) {
+                    delivered.increment();
+                }
+            } catch (RuntimeException e) {
+                fail(eventId, e);
+                allDelivered = false;
+            }
+        }
+        return allDelivered;
+    }
+
+    /**
+     * Hand claimed events to the subscribers and mark them delivered, in the
+     * caller's transaction.
+     */
+    private void deliver(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(events.size());
+        List<BookingEvent> bookingEvents = new ArrayList<>();
+        List<ReviewAddedEvent> reviews = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            ids.add(event.getEventId());
+            switch (event.getEventType()) {
+                case BOOKING_CREATED, BOOKING_STATUS_CHANGED -> bookingEvents.add(read(event, BookingEvent.class));
+                case REVIEW_ADDED -> reviews.add(read(event, ReviewAddedEvent.class));
+            }
+        }
+
+        List<BookingEvent> bookingBatch = List.copyOf(bookingEvents);
+        List<ReviewAddedEvent> reviewBatch = List.copyOf(reviews);
+        for (OutboxSubscriber subscriber : subscribers) {
+            if (!bookingBatch.isEmpty()) {
+                subscriber.onBookingEvents(bookingBatch);
+            }
+            if (!reviewBatch.isEmpty()) {
+                subscriber.onReviewsAdded(reviewBatch);
+            }
+        }
+        outboxEventRepository.markProcessed(ids, LocalDateTime.now());
+    }
+
+    private <T> T read(OutboxEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload of outbox event " + event.getEventId(), e);
+        }
+    }
+
+    private void fail(Long eventId, RuntimeException e) {
+        failures.increment();
+        String error = String.valueOf(e.getMessage());
+        String message = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.recordFailure(eventId, message));
+
+        int attempts = outboxEventRepository.findById(eventId).map(OutboxEvent::getAttempts).orElse(0);
+        if (attempts >= maxAttempts) {
+            log.error("Outbox event {} failed {} times and will not be retried: {}", eventId, attempts, message);
+        } else {
+            log.warn("Outbox event {} failed, attempt {}: {}", eventId, attempts, message);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${hirelink.outbox.purge-interval-ms:3600000}",
+               fixedDelayString = "${hirelink.outbox.purge-interval-ms:3600000}")
+    public void purgeDelivered() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(before));
+        if (deleted != null && deleted > 0) {
+            log.debug("Deleted {} delivered outbox events", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,23 @@
+package com.hirelink.service;
+
+import com.hirelink.event.BookingEvent;
+import com.hirelink.event.ReviewAddedEvent;
+
+import java.util.List;
+
+/**
+ * Receives the booking events recorded in the outbox, in batches and in the
+ * order they were recorded. Both methods are called inside the dispatch
+ * transaction: database writes made here commit together with marking the
+ * events delivered, so they happen exactly once. A batch that fails is rolled
+ * back and delivered again, possibly one event at a time, so anything done
+ * outside that transaction must be idempotent.
+ */
+public interface OutboxSubscriber {
+
+    default void onBookingEvents(List<BookingEvent> events) {
+    }
+
+    default void onReviewsAdded(List<ReviewAddedEvent> events) {
+    }
+}
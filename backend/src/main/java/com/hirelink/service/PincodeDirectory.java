@@ -0,0 +1,278 @@
+package com.hirelink.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Pincode centroid table (pincode -> latitude, longitude, city, state).
+ *
+ * The CSV dataset ({@code pincode,latitude,longitude,city,state}, one row per
+ * post office is fine - rows of the same pincode are averaged) is compiled once
+ * into a compact binary file and memory-mapped read-only:
+ *
+ * <pre>
+ * header   int magic, int count, int nameCount, int reserved
+ * columns  int[count] pincodes (sorted), float[count] latitudes,
+ *          float[count] longitudes, int[count] cityIds, int[count] stateIds
+ * names    nameCount x (short length, UTF-8 bytes)
+ * </pre>
+ *
+ * Lookups binary-search the mapped key column and read the other columns at the
+ * same slot, so they never allocate; the few thousand distinct city and state
+ * names are decoded once onto the heap.
+ */
+@Slf4j
+@Component
+public class PincodeDirectory {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final int MAGIC = 0x50494E31; // "PIN1"
+    private static final int HEADER_BYTES = 16;
+
+    @Value("${hirelink.pincode.dataset:}")
+    private String datasetPath;
+
+    @Value("${hirelink.pincode.index-file:${java.io.tmpdir}/hirelink-pincodes.idx}")
+    private String indexPath;
+
+    private volatile Table table = Table.EMPTY;
+
+    @PostConstruct
+    public void load() {
+        if (datasetPath == null || datasetPath.isBlank()) {
+            log.info("No pincode dataset configured, pincode lookups are disabled");
+            return;
+        }
+        Path dataset = Path.of(datasetPath);
+        Path index = Path.of(indexPath);
+        try {
+            if (!Files.exists(dataset)) {
+                log.warn("Pincode dataset {} not found, pincode lookups are disabled", dataset.toAbsolutePath());
+                return;
+            }
+            if (!Files.exists(index)
+                    || Files.getLastModifiedTime(index).compareTo(Files.getLastModifiedTime(dataset)) < 0) {
+                compile(dataset, index);
+            }
+            table = map(index);
+            log.info("Pincode directory mapped with {} pincodes from {}", table.count(), index);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load pincode directory from {}: {}", dataset, e.getMessage());
+        }
+    }
+
+    public int size() {
+        return table.count();
+    }
+
+    /**
+     * Slot of a 6-digit pincode, or {@link #NOT_FOUND}. The slot is only valid for
+     * the accessor methods of this directory.
+     */
+    public int find(CharSequence pincode) {
+        int key = parse(pincode);
+        if (key < 0) {
+            return NOT_FOUND;
+        }
+        Table current = table;
+        int low = 0;
+        int high = current.count() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = current.pincodes().get(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    public double latitude(int slot) {
+        return table.latitudes().get(slot);
+    }
+
+    public double longitude(int slot) {
+        return table.longitudes().get(slot);
+    }
+
+    public String city(int slot) {
+        Table current = table;
+        return current.names()[current.cityIds().get(slot)];
+    }
+
+    public String state(int slot) {
+        Table current = table;
+        return current.names()[current.stateIds().get(slot)];
+    }
+
+    private static int parse(CharSequence pincode) {
+        if (pincode == null || pincode.length() != 6) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < 6; i++) {
+            char c = pincode.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private void compile(Path dataset, Path index) throws IOException {
+        TreeMap<Integer, Centroid> centroids = new TreeMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(dataset, StandardCharsets.UTF_8)) {
+            String line = reader.readLine(); // header
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String[] fields = line.split(",", -1);
+                int key = fields.length >= 5 ? parse(fields[0].trim()) : -1;
+                if (key < 0) {
+                    log.debug("Skipping pincode dataset line {}", lineNumber);
+                    continue;
+                }
+                try {
+                    double latitude = Double.parseDouble(fields[1].trim());
+                    double longitude = Double.parseDouble(fields[2].trim());
+                    centroids.computeIfAbsent(key, k -> new Centroid(fields[3].trim(), fields[4].trim()))
+                            .add(latitude, longitude);
+                } catch (NumberFormatException e) {
+                    log.debug("Skipping pincode dataset line {}: {}", lineNumber, e.getMessage());
+                }
+            }
+        }
+
+        int count = centroids.size();
+        List<String> names = new ArrayList<>();
+        Map<String, Integer> nameIds = new HashMap<>();
+        int namesBytes = 0;
+        for (Centroid centroid : centroids.values()) {
+            for (String name : new String[]{centroid.city, centroid.state}) {
+                if (!nameIds.containsKey(name)) {
+                    nameIds.put(name, names.size());
+                    names.add(name);
+                    namesBytes += 2 + name.getBytes(StandardCharsets.UTF_8).length;
+                }
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + count * 20 + namesBytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(count).putInt(names.size()).putInt(0);
+        centroids.keySet().forEach(buffer::putInt);
+        centroids.values().forEach(c -> buffer.putFloat((float) (c.latitudeSum / c.rows)));
+        centroids.values().forEach(c -> buffer.putFloat((float) (c.longitudeSum / c.rows)));
+        centroids.values().forEach(c -> buffer.putInt(nameIds.get(c.city)));
+        centroids.values().forEach(c -> buffer.putInt(nameIds.get(c.state)));
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+        buffer.flip();
+
+        // Write next to the target and swap in, so a running reader never sees a partial file
+        Path parent = index.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "pincodes", ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Compiled {} pincodes from {} into {}", count, dataset, index);
+    }
+
+    private static Table map(Path index) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (mapped.getInt(0) != MAGIC) {
+            throw new IOException("Not a pincode index file: " + index);
+        }
+        int count = mapped.getInt(4);
+        int nameCount = mapped.getInt(8);
+
+        int offset = HEADER_BYTES;
+        IntBuffer pincodes = slice(mapped, offset, count).asIntBuffer();
+        offset += count * 4;
+        FloatBuffer latitudes = slice(mapped, offset, count).asFloatBuffer();
+        offset += count * 4;
+        FloatBuffer longitudes = slice(mapped, offset, count).asFloatBuffer();
+        offset += count * 4;
+        IntBuffer cityIds = slice(mapped, offset, count).asIntBuffer();
+        offset += count * 4;
+        IntBuffer stateIds = slice(mapped, offset, count).asIntBuffer();
+        offset += count * 4;
+
+        String[] names = new String[nameCount];
+        for (int i = 0; i < nameCount; i++) {
+            int length = mapped.getShort(offset) & 0xFFFF;
+            byte[] bytes = new byte[length];
+            mapped.get(offset + 2, bytes);
+            names[i] = bytes.length == 0 ? "" : new String(bytes, StandardCharsets.UTF_8);
+            offset += 2 + length;
+        }
+        return new Table(count, pincodes, latitudes, longitudes, cityIds, stateIds, names);
+    }
+
+    private static ByteBuffer slice(MappedByteBuffer mapped, int offset, int count) {
+        return mapped.slice(offset, count * 4).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static final class Centroid {
+        private final String city;
+        private final String state;
+        private double latitudeSum;
+        private double longitudeSum;
+        private int rows;
+
+        Centroid(String city, String state) {
+            this.city = city;
+            this.state = state;
+        }
+
+        void add(double latitude, double longitude) {
+            latitudeSum += latitude;
+            longitudeSum += longitude;
+            rows++;
+        }
+    }
+
+    private record Table(int count, IntBuffer pincodes, FloatBuffer latitudes, FloatBuffer longitudes,
+                         IntBuffer cityIds, IntBuffer stateIds, String[] names) {
+
+        static final Table EMPTY = new Table(0, IntBuffer.allocate(0), FloatBuffer.allocate(0),
+                FloatBuffer.allocate(0), IntBuffer.allocate(0), IntBuffer.allocate(0), new String[0]);
+    }
+}
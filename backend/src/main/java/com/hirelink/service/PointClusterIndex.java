@@ -0,0 +1,161 @@
+package com.hirelink.service;
+
+import com.hirelink.dto.MapDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed hierarchical clustering of map points, one grid level per zoom.
+ *
+ * At zoom {@code z} points are grouped into cells of one quarter tile (64 px on
+ * a 256 px tile), i.e. the tile grid of zoom {@code z + 2}, which gives the same
+ * visual density as supercluster's default radius. Each level stores only count,
+ * coordinate sums (for the centroid) and id sum per occupied cell, so a viewport
+ * query reads the visible cells and nothing else. A point is added to or removed
+ * from one cell per level, which keeps updates incremental.
+ *
+ * Reads are lock-free; writers are serialized and replace cells with new
+ * immutable values.
+ */
+public class PointClusterIndex {
+
+    public static final int MIN_ZOOM = 2;
+    public static final int MAX_ZOOM = 16;
+
+    static final int CELL_ZOOM_OFFSET = 2; // 4 x 4 cluster cells per tile
+
+    private final Map<Long, Point> points = new ConcurrentHashMap<>();
+    private final List<Map<Long, Cluster>> levels = new ArrayList<>();
+
+    public PointClusterIndex() {
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            levels.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Add a point, or move it if it is already indexed at another location.
+     */
+    public synchronized void upsert(Long id, double latitude, double longitude) {
+        Point point = new Point(latitude, longitude);
+        Point previous = points.put(id, point);
+        if (point.equals(previous)) {
+            return;
+        }
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            Map<Long, Cluster> level = levels.get(zoom - MIN_ZOOM);
+            if (previous != null) {
+                level.computeIfPresent(cellKeyOf(previous, zoom), (k, cluster) -> cluster.minus(id, previous));
+            }
+            level.merge(cellKeyOf(point, zoom), Cluster.of(id, point), Cluster::plus);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        Point previous = points.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            levels.get(zoom - MIN_ZOOM)
+                    .computeIfPresent(cellKeyOf(previous, zoom), (k, cluster) -> cluster.minus(id, previous));
+        }
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Clusters whose cell intersects the bounding box at the given zoom level
+     * (clamped to the supported range). Single-point clusters carry the point id
+     * and its exact location.
+     */
+    public List<MapDTO.MapCluster> getClusters(double minLat, double maxLat, double minLon, double maxLon, int zoom) {
+        int z = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+        int cellZoom = z + CELL_ZOOM_OFFSET;
+        Map<Long, Cluster> level = levels.get(z - MIN_ZOOM);
+
+        int minX = MapTiles.tileX(minLon, cellZoom);
+        int maxX = MapTiles.tileX(maxLon, cellZoom);
+        int minY = MapTiles.tileY(maxLat, cellZoom); // rows grow southwards
+        int maxY = MapTiles.tileY(minLat, cellZoom);
+
+        List<MapDTO.MapCluster> clusters = new ArrayList<>();
+        long span = (long) (maxX - minX + 1) * (maxY - minY + 1);
+        if (span <= level.size()) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    Cluster cluster = level.get(MapTiles.tileKey(cellZoom, x, y));
+                    if (cluster != null) {
+                        clusters.add(toDto(cluster));
+                    }
+                }
+            }
+        } else {
+            // Sparse level: cheaper to scan the occupied cells than the box
+            level.forEach((key, cluster) -> {
+                int x = MapTiles.keyX(key);
+                int y = MapTiles.keyY(key);
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    clusters.add(toDto(cluster));
+                }
+            });
+        }
+        return clusters;
+    }
+
+    private MapDTO.MapCluster toDto(Cluster cluster) {
+        if (cluster.count() == 1) {
+            // With a single member the id sum is that member's id
+            Long id = cluster.idSum();
+            Point point = points.get(id);
+            if (point != null) {
+                return MapDTO.MapCluster.builder()
+                        .latitude(point.latitude())
+                        .longitude(point.longitude())
+                        .count(1)
+                        .pointId(id)
+                        .build();
+            }
+        }
+        return MapDTO.MapCluster.builder()
+                .latitude(cluster.sumLat() / cluster.count())
+                .longitude(cluster.sumLon() / cluster.count())
+                .count(cluster.count())
+                .build();
+    }
+
+    private static long cellKeyOf(Point point, int zoom) {
+        int cellZoom = zoom + CELL_ZOOM_OFFSET;
+        return MapTiles.tileKey(cellZoom,
+                MapTiles.tileX(point.longitude(), cellZoom), MapTiles.tileY(point.latitude(), cellZoom));
+    }
+
+    public record Point(double latitude, double longitude) {
+    }
+
+    /**
+     * Immutable aggregate of one cell.
+     */
+    private record Cluster(int count, double sumLat, double sumLon, long idSum) {
+
+        static Cluster of(Long id, Point point) {
+            return new Cluster(1, point.latitude(), point.longitude(), id);
+        }
+
+        Cluster plus(Cluster other) {
+            return new Cluster(count + other.count, sumLat + other.sumLat, sumLon + other.sumLon, idSum + other.idSum);
+        }
+
+        Cluster minus(Long id, Point point) {
+            if (count <= 1) {
+                return null;
+            }
+            return new Cluster(count - 1, sumLat - point.latitude(), sumLon - point.longitude(), idSum - id);
+        }
+    }
+}
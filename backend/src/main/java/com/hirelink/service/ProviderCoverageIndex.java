@@ -0,0 +1,134 @@
+package com.hirelink.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse lookup over provider service areas: for a customer location, which
+ * providers' own service disk (base location + serviceRadiusKm) contains it.
+ *
+ * Every provider is registered in each grid cell its service disk overlaps, so a
+ * lookup reads a single cell and only does an exact distance check on that
+ * cell's coverage list. Same concurrency model as {@link ProviderGeoIndex}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderCoverageIndex {
+
+    private static final double CELL_SIZE_DEG = 0.1; // ~11 km of latitude per cell
+    // Rows written before the request validation could hold any radius; one
+    // provider must not be registered in an unbounded number of cells
+    static final int MAX_SERVICE_RADIUS_KM = 100;
+
+    private final LocationService locationService;
+
+    private final Map<Long, ProviderGeoIndex.Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, ProviderGeoIndex.Entry[]> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Insert or replace a provider; its old coverage cells are released first so
+     * location and radius changes are reflected incrementally.
+     */
+    public synchronized void upsert(ProviderGeoIndex.Entry entry) {
+        ProviderGeoIndex.Entry previous = entries.put(entry.providerId(), entry);
+        if (previous != null) {
+            removeFromCells(previous);
+        }
+        for (long key : coveredCells(entry)) {
+            cells.compute(key, (k, cell) -> {
+                if (cell == null) {
+                    return new ProviderGeoIndex.Entry[]{entry};
+                }
+                ProviderGeoIndex.Entry[] grown = Arrays.copyOf(cell, cell.length + 1);
+                grown[cell.length] = entry;
+                return grown;
+            });
+        }
+    }
+
+    public synchronized void remove(Long providerId) {
+        ProviderGeoIndex.Entry previous = entries.remove(providerId);
+        if (previous != null) {
+            removeFromCells(previous);
+        }
+    }
+
+    /**
+     * Find providers whose service area contains the given point, nearest first.
+     *
+     * @param categoryId optional category filter, null for all categories
+     * @param limit maximum number of hits, or null / non-positive for no limit
+     */
+    public List<ProviderGeoIndex.Hit> findCovering(double latitude, double longitude, Long categoryId, Integer limit) {
+        ProviderGeoIndex.Entry[] cell = cells.get(cellKey(cellOf(latitude), cellOf(longitude)));
+        if (cell == null) {
+            return List.of();
+        }
+
+        List<ProviderGeoIndex.Hit> hits = new ArrayList<>();
+        for (ProviderGeoIndex.Entry entry : cell) {
+            if (categoryId != null && !entry.categoryIds().contains(categoryId)) {
+                continue;
+            }
+            double distance = locationService.calculateDistance(
+                    latitude, longitude, entry.latitude(), entry.longitude());
+            if (distance <= radiusOf(entry)) {
+                hits.add(new ProviderGeoIndex.Hit(entry, distance));
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(ProviderGeoIndex.Hit::distanceKm));
+        if (limit != null && limit > 0 && hits.size() > limit) {
+            return hits.subList(0, limit);
+        }
+        return hits;
+    }
+
+    private void removeFromCells(ProviderGeoIndex.Entry entry) {
+        for (long key : coveredCells(entry)) {
+            cells.computeIfPresent(key, (k, cell) -> {
+                ProviderGeoIndex.Entry[] shrunk = Arrays.stream(cell)
+                        .filter(e -> !e.providerId().equals(entry.providerId()))
+                        .toArray(ProviderGeoIndex.Entry[]::new);
+                return shrunk.length == 0 ? null : shrunk;
+            });
+        }
+    }
+
+    private long[] coveredCells(ProviderGeoIndex.Entry entry) {
+        LocationService.BoundingBox box = locationService.getBoundingBox(
+                entry.latitude(), entry.longitude(), radiusOf(entry));
+        int minLatCell = cellOf(box.minLat());
+        int maxLatCell = cellOf(box.maxLat());
+        int minLonCell = cellOf(box.minLon());
+        int maxLonCell = cellOf(box.maxLon());
+
+        long[] keys = new long[(maxLatCell - minLatCell + 1) * (maxLonCell - minLonCell + 1)];
+        int i = 0;
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                keys[i++] = cellKey(latCell, lonCell);
+            }
+        }
+        return keys;
+    }
+
+    private static int radiusOf(ProviderGeoIndex.Entry entry) {
+        return Math.max(0, Math.min(MAX_SERVICE_RADIUS_KM, entry.serviceRadiusKm()));
+    }
+
+    private static int cellOf(double degrees) {
+        return (int) Math.floor(degrees / CELL_SIZE_DEG);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+}
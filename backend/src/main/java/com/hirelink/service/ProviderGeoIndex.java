@@ -0,0 +1,325 @@
+package com.hirelink.service;
+
+import com.hirelink.dto.ProviderDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resident grid index over the base locations of available providers.
+ * Coordinates are bucketed into fixed-size lat/lon cells so a nearby search only
+ * visits the cells overlapping the search radius instead of querying MySQL.
+ *
+ * Each cell keeps its coordinates in primitive columns so distances for a whole
+ * cell are computed with {@link LocationService#calculateDistances} in one pass.
+ * Reads are lock-free; writers are serialized and publish copy-on-write cells.
+ *
+ * Contents are partitioned by {@link GeoRegions}: each held region is loaded and
+ * refreshed on its own, and a search is only answered here when every region it
+ * touches is held (see {@link #covers}).
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderGeoIndex {
+
+    private static final double CELL_SIZE_DEG = 0.05; // ~5.5 km of latitude per cell
+
+    private final LocationService locationService;
+    private final GeoRegions geoRegions;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> regions = new ConcurrentHashMap<>();
+    private final Set<String> evictedRegions = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready = false;
+
+    /**
+     * Replace the contents of one region, e.g. on startup or periodic refresh.
+     * Unchanged entries are left in place.
+     *
+     * @return entries that were added or changed, and ids that left the region
+     */
+    public synchronized RegionDiff replaceRegion(String region, Collection<Entry> regionEntries) {
+        Set<Long> previousIds = regions.getOrDefault(region, Set.of());
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        List<Entry> upserted = new ArrayList<>();
+        for (Entry entry : regionEntries) {
+            ids.add(entry.providerId());
+            Entry previous = entries.get(entry.providerId());
+            if (!entry.equals(previous)) {
+                put(entry);
+                upserted.add(entry);
+            }
+        }
+        regions.put(region, ids);
+        evictedRegions.remove(region);
+
+        Set<Long> removed = new HashSet<>();
+        for (Long id : previousIds) {
+            if (!ids.contains(id)) {
+                delete(id);
+                removed.add(id);
+            }
+        }
+        return new RegionDiff(upserted, removed);
+    }
+
+    /**
+     * Stop holding a region that grew past its memory budget; searches touching
+     * it go to MySQL until a later refresh finds it within budget again.
+     *
+     * @return ids that were removed
+     */
+    public synchronized Set<Long> evictRegion(String region) {
+        evictedRegions.add(region);
+        Set<Long> ids = regions.remove(region);
+        if (ids == null) {
+            return Set.of();
+        }
+        ids.forEach(this::delete);
+        return ids;
+    }
+
+    /**
+     * Called once the first full load has finished; until then nothing is covered.
+     */
+    public void markReady() {
+        ready = true;
+    }
+
+    /**
+     * Insert or replace a provider, moving it between cells if its location changed.
+     * Providers located in a region this index does not hold are only removed.
+     *
+     * @return whether the provider is now indexed
+     */
+    public synchronized boolean upsert(Entry entry) {
+        String region = geoRegions.regionOf(entry.latitude(), entry.longitude());
+        if (!geoRegions.serves(region) || evictedRegions.contains(region)) {
+            delete(entry.providerId());
+            return false;
+        }
+        put(entry);
+        regions.computeIfAbsent(region, r -> ConcurrentHashMap.newKeySet()).add(entry.providerId());
+        return true;
+    }
+
+    public synchronized void remove(Long providerId) {
+        delete(providerId);
+    }
+
+    public Entry get(Long providerId) {
+        return entries.get(providerId);
+    }
+
+    /**
+     * Whether every region the box touches is served by this node and within
+     * budget, so a search over it is complete.
+     */
+    public boolean covers(LocationService.BoundingBox box) {
+        if (!ready) {
+            return false;
+        }
+        List<String> touched = geoRegions.regionsOverlapping(box);
+        if (touched == null) {
+            return false;
+        }
+        for (String region : touched) {
+            if (!geoRegions.serves(region) || evictedRegions.contains(region)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Set<String> heldRegions() {
+        return regions.keySet();
+    }
+
+    public Set<String> evictedRegions() {
+        return evictedRegions;
+    }
+
+    public int regionSize(String region) {
+        Set<Long> members = regions.get(region);
+        return members != null ? members.size() : 0;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Find the nearest indexed providers within the given radius, nearest first.
+     * Each candidate's distance is computed once; when a limit is given only the
+     * best {@code limit} hits are kept in a bounded max-heap instead of sorting
+     * every candidate in the bounding box.
+     *
+     * @param categoryId optional category filter, null for all categories
+     * @param limit maximum number of hits, or null / non-positive for no limit
+     * @param withinServiceArea also require the point to be inside each provider's own service radius
+     */
+    public List<Hit> findNearest(double latitude, double longitude, double radiusKm, Long categoryId,
+                                 Integer limit, boolean withinServiceArea) {
+        LocationService.BoundingBox box = locationService.getBoundingBox(latitude, longitude, radiusKm);
+        Map<Long, Cell> cellSnapshot = this.cells;
+        boolean bounded = limit != null && limit > 0;
+
+        int minLatCell = cellOf(box.minLat());
+        int maxLatCell = cellOf(box.maxLat());
+        int minLonCell = cellOf(box.minLon());
+        int maxLonCell = cellOf(box.maxLon());
+
+        // Farthest hit on top so it can be evicted when a nearer one shows up; the
+        // initial capacity is capped, a huge limit must not size the heap
+        PriorityQueue<Hit> heap = new PriorityQueue<>(
+                bounded ? Math.min(limit, 64) + 1 : 16, Comparator.comparingDouble(Hit::distanceKm).reversed());
+        double[] distances = new double[16];
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                Cell cell = cellSnapshot.get(cellKey(latCell, lonCell));
+                if (cell == null) {
+                    continue;
+                }
+                int count = cell.entries().length;
+                if (distances.length < count) {
+                    distances = new double[Math.max(count, distances.length * 2)];
+                }
+                locationService.calculateDistances(
+                        latitude, longitude, cell.latitudes(), cell.longitudes(), count, distances);
+
+                for (int i = 0; i < count; i++) {
+                    double distance = distances[i];
+                    if (distance > radiusKm) {
+                        continue;
+                    }
+                    Entry entry = cell.entries()[i];
+                    if (withinServiceArea && distance > entry.serviceRadiusKm()) {
+                        continue;
+                    }
+                    if (categoryId != null && !entry.categoryIds().contains(categoryId)) {
+                        continue;
+                    }
+                    if (bounded && heap.size() == limit) {
+                        if (distance >= heap.peek().distanceKm()) {
+                            continue;
+                        }
+                        heap.poll();
+                    }
+                    heap.add(new Hit(entry, distance));
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    private void put(Entry entry) {
+        Entry previous = entries.put(entry.providerId(), entry);
+        if (previous != null) {
+            removeFromCell(previous);
+            Set<Long> previousRegion = regions.get(geoRegions.regionOf(previous.latitude(), previous.longitude()));
+            if (previousRegion != null) {
+                previousRegion.remove(previous.providerId());
+            }
+        }
+        addToCell(entry);
+    }
+
+    private void delete(Long providerId) {
+        Entry previous = entries.remove(providerId);
+        if (previous != null) {
+            removeFromCell(previous);
+            Set<Long> previousRegion = regions.get(geoRegions.regionOf(previous.latitude(), previous.longitude()));
+            if (previousRegion != null) {
+                previousRegion.remove(providerId);
+            }
+        }
+    }
+
+    private void addToCell(Entry entry) {
+        cells.compute(cellKeyOf(entry.latitude(), entry.longitude()), (key, cell) -> {
+            if (cell == null) {
+                return Cell.of(new Entry[]{entry});
+            }
+            Entry[] grown = Arrays.copyOf(cell.entries(), cell.entries().length + 1);
+            grown[cell.entries().length] = entry;
+            return Cell.of(grown);
+        });
+    }
+
+    private void removeFromCell(Entry entry) {
+        cells.computeIfPresent(cellKeyOf(entry.latitude(), entry.longitude()), (key, cell) -> {
+            Entry[] shrunk = Arrays.stream(cell.entries())
+                    .filter(e -> !e.providerId().equals(entry.providerId()))
+                    .toArray(Entry[]::new);
+            return shrunk.length == 0 ? null : Cell.of(shrunk);
+        });
+    }
+
+    private static long cellKeyOf(double latitude, double longitude) {
+        return cellKey(cellOf(latitude), cellOf(longitude));
+    }
+
+    private static int cellOf(double degrees) {
+        return (int) Math.floor(degrees / CELL_SIZE_DEG);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+
+    /**
+     * Indexed provider: location and category data for filtering plus the
+     * pre-built summary returned to clients.
+     */
+    public record Entry(
+        Long providerId,
+        double latitude,
+        double longitude,
+        int serviceRadiusKm,
+        Set<Long> categoryIds,
+        ProviderDTO.ProviderSummary summary
+    ) {
+    }
+
+    /**
+     * Immutable cell contents: entries plus their coordinates as primitive columns.
+     */
+    private record Cell(Entry[] entries, double[] latitudes, double[] longitudes) {
+
+        static Cell of(Entry[] entries) {
+            double[] latitudes = new double[entries.length];
+            double[] longitudes = new double[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                latitudes[i] = entries[i].latitude();
+                longitudes[i] = entries[i].longitude();
+            }
+            return new Cell(entries, latitudes, longitudes);
+        }
+    }
+
+    /**
+     * Search result with the distance from the query point.
+     */
+    public record Hit(Entry entry, double distanceKm) {
+    }
+
+    /**
+     * Outcome of a region refresh, for keeping dependent indexes in step.
+     */
+    public record RegionDiff(List<Entry> upserted, Set<Long> removed) {
+    }
+}
@@ -0,0 +1,251 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.ServiceProvider.AvailabilityStatus;
+import com.hirelink.event.ProviderPresenceEvent;
+import com.hirelink.repository.ServiceProviderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live provider availability kept in memory.
+ *
+ * Provider apps send heartbeats; a provider that stays silent for longer than
+ * the TTL is taken offline by a hashed timer wheel ticking once per second, so
+ * expiry costs O(providers due this tick) rather than a scan. Explicit toggles
+ * and expiries only mark the provider dirty: the durable isAvailable and
+ * availabilityStatus columns are written by a periodic flush with one bulk
+ * UPDATE per distinct state, so a flapping app produces at most one write per
+ * flush interval.
+ *
+ * Providers that have never been seen by this instance are not tracked and
+ * callers fall back to the database row. Providers that toggle availability
+ * without ever sending a heartbeat (e.g. from the website) expire after the
+ * much longer toggle TTL instead, so a forgotten toggle does not keep them
+ * online indefinitely.
+ *
+ * The tick shares Spring's scheduler with the other periodic jobs; the pool
+ * is sized in application.properties so a long job does not hold it up.
+ */
+@Slf4j
+@Component
+public class ProviderPresenceRegistry {
+
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 128;
+
+    private final ServiceProviderRepository providerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Presence> presences = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final List<Set<Long>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private volatile long currentTick = 0;
+
+    @Value("${hirelink.presence.ttl-seconds:90}")
+    private long ttlSeconds;
+
+    @Value("${hirelink.presence.toggle-ttl-seconds:28800}")
+    private long toggleTtlSeconds;
+
+    public ProviderPresenceRegistry(ServiceProviderRepository providerRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager) {
+        this.providerRepository = providerRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Refresh a tracked provider's TTL. A provider that had timed out comes back
+     * with the availability it last asked for.
+     *
+     * @return false if the provider is not tracked yet, see {@link #track}
+     */
+    public boolean heartbeat(Long providerId) {
+        long deadline = deadline(ttlSeconds);
+        Presence[] previous = new Presence[1];
+        Presence after = presences.computeIfPresent(providerId, (id, p) -> {
+            previous[0] = p;
+            return p.heartbeat(deadline);
+        });
+        if (after == null) {
+            return false;
+        }
+        schedule(providerId, deadline);
+        if (previous[0].available() != after.available() || previous[0].status() != after.status()) {
+            dirty.add(providerId);
+            changed(providerId, after);
+        }
+        return true;
+    }
+
+    /**
+     * Start tracking a provider from its durable state and count this as a heartbeat.
+     */
+    public void track(Long providerId, boolean available, AvailabilityStatus status) {
+        long deadline = deadline(ttlSeconds);
+        presences.computeIfAbsent(providerId,
+                id -> new Presence(available, status, available, status, deadline, true));
+        heartbeat(providerId);
+    }
+
+    /**
+     * Explicit availability change from the provider; persisted by the next flush.
+     */
+    public void setAvailability(Long providerId, boolean available, AvailabilityStatus status) {
+        Presence[] previousHolder = new Presence[1];
+        Presence next = presences.compute(providerId, (id, p) -> {
+            previousHolder[0] = p;
+            // Clients that do not heartbeat only show signs of life by toggling
+            boolean heartbeating = p != null && p.heartbeating();
+            long deadline = deadline(heartbeating ? ttlSeconds : toggleTtlSeconds);
+            return new Presence(available, status, available, status, deadline, heartbeating);
+        });
+        Presence previous = previousHolder[0];
+        schedule(providerId, next.deadlineTick());
+        dirty.add(providerId);
+        if (previous == null || previous.available() != available || previous.status() != status) {
+            changed(providerId, next);
+        }
+    }
+
+    /**
+     * Live availability, or the given row value when the provider is not tracked.
+     */
+    public boolean isAvailable(Long providerId, boolean fallback) {
+        Presence presence = presences.get(providerId);
+        return presence != null ? presence.available() : fallback;
+    }
+
+    public AvailabilityStatus statusOf(Long providerId, AvailabilityStatus fallback) {
+        Presence presence = presences.get(providerId);
+        return presence != null ? presence.status() : fallback;
+    }
+
+    public int trackedCount() {
+        return presences.size();
+    }
+
+    @Scheduled(fixedRate = TICK_MS)
+    public void tick() {
+        long tick = currentTick + 1;
+        currentTick = tick;
+        Set<Long> slot = wheel.get((int) (tick % WHEEL_SIZE));
+        Iterator<Long> it = slot.iterator();
+        while (it.hasNext()) {
+            Long providerId = it.next();
+            Presence presence = presences.get(providerId);
+            if (presence == null) {
+                it.remove();
+                continue;
+            }
+            if (presence.deadlineTick() > tick) {
+                // Heartbeat moved it to a later slot, or it is due in a later round
+                if (presence.deadlineTick() % WHEEL_SIZE != tick % WHEEL_SIZE) {
+                    it.remove();
+                }
+                continue;
+            }
+            it.remove();
+            boolean[] expired = new boolean[1];
+            Presence after = presences.computeIfPresent(providerId, (id, p) -> {
+                if (p.deadlineTick() <= tick && p.available()) {
+                    expired[0] = true;
+                    return p.expire();
+                }
+                return p;
+            });
+            if (expired[0]) {
+                dirty.add(providerId);
+                changed(providerId, after);
+            }
+        }
+    }
+
+    /**
+     * Write dirty providers to MySQL, one bulk UPDATE per (available, status) pair.
+     */
+    @Scheduled(initialDelayString = "${hirelink.presence.flush-interval-ms:5000}",
+               fixedDelayString = "${hirelink.presence.flush-interval-ms:5000}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Map<Presence, List<Long>> groups = new HashMap<>();
+        Iterator<Long> it = dirty.iterator();
+        while (it.hasNext()) {
+            Long providerId = it.next();
+            it.remove();
+            Presence presence = presences.get(providerId);
+            if (presence != null) {
+                groups.computeIfAbsent(presence.durableState(), k -> new ArrayList<>()).add(providerId);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> groups.forEach((state, ids) ->
+                    providerRepository.updateAvailability(ids, state.available(), state.status())));
+            log.debug("Flushed availability of {} providers in {} updates",
+                    groups.values().stream().mapToInt(List::size).sum(), groups.size());
+        } catch (RuntimeException e) {
+            log.warn("Availability flush failed, retrying next interval: {}", e.getMessage());
+            groups.values().forEach(dirty::addAll);
+        }
+    }
+
+    private long deadline(long ttl) {
+        return currentTick + Math.max(1, ttl * 1000 / TICK_MS);
+    }
+
+    private void schedule(Long providerId, long deadlineTick) {
+        wheel.get((int) (deadlineTick % WHEEL_SIZE)).add(providerId);
+    }
+
+    private void changed(Long providerId, Presence presence) {
+        eventPublisher.publishEvent(ProviderPresenceEvent.builder()
+                .providerId(providerId)
+                .available(presence.available())
+                .status(presence.status())
+                .build());
+    }
+
+    /**
+     * Current state plus what the provider last asked for, so a heartbeat after a
+     * timeout can restore it, and whether its client sends heartbeats at all.
+     */
+    private record Presence(boolean available, AvailabilityStatus status,
+                            boolean requestedAvailable, AvailabilityStatus requestedStatus, long deadlineTick,
+                            boolean heartbeating) {
+
+        Presence heartbeat(long deadline) {
+            return new Presence(requestedAvailable, requestedStatus, requestedAvailable, requestedStatus, deadline,
+                    true);
+        }
+
+        Presence expire() {
+            return new Presence(false, AvailabilityStatus.OFFLINE, requestedAvailable, requestedStatus, deadlineTick,
+                    heartbeating);
+        }
+
+        Presence durableState() {
+            return new Presence(available, status, false, null, 0, false);
+        }
+    }
+}
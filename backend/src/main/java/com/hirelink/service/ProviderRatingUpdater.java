@@ -0,0 +1,40 @@
+package com.hirelink.service;
+
+import com.hirelink.event.ReviewAddedEvent;
+import com.hirelink.repository.ServiceProviderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Recalculates the average rating and review count of reviewed providers,
+ * once per provider per outbox batch. Each provider's values are recomputed
+ * from the reviews table, so a redelivered event does no harm. The review
+ * events are then published in-process; listeners see them after the new
+ * rating has been committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderRatingUpdater implements OutboxSubscriber {
+
+    private final ServiceProviderRepository providerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void onReviewsAdded(List<ReviewAddedEvent> events) {
+        TreeSet<Long> providerIds = new TreeSet<>();
+        for (ReviewAddedEvent event : events) {
+            if (event.getProviderId() != null) {
+                providerIds.add(event.getProviderId());
+            }
+        }
+        if (!providerIds.isEmpty()) {
+            providerRepository.recalculateRatings(new ArrayList<>(providerIds));
+        }
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
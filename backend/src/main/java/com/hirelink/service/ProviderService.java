@@ -3,36 +3,84 @@ package com.hirelink.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hirelink.dto.MapDTO;
 import com.hirelink.dto.ProviderDTO;
 import com.hirelink.dto.ServiceDTO;
 import com.hirelink.entity.Review;
 import com.hirelink.entity.ServiceProvider;
+import com.hirelink.event.CatalogChangedEvent;
+import com.hirelink.event.ProviderPresenceEvent;
+import com.hirelink.exception.BadRequestException;
 import com.hirelink.exception.ResourceNotFoundException;
 import com.hirelink.repository.ReviewRepository;
 import com.hirelink.repository.ServiceProviderRepository;
 import com.hirelink.repository.ServiceRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
 public class ProviderService {
 
+    private static final int DEFAULT_SERVICE_RADIUS_KM = 10;
+    private static final String SPATIAL_QUERY_MODE = "spatial";
+    // Bounds of client-supplied nearby searches
+    static final int MAX_NEARBY_RADIUS_KM = 100;
+    static final int MAX_NEARBY_LIMIT = 100;
+
     private final ServiceProviderRepository providerRepository;
     private final ServiceRepository serviceRepository;
     private final ReviewRepository reviewRepository;
     private final ObjectMapper objectMapper;
     private final ServiceService serviceService;
     private final LocationService locationService;
+    private final ProviderGeoIndex providerGeoIndex;
+    private final ProviderCoverageIndex providerCoverageIndex;
+    private final MapClusterService mapClusterService;
+    private final ProviderPresenceRegistry presenceRegistry;
+    private final GeoRegions geoRegions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    // Heartbeats arrive with the user id; avoid a provider lookup on every ping
+    private final Map<Long, Long> providerIdsByUser = new ConcurrentHashMap<>();
+    // Index entries of providers that went offline, re-added as-is when they return
+    private final Map<Long, ProviderGeoIndex.Entry> parkedEntries = new ConcurrentHashMap<>();
+
+    @Value("${hirelink.geo.index.enabled:true}")
+    private boolean geoIndexEnabled;
+
+    @Value("${hirelink.geo.query-mode:bounding-box}")
+    private String geoQueryMode;
+
+    @Value("${hirelink.geo.region.max-providers:50000}")
+    private int regionMaxProviders;
+
+    @Value("${hirelink.pincode.search-radius-km:10}")
+    private int pincodeSearchRadiusKm;
 
     @Transactional(readOnly = true)
     public ProviderDTO.ProviderResponse getProviderById(Long providerId) {
@@ -75,21 +123,53 @@ public class ProviderService {
 
     @Transactional(readOnly = true)
     public List<ProviderDTO.ProviderSummary> getNearbyProviders(String pincode) {
-        List<ServiceProvider> providers = providerRepository.findByPincodeAndAvailable(pincode);
-        return providers.stream()
-                .map(this::mapToProviderSummary)
+        List<ServiceProvider> providers = providerRepository.findByPincodeAndAvailable(pincode).stream()
+                .filter(this::isLive)
                 .collect(Collectors.toList());
+        int slot = locationService.findPincode(pincode);
+        if (slot == PincodeDirectory.NOT_FOUND) {
+            return providers.stream()
+                    .map(this::mapToProviderSummary)
+                    .collect(Collectors.toList());
+        }
+
+        // Known pincode: search around its centroid so neighbouring pincodes match too,
+        // then append exact-pincode matches the radius search left out
+        List<ProviderDTO.ProviderSummary> nearby = new ArrayList<>(getNearbyProvidersByLocation(
+                BigDecimal.valueOf(locationService.pincodeLatitude(slot)),
+                BigDecimal.valueOf(locationService.pincodeLongitude(slot)),
+                pincodeSearchRadiusKm, null, null, true));
+        Set<Long> found = nearby.stream()
+                .map(ProviderDTO.ProviderSummary::getProviderId)
+                .collect(Collectors.toSet());
+        providers.stream()
+                .filter(p -> !found.contains(p.getProviderId()))
+                .map(this::mapToProviderSummary)
+                .forEach(nearby::add);
+        return nearby;
     }
 
     @Transactional(readOnly = true)
     public List<ProviderDTO.ProviderSummary> getNearbyProvidersByLocation(
-            BigDecimal latitude, BigDecimal longitude, Integer radiusKm, Long categoryId) {
-        
+            BigDecimal latitude, BigDecimal longitude, Integer radiusKm, Long categoryId, Integer limit,
+            boolean withinServiceArea) {
+        requireNearbyBounds(radiusKm, limit);
+
         // Get bounding box for initial filter
         LocationService.BoundingBox box = locationService.getBoundingBox(latitude, longitude, radiusKm);
         
+        // Serve from the resident geo index when this node holds every region the search touches
+        if (geoIndexEnabled && providerGeoIndex.covers(box)) {
+            return providerGeoIndex.findNearest(latitude.doubleValue(), longitude.doubleValue(),
+                            radiusKm, categoryId, limit, withinServiceArea).stream()
+                    .map(hit -> hit.entry().summary())
+                    .collect(Collectors.toList());
+        }
+        
         List<ServiceProvider> providers;
-        if (categoryId != null) {
+        if (SPATIAL_QUERY_MODE.equalsIgnoreCase(geoQueryMode)) {
+            providers = findProvidersWithinRadiusSpatial(box, latitude, longitude, radiusKm, categoryId);
+        } else if (categoryId != null) {
             providers = providerRepository.findProvidersInAreaByCategory(
                     box.minLatBD(), box.maxLatBD(), box.minLonBD(), box.maxLonBD(), categoryId);
         } else {
@@ -97,19 +177,105 @@ public class ProviderService {
                     box.minLatBD(), box.maxLatBD(), box.minLonBD(), box.maxLonBD());
         }
         
-        // Filter by exact distance and sort by distance
+        List<ServiceProvider> candidates = providers.stream()
+                .filter(p -> p.getBaseLatitude() != null && p.getBaseLongitude() != null)
+                .filter(this::isLive)
+                .collect(Collectors.toList());
+        int count = candidates.size();
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = candidates.get(i).getBaseLatitude().doubleValue();
+            longitudes[i] = candidates.get(i).getBaseLongitude().doubleValue();
+        }
+
+        // Drop the corners of the box outside the true radius in one batch pass,
+        // then measure only the rest and keep the nearest
+        double originLat = latitude.doubleValue();
+        double originLon = longitude.doubleValue();
+        long[] withinRadius = new long[(count + 63) >>> 6];
+        locationService.markWithinRadius(originLat, originLon, latitudes, longitudes, count, radiusKm, withinRadius);
+        List<Map.Entry<ServiceProvider, Double>> inRadius = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if ((withinRadius[i >>> 6] & (1L << i)) != 0) {
+                inRadius.add(Map.entry(candidates.get(i),
+                        locationService.calculateDistance(originLat, originLon, latitudes[i], longitudes[i])));
+            }
+        }
+
+        long maxResults = limit != null && limit > 0 ? limit : Long.MAX_VALUE;
+        return inRadius.stream()
+                .filter(e -> !withinServiceArea || e.getValue() <= serviceRadiusOf(e.getKey()))
+                .sorted(Map.Entry.comparingByValue())
+                .limit(maxResults)
+                .map(e -> mapToProviderSummary(e.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    private void requireNearbyBounds(Integer radiusKm, Integer limit) {
+        if (radiusKm == null || radiusKm < 1 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new BadRequestException("radiusKm must be between 1 and " + MAX_NEARBY_RADIUS_KM);
+        }
+        if (limit != null && (limit < 1 || limit > MAX_NEARBY_LIMIT)) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_NEARBY_LIMIT);
+        }
+    }
+
+    /**
+     * Radius search through the SPATIAL index on service_providers.base_location.
+     */
+    private List<ServiceProvider> findProvidersWithinRadiusSpatial(LocationService.BoundingBox box,
+            BigDecimal latitude, BigDecimal longitude, Integer radiusKm, Long categoryId) {
+        String centerWkt = locationService.toWktPoint(latitude.doubleValue(), longitude.doubleValue());
+        double radiusMeters = radiusKm * 1000.0;
+        List<Long> ids = categoryId != null
+                ? providerRepository.findProviderIdsWithinRadiusSpatialByCategory(
+                        box.toWktPolygon(), centerWkt, radiusMeters, categoryId)
+                : providerRepository.findProviderIdsWithinRadiusSpatial(box.toWktPolygon(), centerWkt, radiusMeters);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return providerRepository.findAllByIdInWithUser(ids);
+    }
+
+    /**
+     * Providers whose own service area covers the given customer location, nearest first.
+     * Service areas are at most {@link ProviderCoverageIndex#MAX_SERVICE_RADIUS_KM} wide,
+     * so only providers based that close can cover it.
+     */
+    @Transactional(readOnly = true)
+    public List<ProviderDTO.ProviderSummary> getProvidersCoveringLocation(
+            BigDecimal latitude, BigDecimal longitude, Long categoryId, Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_NEARBY_LIMIT)) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_NEARBY_LIMIT);
+        }
+        LocationService.BoundingBox box = locationService.getBoundingBox(
+                latitude, longitude, ProviderCoverageIndex.MAX_SERVICE_RADIUS_KM);
+
+        // The coverage index is fed from the geo index, so it is complete where the geo index is
+        if (geoIndexEnabled && providerGeoIndex.covers(box)) {
+            return providerCoverageIndex.findCovering(
+                            latitude.doubleValue(), longitude.doubleValue(), categoryId, limit).stream()
+                    .map(hit -> hit.entry().summary())
+                    .collect(Collectors.toList());
+        }
+
+        List<ServiceProvider> providers = categoryId != null
+                ? providerRepository.findProvidersInAreaByCategory(
+                        box.minLatBD(), box.maxLatBD(), box.minLonBD(), box.maxLonBD(), categoryId)
+                : providerRepository.findProvidersInArea(
+                        box.minLatBD(), box.maxLatBD(), box.minLonBD(), box.maxLonBD());
+        long maxResults = limit != null ? limit : Long.MAX_VALUE;
         return providers.stream()
                 .filter(p -> p.getBaseLatitude() != null && p.getBaseLongitude() != null)
-                .filter(p -> locationService.isWithinRadius(
-                        latitude, longitude, p.getBaseLatitude(), p.getBaseLongitude(), radiusKm))
-                .sorted((p1, p2) -> {
-                    double d1 = locationService.calculateDistance(latitude, longitude, 
-                            p1.getBaseLatitude(), p1.getBaseLongitude());
-                    double d2 = locationService.calculateDistance(latitude, longitude, 
-                            p2.getBaseLatitude(), p2.getBaseLongitude());
-                    return Double.compare(d1, d2);
-                })
-                .map(this::mapToProviderSummary)
+                .filter(this::isLive)
+                .map(p -> Map.entry(p, locationService.calculateDistance(
+                        latitude, longitude, p.getBaseLatitude(), p.getBaseLongitude())))
+                .filter(e -> e.getValue() <= Math.min(serviceRadiusOf(e.getKey()),
+                        ProviderCoverageIndex.MAX_SERVICE_RADIUS_KM))
+                .sorted(Map.Entry.comparingByValue())
+                .limit(maxResults)
+                .map(e -> mapToProviderSummary(e.getKey()))
                 .collect(Collectors.toList());
     }
 
@@ -118,7 +284,9 @@ public class ProviderService {
         ServiceProvider provider = providerRepository.findById(providerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Provider not found: " + providerId));
 
+        boolean renamed = false;
         if (request.getBusinessName() != null) {
+            renamed = !request.getBusinessName().equals(provider.getBusinessName());
             provider.setBusinessName(request.getBusinessName());
         }
         if (request.getBusinessDescription() != null) {
@@ -149,24 +317,237 @@ public class ProviderService {
         provider.setProfileCompletionPercentage(completion);
 
         provider = providerRepository.save(provider);
+        reindex(provider);
+        if (renamed) {
+            eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogChangedEvent.Type.PROVIDER, providerId));
+        }
         return mapToProviderResponse(provider, false);
     }
 
-    @Transactional
+    /**
+     * Record an availability toggle in the presence registry. The row is written
+     * by the registry's batched flush, not here.
+     */
     public void updateAvailability(Long providerId, boolean available, String status) {
-        ServiceProvider provider = providerRepository.findById(providerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Provider not found: " + providerId));
+        if (!providerRepository.existsById(providerId)) {
+            throw new ResourceNotFoundException("Provider not found: " + providerId);
+        }
+        ServiceProvider.AvailabilityStatus availabilityStatus = status != null
+                ? ServiceProvider.AvailabilityStatus.valueOf(status)
+                : available ? ServiceProvider.AvailabilityStatus.ONLINE : ServiceProvider.AvailabilityStatus.OFFLINE;
+        presenceRegistry.setAvailability(providerId, available, availabilityStatus);
+    }
 
-        provider.setIsAvailable(available);
-        if (status != null) {
-            provider.setAvailabilityStatus(ServiceProvider.AvailabilityStatus.valueOf(status));
-        } else {
-            provider.setAvailabilityStatus(available ? 
-                    ServiceProvider.AvailabilityStatus.ONLINE : 
-                    ServiceProvider.AvailabilityStatus.OFFLINE);
+    /**
+     * Keep-alive from the provider app for the provider owned by the given user.
+     */
+    public void heartbeat(Long userId) {
+        Long providerId = providerIdsByUser.get(userId);
+        if (providerId != null && presenceRegistry.heartbeat(providerId)) {
+            return;
         }
+        ServiceProvider provider = providerRepository.findByUserUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Provider not found for user: " + userId));
+        providerIdsByUser.put(userId, provider.getProviderId());
+        presenceRegistry.track(provider.getProviderId(), Boolean.TRUE.equals(provider.getIsAvailable()),
+                provider.getAvailabilityStatus());
+    }
+
+    /**
+     * Take providers in and out of the resident indexes as their live presence changes.
+     */
+    @EventListener
+    public void onPresenceChanged(ProviderPresenceEvent event) {
+        if (!geoIndexEnabled) {
+            return;
+        }
+        Long providerId = event.getProviderId();
+        ProviderGeoIndex.Entry indexed = providerGeoIndex.get(providerId);
+        if (!event.isAvailable()) {
+            if (indexed != null) {
+                parkedEntries.put(providerId, indexed);
+                providerGeoIndex.remove(providerId);
+                unindexDependents(providerId);
+            }
+            return;
+        }
+
+        ProviderGeoIndex.Entry entry = indexed != null ? indexed : parkedEntries.remove(providerId);
+        if (entry == null) {
+            refreshIndexedProvider(providerId);
+            return;
+        }
+        // Summaries are shared with searches in flight; replace rather than modify
+        ProviderGeoIndex.Entry live = new ProviderGeoIndex.Entry(entry.providerId(), entry.latitude(),
+                entry.longitude(), entry.serviceRadiusKm(), entry.categoryIds(), entry.summary().toBuilder()
+                        .isAvailable(true)
+                        .availabilityStatus(event.getStatus().name())
+                        .build());
+        if (providerGeoIndex.upsert(live)) {
+            providerCoverageIndex.upsert(live);
+            if (indexed == null) {
+                mapClusterService.upsertProvider(providerId, live.latitude(), live.longitude());
+            }
+        }
+    }
+
+    /**
+     * Re-read a provider and refresh its geo index entry, e.g. after its service
+     * list changed. Runs in its own read-only transaction unless the caller has
+     * one: it is also called from the presence listener, on the registry's tick.
+     */
+    public void refreshIndexedProvider(Long providerId) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status ->
+                providerRepository.findByIdWithDetails(providerId).ifPresent(this::reindex));
+    }
+
+    /**
+     * Load the geo index region by region on startup and refresh it periodically
+     * so that rating and booking stats in the cached summaries don't drift too far.
+     * Only regions this node serves are read from MySQL.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${hirelink.geo.index.refresh-interval-ms:600000}",
+            fixedDelayString = "${hirelink.geo.index.refresh-interval-ms:600000}")
+    public void rebuildGeoIndex() {
+        if (!geoIndexEnabled) {
+            return;
+        }
+        Set<String> regions = providerRepository.findLocatedRegionCells(geoRegions.latStep(), geoRegions.lonStep())
+                .stream()
+                .map(cell -> geoRegions.regionOfCell(((Number) cell[0]).intValue(), ((Number) cell[1]).intValue()))
+                .filter(geoRegions::serves)
+                .collect(Collectors.toSet());
+        // Held regions whose providers have all gone
+        for (String held : new ArrayList<>(providerGeoIndex.heldRegions())) {
+            if (!regions.contains(held)) {
+                applyRegionDiff(providerGeoIndex.replaceRegion(held, List.of()));
+            }
+        }
+
+        int total = 0;
+        for (String region : regions) {
+            total += refreshRegion(region);
+        }
+        providerGeoIndex.markReady();
+        log.info("Provider geo index holds {} providers in {} regions ({} evicted)",
+                total, providerGeoIndex.heldRegions().size(), providerGeoIndex.evictedRegions().size());
+    }
+
+    /**
+     * Reload one region from MySQL. A region over its provider budget is evicted
+     * and searches touching it are answered from MySQL instead.
+     *
+     * @return number of providers now held for the region
+     */
+    @Transactional(readOnly = true)
+    public int refreshRegion(String region) {
+        LocationService.BoundingBox box = geoRegions.boundsOf(region);
+        List<ProviderGeoIndex.Entry> entries = providerRepository.findAllWithLocationInArea(
+                        box.minLatBD(), box.maxLatBD(), box.minLonBD(), box.maxLonBD()).stream()
+                .filter(p -> region.equals(geoRegions.regionOf(
+                        p.getBaseLatitude().doubleValue(), p.getBaseLongitude().doubleValue())))
+                .filter(this::isLive)
+                .map(this::toGeoEntry)
+                .collect(Collectors.toList());
 
-        providerRepository.save(provider);
+        if (entries.size() > regionMaxProviders) {
+            log.warn("Geo region {} has {} providers, over the budget of {}; serving it from MySQL",
+                    region, entries.size(), regionMaxProviders);
+            providerGeoIndex.evictRegion(region).forEach(this::unindexDependents);
+            return 0;
+        }
+        applyRegionDiff(providerGeoIndex.replaceRegion(region, entries));
+        return entries.size();
+    }
+
+    /**
+     * Regions held by this node, for operators checking partitioning and budgets.
+     */
+    public List<MapDTO.GeoRegionStatus> getGeoRegions() {
+        Set<String> evicted = providerGeoIndex.evictedRegions();
+        return Stream.concat(providerGeoIndex.heldRegions().stream(), evicted.stream())
+                .sorted()
+                .map(region -> {
+                    LocationService.BoundingBox box = geoRegions.boundsOf(region);
+                    return MapDTO.GeoRegionStatus.builder()
+                            .region(region)
+                            .providers(providerGeoIndex.regionSize(region))
+                            .evicted(evicted.contains(region))
+                            .north(box.maxLat())
+                            .south(box.minLat())
+                            .east(box.maxLon())
+                            .west(box.minLon())
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void applyRegionDiff(ProviderGeoIndex.RegionDiff diff) {
+        for (ProviderGeoIndex.Entry entry : diff.upserted()) {
+            parkedEntries.remove(entry.providerId());
+            providerCoverageIndex.upsert(entry);
+            mapClusterService.upsertProvider(entry.providerId(), entry.latitude(), entry.longitude());
+        }
+        diff.removed().forEach(this::unindexDependents);
+    }
+
+    private void unindexDependents(Long providerId) {
+        providerCoverageIndex.remove(providerId);
+        mapClusterService.removeProvider(providerId);
+    }
+
+    private void reindex(ServiceProvider provider) {
+        if (!geoIndexEnabled) {
+            return;
+        }
+        if (isLive(provider)
+                && provider.getBaseLatitude() != null && provider.getBaseLongitude() != null) {
+            ProviderGeoIndex.Entry entry = toGeoEntry(provider);
+            if (providerGeoIndex.upsert(entry)) {
+                providerCoverageIndex.upsert(entry);
+                mapClusterService.upsertProvider(entry.providerId(), entry.latitude(), entry.longitude());
+                return;
+            }
+        }
+        providerGeoIndex.remove(provider.getProviderId());
+        unindexDependents(provider.getProviderId());
+    }
+
+    /**
+     * Availability as seen by the presence registry, falling back to the row.
+     */
+    private boolean isLive(ServiceProvider provider) {
+        return presenceRegistry.isAvailable(provider.getProviderId(), Boolean.TRUE.equals(provider.getIsAvailable()));
+    }
+
+    private String liveStatusOf(ServiceProvider provider) {
+        ServiceProvider.AvailabilityStatus status = presenceRegistry.statusOf(
+                provider.getProviderId(), provider.getAvailabilityStatus());
+        return status != null ? status.name() : "OFFLINE";
+    }
+
+    private int serviceRadiusOf(ServiceProvider provider) {
+        return provider.getServiceRadiusKm() != null ? provider.getServiceRadiusKm() : DEFAULT_SERVICE_RADIUS_KM;
+    }
+
+    private ProviderGeoIndex.Entry toGeoEntry(ServiceProvider provider) {
+        Set<Long> categoryIds = Collections.emptySet();
+        if (provider.getServices() != null) {
+            categoryIds = provider.getServices().stream()
+                    .filter(s -> s.getCategory() != null)
+                    .map(s -> s.getCategory().getCategoryId())
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+        return new ProviderGeoIndex.Entry(
+                provider.getProviderId(),
+                provider.getBaseLatitude().doubleValue(),
+                provider.getBaseLongitude().doubleValue(),
+                serviceRadiusOf(provider),
+                categoryIds,
+                mapToProviderSummary(provider));
     }
 
     private int calculateProfileCompletion(ServiceProvider provider) {
@@ -188,15 +569,21 @@ public class ProviderService {
 
     private ProviderDTO.ProviderListResponse mapToProviderListResponse(Page<ServiceProvider> providerPage) {
         List<ProviderDTO.ProviderSummary> providers = providerPage.getContent().stream()
+                .filter(this::isLive)
                 .map(this::mapToProviderSummary)
                 .collect(Collectors.toList());
+        // Providers whose row says available but who have gone offline since are
+        // not shown, so they are not counted either
+        long total = Math.max(0, providerPage.getTotalElements()
+                - (providerPage.getNumberOfElements() - providers.size()));
+        int size = providerPage.getSize();
 
         return ProviderDTO.ProviderListResponse.builder()
                 .providers(providers)
                 .page(providerPage.getNumber())
-                .size(providerPage.getSize())
-                .total(providerPage.getTotalElements())
-                .totalPages(providerPage.getTotalPages())
+                .size(size)
+                .total(total)
+                .totalPages(size > 0 ? (int) ((total + size - 1) / size) : 0)
                 .build();
     }
 
@@ -246,8 +633,8 @@ public class ProviderService {
                 .averageRating(provider.getAverageRating())
                 .totalReviews(provider.getTotalReviews())
                 .completedBookings(provider.getCompletedBookings())
-                .isAvailable(provider.getIsAvailable())
-                .availabilityStatus(provider.getAvailabilityStatus() != null ? provider.getAvailabilityStatus().name() : "OFFLINE")
+                .isAvailable(isLive(provider))
+                .availabilityStatus(liveStatusOf(provider))
                 .isFeatured(provider.getIsFeatured())
                 .startingPrice(startingPrice)
                 .serviceCategories(categories)
@@ -317,8 +704,8 @@ public class ProviderService {
                 .totalBookings(provider.getTotalBookings())
                 .completedBookings(provider.getCompletedBookings())
                 .completionRate(provider.getCompletionRate())
-                .isAvailable(provider.getIsAvailable())
-                .availabilityStatus(provider.getAvailabilityStatus().name())
+                .isAvailable(isLive(provider))
+                .availabilityStatus(liveStatusOf(provider))
                 .isFeatured(provider.getIsFeatured())
                 .services(services)
                 .recentReviews(reviewSummaries)
@@ -0,0 +1,359 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Booking;
+import com.hirelink.entity.Booking.BookingStatus;
+import com.hirelink.event.BookingEvent;
+import com.hirelink.event.BookingSnapshotCompletedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which 15-minute slots of each day every provider is booked for.
+ *
+ * A day is 96 slots held as two 64-bit words, so checking a time range and
+ * taking it are a couple of mask operations. Each provider's calendar has its
+ * own lock: bookings for different providers never wait on each other. A
+ * booking running past midnight takes the first slots of the next day too.
+ *
+ * This calendar only sees bookings made through this node, those replayed at
+ * startup and those {@link #refresh refreshed} from the database, and answers
+ * availability. Bookings claim their slots in the same two-word form in the
+ * provider's day rows ({@link ProviderSlotLedger}), which every node shares.
+ *
+ * Active bookings from today on are loaded by the startup replay; a slot is
+ * freed when its booking is rejected, cancelled, completed or refunded, and
+ * past days are dropped periodically.
+ */
+@Slf4j
+@Component
+public class ProviderSlotCalendar {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    // Bookings store their end as a time of day, so no booking is longer than a day
+    public static final int MAX_DURATION_MINUTES = 24 * 60;
+
+    // Statuses in which a booking holds its slots
+    public static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.PENDING,
+            BookingStatus.ACCEPTED, BookingStatus.CONFIRMED, BookingStatus.IN_PROGRESS, BookingStatus.PAUSED);
+
+    private final Map<Long, ProviderCalendar> calendars = new ConcurrentHashMap<>();
+    private final BookingReplayGuard replayGuard = new BookingReplayGuard();
+    private final int defaultDurationMinutes;
+
+    private volatile boolean ready = false;
+
+    public ProviderSlotCalendar(@Value("${hirelink.booking.default-duration-minutes:60}") int defaultDurationMinutes) {
+        this.defaultDurationMinutes = defaultDurationMinutes;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Booking length to block: the service's estimated duration, or the default
+     * for a service without one, capped at a day.
+     */
+    public int durationOrDefault(Integer durationMinutes) {
+        int minutes = durationMinutes != null && durationMinutes > 0 ? durationMinutes : defaultDurationMinutes;
+        return Math.min(minutes, MAX_DURATION_MINUTES);
+    }
+
+    /**
+     * Mark the slots covering {@code [start, start + duration)} as held by the
+     * booking, which has claimed them in the provider's day rows already; no
+     * check against this node's view is made. When called inside a
+     * transaction the slots are freed again if that transaction does not commit.
+     */
+    public void hold(Long providerId, Long bookingId, LocalDate date, LocalTime start, int durationMinutes) {
+        List<Span> spans = spans(date, start, durationMinutes);
+        ProviderCalendar calendar = calendars.computeIfAbsent(providerId, id -> new ProviderCalendar());
+        synchronized (calendar) {
+            calendar.remove(bookingId);
+            calendar.add(bookingId, spans);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(providerId, bookingId);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Slots of the day held by any of the bookings, as two words like
+     * {@link #occupancy}; for bookings read from the database rather than
+     * this calendar. Pass the bookings of the day before too: they may run
+     * past midnight.
+     */
+    public long[] occupancyOf(Collection<Booking> bookings, LocalDate date) {
+        long[] occupied = new long[2];
+        for (Booking booking : bookings) {
+            if (booking.getScheduledDate() == null || booking.getScheduledTime() == null) {
+                continue;
+            }
+            for (Span span : spans(booking.getScheduledDate(), booking.getScheduledTime(),
+                    durationMinutes(booking.getScheduledTime(), booking.getScheduledEndTime()))) {
+                if (span.date().equals(date)) {
+                    occupied[0] |= mask(span.from(), span.to(), 0);
+                    occupied[1] |= mask(span.from(), span.to(), 64);
+                }
+            }
+        }
+        return occupied;
+    }
+
+    /**
+     * Occupied slots of the day as two words (slots 0-63, 64-95); bit n set
+     * means slot n is taken.
+     */
+    public long[] occupancy(Long providerId, LocalDate date) {
+        ProviderCalendar calendar = calendars.get(providerId);
+        if (calendar == null) {
+            return new long[2];
+        }
+        synchronized (calendar) {
+            Day day = calendar.days.get(date);
+            return day == null ? new long[2] : new long[]{day.low, day.high};
+        }
+    }
+
+    /**
+     * Incremented on every change to the provider's calendar; derived data
+     * keyed by it (cached availability) goes stale by itself.
+     */
+    public long version(Long providerId) {
+        ProviderCalendar calendar = calendars.get(providerId);
+        return calendar == null ? 0 : calendar.version;
+    }
+
+    public void release(Long providerId, Long bookingId) {
+        ProviderCalendar calendar = calendars.get(providerId);
+        if (calendar != null) {
+            synchronized (calendar) {
+                calendar.remove(bookingId);
+            }
+        }
+    }
+
+    /**
+     * Make the provider's bookings starting from {@code from} to {@code to}
+     * those just read from the database, without a conflict check: bookings
+     * made or cancelled through other nodes, or not replayed yet, are brought
+     * in or dropped.
+     */
+    public void refresh(Long providerId, LocalDate from, LocalDate to, Collection<Booking> bookings) {
+        Set<Long> current = new HashSet<>();
+        for (Booking booking : bookings) {
+            current.add(booking.getBookingId());
+        }
+        ProviderCalendar calendar = calendars.computeIfAbsent(providerId, id -> new ProviderCalendar());
+        synchronized (calendar) {
+            List<Long> gone = new ArrayList<>();
+            calendar.bookings.forEach((bookingId, dates) -> {
+                LocalDate first = dates.get(0);
+                if (!first.isBefore(from) && !first.isAfter(to) && !current.contains(bookingId)) {
+                    gone.add(bookingId);
+                }
+            });
+            gone.forEach(calendar::remove);
+        }
+        for (Booking booking : bookings) {
+            load(providerId, booking.getBookingId(), booking.getScheduledDate(),
+                    booking.getScheduledTime(), booking.getScheduledEndTime());
+        }
+    }
+
+    private void load(Long providerId, Long bookingId, LocalDate date, LocalTime start, LocalTime end) {
+        if (providerId == null || bookingId == null || date == null || start == null
+                || date.isBefore(LocalDate.now().minusDays(1))) {
+            return;
+        }
+        List<Span> spans = spans(date, start, durationMinutes(start, end));
+        ProviderCalendar calendar = calendars.computeIfAbsent(providerId, id -> new ProviderCalendar());
+        synchronized (calendar) {
+            if (!calendar.bookings.containsKey(bookingId)) {
+                calendar.add(bookingId, spans);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        if (event.getProviderId() == null || event.getStatus() == null || !replayGuard.isNewer(event)) {
+            return;
+        }
+        if (!BLOCKING_STATUSES.contains(event.getStatus())) {
+            release(event.getProviderId(), event.getBookingId());
+        } else {
+            // A no-op for bookings already holding their slots; during the replay a
+            // live change may arrive before the booking's replayed row
+            load(event.getProviderId(), event.getBookingId(), event.getScheduledDate(),
+                    event.getScheduledTime(), event.getScheduledEndTime());
+        }
+    }
+
+    @EventListener
+    public void onSnapshotCompleted(BookingSnapshotCompletedEvent event) {
+        replayGuard.finish();
+        ready = true;
+        log.info("Provider slot calendar loaded for {} providers", calendars.size());
+    }
+
+    @Scheduled(initialDelayString = "${hirelink.booking.calendar.prune-interval-ms:3600000}",
+            fixedDelayString = "${hirelink.booking.calendar.prune-interval-ms:3600000}")
+    public void prunePastDays() {
+        // Keep yesterday: its bookings may still be running past midnight
+        LocalDate keepFrom = LocalDate.now().minusDays(1);
+        // Emptied calendars stay: a booking may be about to use the instance
+        calendars.forEach((providerId, calendar) -> {
+            synchronized (calendar) {
+                calendar.pruneBefore(keepFrom);
+            }
+        });
+    }
+
+    int durationMinutes(LocalTime start, LocalTime end) {
+        if (end == null) {
+            return defaultDurationMinutes;
+        }
+        int minutes = (end.toSecondOfDay() - start.toSecondOfDay()) / 60;
+        return minutes > 0 ? minutes : minutes + 24 * 60;
+    }
+
+    /**
+     * Slot ranges of each day touched by the time range.
+     */
+    static List<Span> spans(LocalDate date, LocalTime start, int durationMinutes) {
+        int from = start.toSecondOfDay() / 60 / SLOT_MINUTES;
+        int endMinute = start.toSecondOfDay() / 60 + Math.max(1, Math.min(MAX_DURATION_MINUTES, durationMinutes));
+        int to = (endMinute + SLOT_MINUTES - 1) / SLOT_MINUTES;
+
+        List<Span> spans = new ArrayList<>(2);
+        LocalDate day = date;
+        while (to > 0) {
+            spans.add(new Span(day, from, Math.min(to, SLOTS_PER_DAY)));
+            to -= SLOTS_PER_DAY;
+            from = 0;
+            day = day.plusDays(1);
+        }
+        return spans;
+    }
+
+    /**
+     * Bits {@code [from, to)} of the 64-bit word starting at slot {@code offset}.
+     */
+    static long mask(int from, int to, int offset) {
+        int low = Math.max(from, offset) - offset;
+        int high = Math.min(to, offset + 64) - offset;
+        if (high <= low) {
+            return 0L;
+        }
+        long bits = high - low == 64 ? -1L : (1L << (high - low)) - 1;
+        return bits << low;
+    }
+
+    record Span(LocalDate date, int from, int to) {
+    }
+
+    /**
+     * Occupied slots of one day and the booking holding each range.
+     */
+    private static final class Day {
+
+        long low;
+        long high;
+        final Map<Long, Span> spans = new HashMap<>();
+
+        void add(Long bookingId, Span span) {
+            spans.put(bookingId, span);
+            low |= mask(span.from(), span.to(), 0);
+            high |= mask(span.from(), span.to(), 64);
+        }
+
+        /**
+         * Recomputed from the remaining bookings, so bookings loaded with an
+         * overlap keep their slots when the other one is released.
+         */
+        void remove(Long bookingId) {
+            if (spans.remove(bookingId) == null) {
+                return;
+            }
+            low = 0;
+            high = 0;
+            for (Span span : spans.values()) {
+                low |= mask(span.from(), span.to(), 0);
+                high |= mask(span.from(), span.to(), 64);
+            }
+        }
+    }
+
+    private static final class ProviderCalendar {
+
+        final Map<LocalDate, Day> days = new HashMap<>();
+        final Map<Long, List<LocalDate>> bookings = new HashMap<>();
+        volatile long version;
+
+        void add(Long bookingId, List<Span> spans) {
+            version++;
+            List<LocalDate> dates = new ArrayList<>(spans.size());
+            for (Span span : spans) {
+                days.computeIfAbsent(span.date(), d -> new Day()).add(bookingId, span);
+                dates.add(span.date());
+            }
+            bookings.put(bookingId, dates);
+        }
+
+        void remove(Long bookingId) {
+            List<LocalDate> dates = bookings.remove(bookingId);
+            if (dates == null) {
+                return;
+            }
+            version++;
+            for (LocalDate date : dates) {
+                Day day = days.get(date);
+                if (day != null) {
+                    day.remove(bookingId);
+                    if (day.spans.isEmpty()) {
+                        days.remove(date);
+                    }
+                }
+            }
+        }
+
+        void pruneBefore(LocalDate keepFrom) {
+            days.keySet().removeIf(date -> date.isBefore(keepFrom));
+            Iterator<Map.Entry<Long, List<LocalDate>>> it = bookings.entrySet().iterator();
+            while (it.hasNext()) {
+                List<LocalDate> dates = it.next().getValue();
+                if (dates.get(dates.size() - 1).isBefore(keepFrom)) {
+                    it.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.ProviderDaySlots;
+import com.hirelink.repository.BookingRepository;
+import com.hirelink.repository.ProviderDaySlotsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Slots claimed by bookings, kept per provider and day in
+ * {@link ProviderDaySlots} rows shared by every node.
+ *
+ * A claim reads the rows of the days the booking touches by key, checks its
+ * slots against the two words with a mask each, and writes the rows back
+ * under their version. Of two claims of the same day, through any nodes, one
+ * commits and the other fails with an optimistic lock conflict, which
+ * {@link com.hirelink.config.RetryOnConflict} retries against the winner's
+ * slots. A day's row is created by its first claim, from the provider's
+ * bookings of the day and the day before (bookings made before the rows
+ * existed); two first claims race on the row's unique key, and the loser is
+ * retried the same way. Nothing is locked.
+ *
+ * Both methods run in the caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderSlotLedger {
+
+    private final ProviderDaySlotsRepository daySlotsRepository;
+    private final BookingRepository bookingRepository;
+    private final ProviderSlotCalendar calendar;
+
+    /**
+     * Claim the slots covering {@code [start, start + duration)}.
+     *
+     * @return false, claiming nothing, if any of the slots is already taken
+     */
+    public boolean claim(Long providerId, LocalDate date, LocalTime start, int durationMinutes) {
+        List<ProviderSlotCalendar.Span> spans = ProviderSlotCalendar.spans(date, start, durationMinutes);
+        List<ProviderDaySlots> rows = new ArrayList<>(spans.size());
+        for (ProviderSlotCalendar.Span span : spans) {
+            ProviderDaySlots row = daySlotsRepository.findByProviderIdAndSlotDate(providerId, span.date())
+                    .orElseGet(() -> newRow(providerId, span.date()));
+            if ((row.getSlotsLow() & ProviderSlotCalendar.mask(span.from(), span.to(), 0)) != 0
+                    || (row.getSlotsHigh() & ProviderSlotCalendar.mask(span.from(), span.to(), 64)) != 0) {
+                return false;
+            }
+            rows.add(row);
+        }
+        for (int i = 0; i < spans.size(); i++) {
+            ProviderSlotCalendar.Span span = spans.get(i);
+            ProviderDaySlots row = rows.get(i);
+            row.setSlotsLow(row.getSlotsLow() | ProviderSlotCalendar.mask(span.from(), span.to(), 0));
+            row.setSlotsHigh(row.getSlotsHigh() | ProviderSlotCalendar.mask(span.from(), span.to(), 64));
+        }
+        write(providerId, rows);
+        return true;
+    }
+
+    /**
+     * Give back the slots of a booking that stopped holding them. The caller
+     * must have saved the booking's new status: the days are recomputed from
+     * the provider's remaining bookings, so slots another booking still holds
+     * stay taken.
+     */
+    public void release(Long providerId, LocalDate date, LocalTime start, LocalTime end) {
+        List<ProviderDaySlots> rows = new ArrayList<>(2);
+        for (ProviderSlotCalendar.Span span : ProviderSlotCalendar.spans(date, start,
+                calendar.durationMinutes(start, end))) {
+            daySlotsRepository.findByProviderIdAndSlotDate(providerId, span.date()).ifPresent(row -> {
+                long[] occupied = occupancyFromBookings(providerId, span.date());
+                row.setSlotsLow(occupied[0]);
+                row.setSlotsHigh(occupied[1]);
+                rows.add(row);
+            });
+        }
+        write(providerId, rows);
+    }
+
+    private ProviderDaySlots newRow(Long providerId, LocalDate date) {
+        long[] occupied = occupancyFromBookings(providerId, date);
+        return ProviderDaySlots.builder()
+                .providerId(providerId)
+                .slotDate(date)
+                .slotsLow(occupied[0])
+                .slotsHigh(occupied[1])
+                .build();
+    }
+
+    private long[] occupancyFromBookings(Long providerId, LocalDate date) {
+        return calendar.occupancyOf(bookingRepository.findByProviderProviderIdAndScheduledDateBetweenAndBookingStatusIn(
+                providerId, date.minusDays(1), date, ProviderSlotCalendar.BLOCKING_STATUSES), date);
+    }
+
+    /**
+     * Flushed here so a lost race surfaces as a conflict of this method's caller.
+     */
+    private void write(Long providerId, List<ProviderDaySlots> rows) {
+        try {
+            daySlotsRepository.saveAllAndFlush(rows);
+        } catch (DataIntegrityViolationException e) {
+            throw new ObjectOptimisticLockingFailureException(
+                    "Slots of provider " + providerId + " were created concurrently", e);
+        }
+    }
+}
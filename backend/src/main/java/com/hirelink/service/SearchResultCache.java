@@ -0,0 +1,60 @@
+package com.hirelink.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Bounded cache of service search result pages, holding ranked service ids
+ * and the hit count (rows are still loaded by primary key per request, so
+ * prices and availability are never stale).
+ *
+ * Keys are the normalized query, mode, page and size plus the
+ * {@link CatalogVersion}, which is bumped whenever services or categories
+ * change. Caffeine's W-TinyLFU admission keeps the popular queries resident
+ * while one-off queries do not push them out. Hit and miss counts are
+ * published as the {@code cache.*} meters with tag {@code cache=service-search}.
+ */
+@Component
+public class SearchResultCache {
+
+    public static final String NAME = "service-search";
+
+    private final Cache<Key, ServiceSearchIndex.SearchPage> cache;
+    private final CatalogVersion catalogVersion;
+
+    public SearchResultCache(CatalogVersion catalogVersion, MeterRegistry meterRegistry,
+                             @Value("${hirelink.search.cache.max-entries:10000}") long maxEntries) {
+        this.catalogVersion = catalogVersion;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    /**
+     * Cached page for the query, computed by the loader from the normalized
+     * query on a miss.
+     */
+    public ServiceSearchIndex.SearchPage get(String query, boolean fuzzy, int page, int size,
+                                             Function<String, ServiceSearchIndex.SearchPage> loader) {
+        Key key = new Key(catalogVersion.current(), normalize(query), fuzzy, page, size);
+        return cache.get(key, k -> loader.apply(k.query()));
+    }
+
+    /**
+     * Case and whitespace do not change any search path's result.
+     */
+    static String normalize(String query) {
+        return query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    private record Key(long catalogVersion, String query, boolean fuzzy, int page, int size) {
+    }
+}
@@ -0,0 +1,312 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Service;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resident inverted index over active services for keyword search.
+ *
+ * Service name, category name, highlights and description are tokenized into
+ * per-term postings lists of (document, weighted term frequency). Queries are
+ * scored with BM25 over the field-weighted frequencies, then boosted by the
+ * service's average rating and booking count so that equally relevant services
+ * rank by quality and popularity.
+ *
+ * Documents get increasing ordinals, so postings stay sorted by appending.
+ * Replaced services leave a tombstone that is skipped at query time and dropped
+ * on the next rebuild. Reads are lock-free; writers are serialized and only
+ * append past the end of what published snapshots can see.
+ */
+@Component
+public class ServiceSearchIndex {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float HIGHLIGHTS_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double RATING_BOOST = 0.3;
+    private static final double POPULARITY_BOOST = 0.2;
+
+    private volatile Snapshot snapshot = Snapshot.empty();
+    private volatile boolean ready = false;
+
+    /**
+     * Replace the whole index, e.g. on startup or periodic refresh.
+     */
+    public synchronized void rebuild(Collection<Service> services) {
+        List<Document> documents = new ArrayList<>(services.size());
+        for (Service service : services) {
+            if (Boolean.TRUE.equals(service.getIsActive())) {
+                documents.add(toDocument(service));
+            }
+        }
+        snapshot = Snapshot.of(documents);
+        ready = true;
+    }
+
+    /**
+     * Add or replace one service, e.g. right after it was created.
+     */
+    public synchronized void upsert(Service service) {
+        Snapshot current = snapshot.without(service.getServiceId());
+        snapshot = Boolean.TRUE.equals(service.getIsActive()) ? current.with(toDocument(service)) : current;
+    }
+
+    public synchronized void remove(Long serviceId) {
+        snapshot = snapshot.without(serviceId);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return snapshot.ordinals().size();
+    }
+
+    /**
+     * Rank services for a free-text query.
+     *
+     * @return service ids of the requested page, best first, plus the total hit count
+     */
+    public SearchPage search(String query, int page, int size) {
+        return search(new LinkedHashSet<>(tokenize(query)), page, size);
+    }
+
+    /**
+     * Rank services for already tokenized terms, e.g. typo corrections from
+     * {@link TrigramIndex#correct}.
+     */
+    public SearchPage search(Set<String> terms, int page, int size) {
+        Snapshot current = snapshot;
+        if (terms.isEmpty() || current.liveCount() == 0) {
+            return new SearchPage(List.of(), 0);
+        }
+
+        int docCount = current.docs().length;
+        double avgLength = current.totalLength() / Math.max(1, current.liveCount());
+        float[] scores = new float[docCount];
+        int[] matched = new int[docCount];
+        int[] hits = new int[docCount];
+        int hitCount = 0;
+
+        for (String term : terms) {
+            Postings postings = current.postings().get(term);
+            if (postings == null) {
+                continue;
+            }
+            int df = postings.size();
+            double idf = Math.log(1 + (current.liveCount() - df + 0.5) / (df + 0.5));
+            for (int i = 0; i < postings.size(); i++) {
+                int ordinal = postings.docs()[i];
+                if (ordinal >= docCount) {
+                    break; // appended after this snapshot was taken
+                }
+                Document doc = current.docs()[ordinal];
+                if (doc == null) {
+                    continue;
+                }
+                double tf = postings.frequencies()[i];
+                double norm = K1 * (1 - B + B * doc.length() / avgLength);
+                if (matched[ordinal] == 0) {
+                    hits[hitCount++] = ordinal;
+                }
+                matched[ordinal]++;
+                scores[ordinal] += (float) (idf * tf * (K1 + 1) / (tf + norm));
+            }
+        }
+
+        // Prefer documents matching more of the query, then mix in quality signals
+        double maxBookedLog = Math.log1p(current.maxTimesBooked());
+        Integer[] ranked = new Integer[hitCount];
+        for (int i = 0; i < hitCount; i++) {
+            int ordinal = hits[i];
+            Document doc = current.docs()[ordinal];
+            double coverage = (double) matched[ordinal] / terms.size();
+            double popularity = maxBookedLog > 0 ? Math.log1p(doc.timesBooked()) / maxBookedLog : 0;
+            scores[ordinal] = (float) (scores[ordinal] * coverage
+                    * (1 + RATING_BOOST * doc.rating() / 5.0 + POPULARITY_BOOST * popularity));
+            ranked[i] = ordinal;
+        }
+        Arrays.sort(ranked, (a, b) -> Float.compare(scores[b], scores[a]));
+
+        int from = Math.min(page * size, hitCount);
+        int to = Math.min(from + size, hitCount);
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(current.docs()[ranked[i]].serviceId());
+        }
+        return new SearchPage(ids, hitCount);
+    }
+
+    /**
+     * Lower-case alphanumeric tokens with a light plural strip, shared by
+     * indexing and querying so both sides agree.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean word = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                addToken(tokens, text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, String token) {
+        if (token.length() < 2) {
+            return;
+        }
+        if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss")) {
+            token = token.substring(0, token.length() - 1);
+        }
+        tokens.add(token);
+    }
+
+    private static Document toDocument(Service service) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        length += addField(frequencies, service.getServiceName(), NAME_WEIGHT);
+        if (service.getCategory() != null) {
+            length += addField(frequencies, service.getCategory().getCategoryName(), CATEGORY_WEIGHT);
+        }
+        // Highlights are stored as a JSON array; punctuation is dropped by the tokenizer
+        length += addField(frequencies, service.getServiceHighlights(), HIGHLIGHTS_WEIGHT);
+        length += addField(frequencies, service.getServiceDescription(), DESCRIPTION_WEIGHT);
+
+        BigDecimal rating = service.getAverageRating();
+        return new Document(
+                service.getServiceId(),
+                length,
+                rating != null ? rating.floatValue() : 0f,
+                service.getTimesBooked() != null ? service.getTimesBooked() : 0,
+                frequencies);
+    }
+
+    private static float addField(Map<String, Float> frequencies, String text, float weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    /**
+     * One indexed service. Term frequencies are only kept until the document is
+     * written into the postings.
+     */
+    private record Document(Long serviceId, float length, float rating, int timesBooked,
+                            Map<String, Float> frequencies) {
+    }
+
+    /**
+     * Postings list sorted by document ordinal. Only the first {@code size} slots
+     * are visible; appending writes past them (growing the arrays when full), so
+     * holders of an older, shorter view are unaffected.
+     */
+    private record Postings(int[] docs, float[] frequencies, int size) {
+
+        static Postings of(int ordinal, float frequency) {
+            return new Postings(new int[]{ordinal, 0}, new float[]{frequency, 0f}, 1);
+        }
+
+        Postings append(int ordinal, float frequency) {
+            int[] targetDocs = docs;
+            float[] targetFrequencies = frequencies;
+            if (size == docs.length) {
+                targetDocs = Arrays.copyOf(docs, size * 2);
+                targetFrequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            targetDocs[size] = ordinal;
+            targetFrequencies[size] = frequency;
+            return new Postings(targetDocs, targetFrequencies, size + 1);
+        }
+    }
+
+    /**
+     * Index state. {@link #with} and {@link #without} share the unchanged
+     * postings with the previous snapshot.
+     */
+    private record Snapshot(Document[] docs, Map<Long, Integer> ordinals, Map<String, Postings> postings,
+                            int liveCount, double totalLength, int maxTimesBooked) {
+
+        static Snapshot empty() {
+            return of(List.of());
+        }
+
+        static Snapshot of(List<Document> documents) {
+            Document[] docs = new Document[documents.size()];
+            Map<Long, Integer> ordinals = new ConcurrentHashMap<>();
+            Map<String, Postings> postings = new ConcurrentHashMap<>();
+            double totalLength = 0;
+            int maxTimesBooked = 0;
+            for (int ordinal = 0; ordinal < docs.length; ordinal++) {
+                Document doc = documents.get(ordinal);
+                docs[ordinal] = index(doc, ordinal, postings);
+                ordinals.put(doc.serviceId(), ordinal);
+                totalLength += doc.length();
+                maxTimesBooked = Math.max(maxTimesBooked, doc.timesBooked());
+            }
+            return new Snapshot(docs, ordinals, postings, docs.length, totalLength, maxTimesBooked);
+        }
+
+        Snapshot with(Document doc) {
+            int ordinal = docs.length;
+            Document[] grown = Arrays.copyOf(docs, ordinal + 1);
+            grown[ordinal] = index(doc, ordinal, postings);
+            ordinals.put(doc.serviceId(), ordinal);
+            return new Snapshot(grown, ordinals, postings, liveCount + 1, totalLength + doc.length(),
+                    Math.max(maxTimesBooked, doc.timesBooked()));
+        }
+
+        /**
+         * Write a document's terms into the postings and return it without them.
+         */
+        private static Document index(Document doc, int ordinal, Map<String, Postings> postings) {
+            doc.frequencies().forEach((term, frequency) -> postings.compute(term, (t, existing) ->
+                    existing == null ? Postings.of(ordinal, frequency) : existing.append(ordinal, frequency)));
+            return new Document(doc.serviceId(), doc.length(), doc.rating(), doc.timesBooked(), Map.of());
+        }
+
+        Snapshot without(Long serviceId) {
+            Integer ordinal = ordinals.remove(serviceId);
+            if (ordinal == null) {
+                return this;
+            }
+            Document removed = docs[ordinal];
+            Document[] copy = docs.clone();
+            copy[ordinal] = null;
+            return new Snapshot(copy, ordinals, postings, liveCount - 1, totalLength - removed.length(),
+                    maxTimesBooked);
+        }
+    }
+
+    /**
+     * One page of ranked service ids and the total number of matches.
+     */
+    public record SearchPage(List<Long> serviceIds, long total) {
+    }
+}
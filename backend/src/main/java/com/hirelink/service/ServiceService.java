@@ -7,20 +7,30 @@ import com.hirelink.dto.ServiceDTO;
 import com.hirelink.entity.Service;
 import com.hirelink.entity.ServiceCategory;
 import com.hirelink.entity.ServiceProvider;
+import com.hirelink.event.CatalogChangedEvent;
 import com.hirelink.exception.ResourceNotFoundException;
 import com.hirelink.repository.ServiceCategoryRepository;
 import com.hirelink.repository.ServiceProviderRepository;
 import com.hirelink.repository.ServiceRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
 public class ServiceService {
@@ -29,6 +39,19 @@ public class ServiceService {
     private final ServiceCategoryRepository categoryRepository;
     private final ServiceProviderRepository providerRepository;
     private final ObjectMapper objectMapper;
+    private final ServiceSearchIndex serviceSearchIndex;
+    private final TrigramIndex trigramIndex;
+    private final SearchResultCache searchResultCache;
+    private final CatalogVersion catalogVersion;
+
+    @Value("${hirelink.search.index.enabled:true}")
+    private boolean searchIndexEnabled;
+
+    @Value("${hirelink.search.query-mode:like}")
+    private String searchQueryMode;
+
+    @Value("${hirelink.search.cache.enabled:true}")
+    private boolean searchCacheEnabled;
 
     public ServiceDTO.ServiceListResponse getServicesByCategory(Long categoryId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
@@ -58,11 +81,81 @@ public class ServiceService {
         return mapToServiceResponse(service);
     }
 
-    public ServiceDTO.ServiceListResponse searchServices(String query, int page, int size) {
+    /**
+     * @param fuzzy correct misspelled words against the service and category name
+     *              vocabulary before ranking; ignored when the search index is off
+     */
+    @Transactional(readOnly = true)
+    public ServiceDTO.ServiceListResponse searchServices(String query, boolean fuzzy, int page, int size) {
+        ServiceSearchIndex.SearchPage hits = searchCacheEnabled
+                ? searchResultCache.get(query, fuzzy, page, size, q -> findSearchHits(q, fuzzy, page, size))
+                : findSearchHits(query, fuzzy, page, size);
+        return toSearchResponse(hits, page, size);
+    }
+
+    private ServiceSearchIndex.SearchPage findSearchHits(String query, boolean fuzzy, int page, int size) {
+        if (searchIndexEnabled && serviceSearchIndex.isReady()) {
+            return fuzzy
+                    ? serviceSearchIndex.search(trigramIndex.correct(query), page, size)
+                    : serviceSearchIndex.search(query, page, size);
+        }
+
         Pageable pageable = PageRequest.of(page, size);
-        Page<Service> servicePage = serviceRepository.searchServices(query, pageable);
-        
-        return mapToServiceListResponse(servicePage);
+        String fullTextQuery = FullTextQuery.MODE.equalsIgnoreCase(searchQueryMode)
+                ? FullTextQuery.booleanQuery(query) : null;
+        Page<Long> ids = fullTextQuery != null
+                ? serviceRepository.searchServiceIdsFullText(fullTextQuery, pageable)
+                : serviceRepository.searchServiceIds(query, pageable);
+        return new ServiceSearchIndex.SearchPage(ids.getContent(), ids.getTotalElements());
+    }
+
+    /**
+     * Load only the services on the requested page of hits, in rank order.
+     */
+    private ServiceDTO.ServiceListResponse toSearchResponse(ServiceSearchIndex.SearchPage hits, int page, int size) {
+        List<ServiceDTO.ServiceResponse> services = Collections.emptyList();
+        long total = hits.total();
+        if (!hits.serviceIds().isEmpty()) {
+            Map<Long, Service> loaded = serviceRepository.findAllByIdInWithDetails(hits.serviceIds()).stream()
+                    .collect(Collectors.toMap(Service::getServiceId, Function.identity()));
+            services = hits.serviceIds().stream()
+                    .map(loaded::get)
+                    .filter(s -> s != null && Boolean.TRUE.equals(s.getIsActive()))
+                    .map(this::mapToServiceResponse)
+                    .collect(Collectors.toList());
+            // Hits (possibly cached) may include services deactivated or deleted
+            // since; they are not shown, so they are not counted either
+            total = Math.max(0, total - (hits.serviceIds().size() - services.size()));
+        }
+
+        return ServiceDTO.ServiceListResponse.builder()
+                .services(services)
+                .page(page)
+                .size(size)
+                .total(total)
+                .totalPages(size > 0 ? (int) ((total + size - 1) / size) : 0)
+                .build();
+    }
+
+    /**
+     * Build the search index on startup and rebuild it periodically so rating
+     * and booking counts used for ranking stay reasonably fresh.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${hirelink.search.index.refresh-interval-ms:600000}",
+            fixedDelayString = "${hirelink.search.index.refresh-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void rebuildSearchIndex() {
+        if (!searchIndexEnabled) {
+            return;
+        }
+        List<Service> services = serviceRepository.findAllActiveWithCategory();
+        serviceSearchIndex.rebuild(services);
+        trigramIndex.rebuild(services);
+        // Rankings moved with the refreshed ratings and booking counts
+        catalogVersion.bump();
+        log.info("Service search index built with {} services and {} name words",
+                serviceSearchIndex.size(), trigramIndex.size());
     }
 
     public ServiceDTO.ServiceListResponse getPopularServices(int page, int size) {
@@ -118,10 +211,37 @@ public class ServiceService {
                 .materialsDescription(request.getMaterialsDescription())
                 .build();
 
+        // CatalogEntityListener publishes the change, see onCatalogChanged
         service = serviceRepository.save(service);
         return mapToServiceResponse(service);
     }
 
+    /**
+     * Keep the search index in step with every saved or deleted service, and
+     * with category renames (category names are indexed with each service).
+     * The catalog version moves only once the index has changed: moved first,
+     * a concurrent search could cache the old result under the new version.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (searchIndexEnabled && event.getId() != null) {
+            if (event.getType() == CatalogChangedEvent.Type.SERVICE) {
+                serviceRepository.findByIdWithDetails(event.getId()).ifPresentOrElse(this::reindex,
+                        () -> serviceSearchIndex.remove(event.getId()));
+            } else if (event.getType() == CatalogChangedEvent.Type.CATEGORY) {
+                serviceRepository.findAllByCategoryIdWithCategory(event.getId()).forEach(this::reindex);
+            }
+        }
+        catalogVersion.bump();
+    }
+
+    private void reindex(Service service) {
+        serviceSearchIndex.upsert(service);
+        if (Boolean.TRUE.equals(service.getIsActive())) {
+            trigramIndex.add(service);
+        }
+    }
+
     private ServiceDTO.ServiceListResponse mapToServiceListResponse(Page<Service> servicePage) {
         List<ServiceDTO.ServiceResponse> services = servicePage.getContent().stream()
                 .map(this::mapToServiceResponse)
@@ -0,0 +1,238 @@
+package com.hirelink.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typeahead index over catalog names.
+ *
+ * Every word start of every normalized name becomes a key ("ac repair" is
+ * reachable from "ac" and "repair"), and all keys live in one sorted array, so
+ * the keys sharing a prefix are a contiguous range found with two binary
+ * searches. Names that occur more than once within a type (many providers
+ * offer "AC Repair") collapse into one suggestion whose score is the sum of its
+ * members' popularity.
+ *
+ * One and two character prefixes match large ranges, so their best suggestions
+ * are ranked once at build time; longer prefixes scan their range and keep the
+ * top entries. The whole structure is immutable and replaced in one volatile
+ * write, so readers never see a half-built index.
+ */
+@Component
+public class SuggestionIndex {
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final int PRECOMPUTED_PREFIX_LENGTH = 2;
+    private static final int MAX_WORDS_PER_NAME = 8;
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+    private volatile boolean ready = false;
+
+    public void rebuild(Collection<Candidate> candidates) {
+        snapshot = Snapshot.build(candidates);
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return snapshot.suggestions().length;
+    }
+
+    /**
+     * Most popular suggestions having a word that starts with the query.
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        int max = Math.max(1, Math.min(MAX_LIMIT, limit));
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        int[] ranked = prefix.length() <= PRECOMPUTED_PREFIX_LENGTH
+                ? current.topByPrefix().getOrDefault(prefix, new int[0])
+                : current.rank(prefix, max);
+
+        List<Suggestion> result = new ArrayList<>(Math.min(max, ranked.length));
+        for (int i = 0; i < ranked.length && result.size() < max; i++) {
+            result.add(current.suggestions()[ranked[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Lower-case letters and digits separated by single spaces.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A catalog name to index. Candidates with the same type and normalized
+     * label are merged; the id and slug of the most popular one are kept.
+     */
+    public record Candidate(Type type, Long id, String label, String slug, long score) {
+    }
+
+    public record Suggestion(Type type, Long id, String label, String slug, long score, int count) {
+    }
+
+    /**
+     * Declared in tie-break order: on equal scores categories come first.
+     */
+    public enum Type {
+        CATEGORY, SERVICE, PROVIDER
+    }
+
+    /**
+     * Sorted keys with the suggestion ordinal each key points to, plus the
+     * precomputed rankings for short prefixes.
+     */
+    private record Snapshot(String[] keys, int[] targets, Suggestion[] suggestions,
+                            Map<String, int[]> topByPrefix) {
+
+        static Snapshot build(Collection<Candidate> candidates) {
+            Suggestion[] suggestions = merge(candidates);
+
+            List<Key> keyList = new ArrayList<>();
+            for (int ordinal = 0; ordinal < suggestions.length; ordinal++) {
+                String name = normalize(suggestions[ordinal].label());
+                int words = 0;
+                for (int start = 0; start < name.length() && words < MAX_WORDS_PER_NAME; words++) {
+                    keyList.add(new Key(name.substring(start), ordinal));
+                    int space = name.indexOf(' ', start);
+                    if (space < 0) {
+                        break;
+                    }
+                    start = space + 1;
+                }
+            }
+            keyList.sort((a, b) -> a.key().compareTo(b.key()));
+
+            String[] keys = new String[keyList.size()];
+            int[] targets = new int[keyList.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = keyList.get(i).key();
+                targets[i] = keyList.get(i).ordinal();
+            }
+
+            Snapshot partial = new Snapshot(keys, targets, suggestions, Map.of());
+            Map<String, int[]> topByPrefix = new HashMap<>();
+            for (String key : keys) {
+                for (int length = 1; length <= Math.min(PRECOMPUTED_PREFIX_LENGTH, key.length()); length++) {
+                    String prefix = key.substring(0, length);
+                    if (!prefix.endsWith(" ") && !topByPrefix.containsKey(prefix)) {
+                        topByPrefix.put(prefix, partial.rank(prefix, MAX_LIMIT));
+                    }
+                }
+            }
+            return new Snapshot(keys, targets, suggestions, topByPrefix);
+        }
+
+        private static Suggestion[] merge(Collection<Candidate> candidates) {
+            Map<String, Suggestion> merged = new HashMap<>();
+            for (Candidate candidate : candidates) {
+                String name = normalize(candidate.label());
+                if (name.isEmpty()) {
+                    continue;
+                }
+                long score = Math.max(0, candidate.score());
+                String label = candidate.label().trim().replaceAll("\\s+", " ");
+                Suggestion single = new Suggestion(candidate.type(), candidate.id(), label, candidate.slug(), score, 1);
+                merged.merge(candidate.type() + ":" + name, single, (a, b) -> {
+                    Suggestion best = b.score() > a.score() ? b : a;
+                    return new Suggestion(best.type(), best.id(), best.label(), best.slug(),
+                            a.score() + b.score(), a.count() + b.count());
+                });
+            }
+            return merged.values().toArray(new Suggestion[0]);
+        }
+
+        /**
+         * Best suggestions among the keys starting with the prefix.
+         */
+        int[] rank(String prefix, int limit) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + Character.MAX_VALUE);
+            if (from >= to) {
+                return new int[0];
+            }
+            int[] ordinals = new int[to - from];
+            for (int i = from; i < to; i++) {
+                ordinals[i - from] = targets[i];
+            }
+            // A name can match through several of its words; keep it once
+            Arrays.sort(ordinals);
+            int distinct = 0;
+            for (int i = 0; i < ordinals.length; i++) {
+                if (i == 0 || ordinals[i] != ordinals[i - 1]) {
+                    ordinals[distinct++] = ordinals[i];
+                }
+            }
+            Integer[] boxed = new Integer[distinct];
+            for (int i = 0; i < distinct; i++) {
+                boxed[i] = ordinals[i];
+            }
+            Arrays.sort(boxed, (a, b) -> compare(suggestions[a], suggestions[b]));
+
+            int[] top = new int[Math.min(limit, distinct)];
+            for (int i = 0; i < top.length; i++) {
+                top[i] = boxed[i];
+            }
+            return top;
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int compare(Suggestion a, Suggestion b) {
+            int byScore = Long.compare(b.score(), a.score());
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byType = a.type().compareTo(b.type());
+            return byType != 0 ? byType : a.label().compareToIgnoreCase(b.label());
+        }
+    }
+
+    private record Key(String key, int ordinal) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.hirelink.service;
+
+import com.hirelink.dto.SearchDTO;
+import com.hirelink.entity.Service;
+import com.hirelink.entity.ServiceCategory;
+import com.hirelink.event.CatalogChangedEvent;
+import com.hirelink.repository.ServiceCategoryRepository;
+import com.hirelink.repository.ServiceProviderRepository;
+import com.hirelink.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead suggestions for the search bar, answered from {@link SuggestionIndex}.
+ *
+ * Popularity is bookings: times booked for a service name, the sum over its
+ * services for a category, and total bookings for a provider. Catalog changes
+ * only mark the index stale; a short scheduled check rebuilds it, so a burst of
+ * edits costs one rebuild.
+ */
+@Slf4j
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+public class SuggestionService {
+
+    private final ServiceRepository serviceRepository;
+    private final ServiceCategoryRepository categoryRepository;
+    private final ServiceProviderRepository providerRepository;
+    private final SuggestionIndex suggestionIndex;
+
+    private final AtomicBoolean stale = new AtomicBoolean(false);
+
+    public SearchDTO.SuggestResponse suggest(String query, int limit) {
+        List<SearchDTO.Suggestion> suggestions = suggestionIndex.suggest(query, limit).stream()
+                .map(s -> SearchDTO.Suggestion.builder()
+                        .type(s.type().name())
+                        .label(s.label())
+                        .id(s.id())
+                        .slug(s.slug())
+                        .count(s.count())
+                        .popularity(s.score())
+                        .build())
+                .collect(Collectors.toList());
+
+        return SearchDTO.SuggestResponse.builder()
+                .query(query)
+                .suggestions(suggestions)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        stale.set(true);
+    }
+
+    @Scheduled(initialDelayString = "${hirelink.search.suggest.rebuild-delay-ms:5000}",
+            fixedDelayString = "${hirelink.search.suggest.rebuild-delay-ms:5000}")
+    public void rebuildIfStale() {
+        if (stale.getAndSet(false)) {
+            rebuildSuggestions();
+        }
+    }
+
+    /**
+     * Full rebuild on startup and periodically, which also refreshes the
+     * booking counts used for ranking.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${hirelink.search.suggest.refresh-interval-ms:600000}",
+            fixedDelayString = "${hirelink.search.suggest.refresh-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void rebuildSuggestions() {
+        List<SuggestionIndex.Candidate> candidates = new ArrayList<>();
+        Map<Long, Long> bookingsByCategory = new HashMap<>();
+
+        for (Service service : serviceRepository.findAllActiveWithCategory()) {
+            long booked = service.getTimesBooked() != null ? service.getTimesBooked() : 0;
+            candidates.add(new SuggestionIndex.Candidate(SuggestionIndex.Type.SERVICE,
+                    service.getServiceId(), service.getServiceName(), null, booked));
+            if (service.getCategory() != null) {
+                bookingsByCategory.merge(service.getCategory().getCategoryId(), booked, Long::sum);
+            }
+        }
+
+        for (ServiceCategory category : categoryRepository.findAllActiveSorted()) {
+            candidates.add(new SuggestionIndex.Candidate(SuggestionIndex.Type.CATEGORY,
+                    category.getCategoryId(), category.getCategoryName(), category.getCategorySlug(),
+                    bookingsByCategory.getOrDefault(category.getCategoryId(), 0L)));
+        }
+
+        for (Object[] row : providerRepository.findActiveBusinessNames()) {
+            Number bookings = (Number) row[2];
+            candidates.add(new SuggestionIndex.Candidate(SuggestionIndex.Type.PROVIDER,
+                    (Long) row[0], (String) row[1], null, bookings != null ? bookings.longValue() : 0));
+        }
+
+        suggestionIndex.rebuild(candidates);
+        log.info("Search suggestions built with {} entries", suggestionIndex.size());
+    }
+}
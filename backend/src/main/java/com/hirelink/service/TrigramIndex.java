@@ -0,0 +1,255 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Service;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Typo-tolerant lookup of the words used in service and category names.
+ *
+ * Each distinct name word is split into padded trigrams ("plumber" gives
+ * " pl", "plu", ..., "er "), and every trigram keeps the sorted list of
+ * words containing it. A misspelled query word collects the words sharing
+ * enough of its trigrams, and only those few candidates are re-ranked by edit
+ * distance, so no pass over the vocabulary is needed.
+ *
+ * Words go through {@link ServiceSearchIndex#tokenize} so corrections can be
+ * fed straight into the keyword index. The vocabulary only grows between
+ * rebuilds; each change publishes a new immutable snapshot.
+ */
+@Component
+public class TrigramIndex {
+
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final int MAX_CANDIDATES = 32;
+    private static final int MAX_CORRECTIONS = 3;
+
+    private volatile Snapshot snapshot = Snapshot.of(Set.of());
+
+    public synchronized void rebuild(Collection<Service> services) {
+        Set<String> words = new HashSet<>();
+        for (Service service : services) {
+            addWords(words, service);
+        }
+        snapshot = Snapshot.of(words);
+    }
+
+    /**
+     * Add the name words of one service, e.g. right after it was created.
+     */
+    public synchronized void add(Service service) {
+        Set<String> words = new HashSet<>(Arrays.asList(snapshot.words()));
+        if (addWords(words, service)) {
+            snapshot = Snapshot.of(words);
+        }
+    }
+
+    public int size() {
+        return snapshot.words().length;
+    }
+
+    /**
+     * Rewrite a query into indexed terms. Words known to the name vocabulary are
+     * kept; unknown words are replaced by their closest vocabulary words, or kept
+     * as typed when nothing is close enough (they may still match a description).
+     */
+    public Set<String> correct(String query) {
+        Snapshot current = snapshot;
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : ServiceSearchIndex.tokenize(query)) {
+            if (current.contains(token)) {
+                terms.add(token);
+                continue;
+            }
+            List<String> corrections = current.closest(token);
+            if (corrections.isEmpty()) {
+                terms.add(token);
+            } else {
+                terms.addAll(corrections);
+            }
+        }
+        return terms;
+    }
+
+    private static boolean addWords(Set<String> words, Service service) {
+        boolean added = false;
+        for (String token : ServiceSearchIndex.tokenize(service.getServiceName())) {
+            added |= words.add(token);
+        }
+        if (service.getCategory() != null) {
+            for (String token : ServiceSearchIndex.tokenize(service.getCategory().getCategoryName())) {
+                added |= words.add(token);
+            }
+        }
+        return added;
+    }
+
+    static List<String> trigrams(String word) {
+        String padded = " " + word + " ";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Edits allowed for a word of this length: one for short words, up to three
+     * for long trade names like "electrician".
+     */
+    static int maxEdits(int length) {
+        return length <= 4 ? 1 : length <= 8 ? 2 : 3;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent
+     * transpositions), giving up once it exceeds {@code limit}.
+     */
+    static int editDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Vocabulary ordered by length, and trigram postings of word ordinals. A word
+     * within k edits differs in length by at most k, so lookups only read the
+     * slice of each postings list inside that length window.
+     */
+    private record Snapshot(String[] words, Set<String> vocabulary, int[] firstOfLength,
+                            Map<String, int[]> postings) {
+
+        static Snapshot of(Set<String> vocabulary) {
+            String[] words = vocabulary.toArray(new String[0]);
+            Arrays.sort(words, (a, b) -> a.length() != b.length() ? a.length() - b.length() : a.compareTo(b));
+            int maxLength = words.length > 0 ? words[words.length - 1].length() : 0;
+            int[] firstOfLength = new int[maxLength + 2];
+            for (int length = 0, ordinal = 0; length <= maxLength + 1; length++) {
+                while (ordinal < words.length && words[ordinal].length() < length) {
+                    ordinal++;
+                }
+                firstOfLength[length] = ordinal;
+            }
+
+            Map<String, List<Integer>> lists = new HashMap<>();
+            for (int ordinal = 0; ordinal < words.length; ordinal++) {
+                for (String gram : new HashSet<>(trigrams(words[ordinal]))) {
+                    lists.computeIfAbsent(gram, g -> new ArrayList<>()).add(ordinal);
+                }
+            }
+            Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+            lists.forEach((gram, ordinals) -> postings.put(gram, ordinals.stream().mapToInt(Integer::intValue).toArray()));
+            return new Snapshot(words, Set.copyOf(vocabulary), firstOfLength, postings);
+        }
+
+        boolean contains(String word) {
+            return vocabulary.contains(word);
+        }
+
+        /**
+         * Vocabulary words at the smallest edit distance within the allowed
+         * number of edits, at most {@link #MAX_CORRECTIONS} of them.
+         */
+        List<String> closest(String token) {
+            int limit = maxEdits(token.length());
+            int from = firstOf(token.length() - limit);
+            int to = firstOf(token.length() + limit + 1);
+            if (from >= to) {
+                return List.of();
+            }
+
+            Set<String> grams = new HashSet<>(trigrams(token));
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (String gram : grams) {
+                int[] ordinals = postings.get(gram);
+                if (ordinals == null) {
+                    continue;
+                }
+                int start = lowerBound(ordinals, from);
+                for (int i = start; i < ordinals.length && ordinals[i] < to; i++) {
+                    shared.merge(ordinals[i], 1, Integer::sum);
+                }
+            }
+
+            // Dice similarity on trigram sets picks the candidates worth an edit distance
+            List<int[]> candidates = new ArrayList<>();
+            shared.forEach((ordinal, count) -> {
+                int wordGrams = words[ordinal].length(); // distinct in all but repetitive words
+                double similarity = 2.0 * count / (grams.size() + wordGrams);
+                if (similarity >= MIN_SIMILARITY) {
+                    candidates.add(new int[]{ordinal, count});
+                }
+            });
+            candidates.sort((a, b) -> Integer.compare(b[1], a[1]));
+
+            int best = limit + 1;
+            List<String> closest = new ArrayList<>();
+            for (int i = 0; i < Math.min(MAX_CANDIDATES, candidates.size()); i++) {
+                String word = words[candidates.get(i)[0]];
+                int distance = editDistance(token, word, Math.min(limit, best));
+                if (distance < best) {
+                    best = distance;
+                    closest.clear();
+                }
+                if (distance == best && distance <= limit && closest.size() < MAX_CORRECTIONS) {
+                    closest.add(word);
+                }
+            }
+            return closest;
+        }
+
+        private int firstOf(int length) {
+            return firstOfLength[Math.max(0, Math.min(firstOfLength.length - 1, length))];
+        }
+
+        private static int lowerBound(int[] sorted, int value) {
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sorted[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.hirelink.service;
+
+import com.hirelink.dto.ProviderDTO;
+import com.hirelink.entity.Booking;
+import com.hirelink.entity.ServiceProvider;
+import com.hirelink.event.BookingSnapshotCompletedEvent;
+import com.hirelink.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AvailabilityServiceTest {
+
+    private static final int DAY_START_SLOT = 32; // 08:00
+    private static final int DAY_END_SLOT = 80;   // 20:00
+    private static final LocalDate DAY = LocalDate.now().plusDays(2);
+
+    private final ProviderSlotCalendar calendar = new ProviderSlotCalendar(60);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final AvailabilityService service = new AvailabilityService(calendar, null, null, bookingRepository,
+            new SimpleMeterRegistry(), "08:00", "20:00", 14, 50, 1000);
+
+    @Test
+    void freeDayOffersEveryStartThatEndsByClosing() {
+        long[] starts = service.openStarts(new long[2], 4);
+
+        assertThat(starts).containsExactly(ProviderSlotCalendar.mask(DAY_START_SLOT, DAY_END_SLOT - 3, 0),
+                ProviderSlotCalendar.mask(DAY_START_SLOT, DAY_END_SLOT - 3, 64));
+    }
+
+    @Test
+    void bookingSplitsTheDay() {
+        // 10:00-11:00 taken
+        long[] occupied = {ProviderSlotCalendar.mask(40, 44, 0), 0};
+
+        long[] starts = service.openStarts(occupied, 4);
+
+        assertThat(starts).containsExactly(
+                ProviderSlotCalendar.mask(32, 37, 0) | ProviderSlotCalendar.mask(44, 77, 0),
+                ProviderSlotCalendar.mask(44, 77, 64));
+    }
+
+    @Test
+    void openStartsMatchesSlotBySlotCheck() {
+        Random random = new Random(11);
+        for (int round = 0; round < 5_000; round++) {
+            long[] occupied = {random.nextLong() & random.nextLong(), random.nextLong() & random.nextLong()};
+            int length = 1 + random.nextInt(ProviderSlotCalendar.SLOTS_PER_DAY);
+
+            assertThat(service.openStarts(occupied, length)).containsExactly(slotBySlot(occupied, length));
+        }
+    }
+
+    @Test
+    void bookingsAreLoadedFromTheDatabaseWhileTheCalendarIsNotReady() {
+        when(bookingRepository.findByProviderProviderIdInAndScheduledDateBetweenAndBookingStatusIn(
+                Set.of(5L), DAY.minusDays(1), DAY, ProviderSlotCalendar.BLOCKING_STATUSES))
+                .thenReturn(List.of(booking(5L, 100L, LocalTime.of(9, 0), LocalTime.of(10, 0))));
+
+        ProviderDTO.AvailabilityResponse response = service.getAvailability(List.of(5L), 60, DAY, DAY).get(0);
+
+        List<LocalTime> startTimes = response.getDays().get(0).getStartTimes();
+        assertThat(startTimes).contains(LocalTime.of(8, 0), LocalTime.of(10, 0));
+        assertThat(startTimes).doesNotContain(LocalTime.of(8, 15), LocalTime.of(9, 0), LocalTime.of(9, 45));
+    }
+
+    @Test
+    void bookingsOfOtherNodesAreSeenOnceTheCalendarIsReady() {
+        calendar.onSnapshotCompleted(new BookingSnapshotCompletedEvent(0));
+        // Held through this node, then cancelled elsewhere; another node booked 14:00-15:00
+        calendar.hold(5L, 100L, DAY, LocalTime.of(9, 0), 60);
+        when(bookingRepository.findByProviderProviderIdInAndScheduledDateBetweenAndBookingStatusIn(
+                Set.of(5L), DAY.minusDays(1), DAY, ProviderSlotCalendar.BLOCKING_STATUSES))
+                .thenReturn(List.of(booking(5L, 101L, LocalTime.of(14, 0), LocalTime.of(15, 0))));
+
+        ProviderDTO.AvailabilityResponse response = service.getAvailability(List.of(5L), 60, DAY, DAY).get(0);
+
+        List<LocalTime> startTimes = response.getDays().get(0).getStartTimes();
+        assertThat(startTimes).contains(LocalTime.of(9, 0), LocalTime.of(15, 0));
+        assertThat(startTimes).doesNotContain(LocalTime.of(13, 15), LocalTime.of(14, 0));
+    }
+
+    private static long[] slotBySlot(long[] occupied, int length) {
+        long[] starts = new long[2];
+        for (int start = 0; start + length <= ProviderSlotCalendar.SLOTS_PER_DAY; start++) {
+            boolean open = true;
+            for (int slot = start; slot < start + length && open; slot++) {
+                boolean taken = (occupied[slot / 64] & (1L << (slot % 64))) != 0;
+                open = !taken && slot >= DAY_START_SLOT && slot < DAY_END_SLOT;
+            }
+            if (open) {
+                starts[start / 64] |= 1L << (start % 64);
+            }
+        }
+        return starts;
+    }
+
+    private static Booking booking(Long providerId, Long bookingId, LocalTime start, LocalTime end) {
+        return Booking.builder()
+                .bookingId(bookingId)
+                .provider(ServiceProvider.builder().providerId(providerId).build())
+                .scheduledDate(DAY)
+                .scheduledTime(start)
+                .scheduledEndTime(end)
+                .build();
+    }
+}
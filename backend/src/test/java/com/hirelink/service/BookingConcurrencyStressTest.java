@@ -0,0 +1,393 @@
+package com.hirelink.service;
+
+import com.hirelink.config.RetryOnConflict;
+import com.hirelink.dto.ApiResponse;
+import com.hirelink.dto.BookingDTO;
+import com.hirelink.entity.Booking;
+import com.hirelink.entity.Booking.BookingStatus;
+import com.hirelink.entity.Service;
+import com.hirelink.entity.ServiceCategory;
+import com.hirelink.entity.ServiceProvider;
+import com.hirelink.entity.User;
+import com.hirelink.exception.BadRequestException;
+import com.hirelink.exception.GlobalExceptionHandler;
+import com.hirelink.repository.BookingRepository;
+import com.hirelink.repository.ServiceCategoryRepository;
+import com.hirelink.repository.ServiceProviderRepository;
+import com.hirelink.repository.ServiceRepository;
+import com.hirelink.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Many threads writing the same booking or the same provider's schedule at
+ * once, against an in-memory H2 database in MySQL mode. Checks that optimistic
+ * lock conflicts are retried a bounded number of times, that no status change
+ * is lost, that a slot is booked only once, and that conflicts still failing
+ * after the retries become a 409. Every statement of the worker threads is
+ * inspected to show that none of it takes a row lock (SELECT ... FOR UPDATE).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stress;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.hirelink.service.BookingConcurrencyStressTest$LockingStatements",
+        "hirelink.conflict-retry.initial-backoff-ms=1",
+        "hirelink.conflict-retry.max-backoff-ms=20"
+})
+@ActiveProfiles("embedded")
+class BookingConcurrencyStressTest {
+
+    private static final int THREADS = 8;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String METRIC = "hirelink.optimistic.conflicts";
+    private static final String WORKER_PREFIX = "stress-worker-";
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ServiceProviderRepository providerRepository;
+    @Autowired
+    private ServiceCategoryRepository categoryRepository;
+    @Autowired
+    private ServiceRepository serviceRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private AlwaysConflicting alwaysConflicting;
+
+    private ServiceProvider provider;
+    private Service service;
+
+    @BeforeEach
+    void setUp() {
+        provider = providerRepository.save(ServiceProvider.builder()
+                .user(newUser(User.UserType.PROVIDER))
+                .businessName("Stress Plumbing")
+                .build());
+        long n = SEQUENCE.incrementAndGet();
+        ServiceCategory category = categoryRepository.save(ServiceCategory.builder()
+                .categoryName("Plumbing " + n)
+                .categorySlug("plumbing-" + n)
+                .build());
+        service = serviceRepository.save(Service.builder()
+                .provider(provider)
+                .category(category)
+                .serviceName("Tap repair")
+                .basePrice(new BigDecimal("499.00"))
+                .estimatedDurationMinutes(60)
+                .build());
+    }
+
+    @Test
+    void concurrentStatusUpdatesLoseNothing() throws Exception {
+        User customer = newUser(User.UserType.CUSTOMER);
+        Booking booking = bookingRepository.save(Booking.builder()
+                .user(customer)
+                .provider(provider)
+                .service(service)
+                .scheduledDate(LocalDate.now().plusDays(1))
+                .scheduledTime(LocalTime.of(10, 0))
+                .scheduledEndTime(LocalTime.of(11, 0))
+                .serviceAddress("12 MG Road")
+                .servicePincode("560001")
+                .estimatedAmount(service.getBasePrice())
+                .bookingStatus(BookingStatus.IN_PROGRESS)
+                .build());
+        long initialVersion = booking.getVersion();
+        Long providerUserId = provider.getUser().getUserId();
+        String method = "BookingService.updateBookingStatus";
+        double retriedBefore = count(method, "retried");
+        double exhaustedBefore = count(method, "exhausted");
+
+        int rounds = 10;
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger exhausted = new AtomicInteger();
+        runConcurrently(() -> {
+            for (int round = 0; round < rounds; round++) {
+                // Pause a running job or resume a paused one, whichever it is now
+                BookingStatus seen = bookingRepository.findById(booking.getBookingId()).orElseThrow().getBookingStatus();
+                BookingStatus next = seen == BookingStatus.IN_PROGRESS ? BookingStatus.PAUSED : BookingStatus.IN_PROGRESS;
+                try {
+                    bookingService.updateBookingStatus(booking.getBookingId(), providerUserId,
+                            BookingDTO.UpdateBookingStatusRequest.builder().status(next.name()).build());
+                    applied.incrementAndGet();
+                } catch (BadRequestException e) {
+                    // Someone else made the same move first; the retry saw it
+                    rejected.incrementAndGet();
+                } catch (OptimisticLockingFailureException e) {
+                    exhausted.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        Booking result = bookingRepository.findById(booking.getBookingId()).orElseThrow();
+        int calls = THREADS * rounds;
+        assertThat(applied.get() + rejected.get() + exhausted.get()).isEqualTo(calls);
+        assertThat(applied.get()).isPositive();
+        // Every applied change is one version step, and the status alternates with them
+        assertThat(result.getVersion() - initialVersion).isEqualTo(applied.get());
+        assertThat(result.getBookingStatus())
+                .isEqualTo(applied.get() % 2 == 0 ? BookingStatus.IN_PROGRESS : BookingStatus.PAUSED);
+        // At most maxAttempts - 1 retries per call, and each conflict left over is counted
+        assertThat(count(method, "retried") - retriedBefore).isLessThanOrEqualTo((double) calls * (MAX_ATTEMPTS - 1));
+        assertThat(count(method, "exhausted") - exhaustedBefore).isEqualTo((double) exhausted.get());
+        assertThat(LockingStatements.seen()).isEmpty();
+    }
+
+    @Test
+    void concurrentBookingsOfOneSlotBookItOnce() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(2);
+        LocalTime time = LocalTime.of(14, 0);
+        List<Long> customerIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            customerIds.add(newUser(User.UserType.CUSTOMER).getUserId());
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger alreadyBooked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        runConcurrently(() -> {
+            Long customerId = customerIds.get(next.getAndIncrement());
+            try {
+                bookingService.createBooking(customerId, BookingDTO.CreateBookingRequest.builder()
+                        .serviceId(service.getServiceId())
+                        .providerId(provider.getProviderId())
+                        .scheduledDate(date)
+                        // Staggered by 15 minutes, so every request overlaps the others
+                        .scheduledTime(time.plusMinutes(15L * (customerId % 3)))
+                        .serviceAddress("12 MG Road")
+                        .servicePincode("560001")
+                        .build());
+                booked.incrementAndGet();
+            } catch (BadRequestException e) {
+                assertThat(e.getMessage()).isEqualTo("The provider is already booked at this time");
+                alreadyBooked.incrementAndGet();
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertThat(booked.get()).isEqualTo(1);
+        assertThat(alreadyBooked.get() + conflicts.get()).isEqualTo(THREADS - 1);
+        assertThat(bookingRepository.findByProviderProviderIdAndScheduledDateBetweenAndBookingStatusIn(
+                provider.getProviderId(), date, date, ProviderSlotCalendar.BLOCKING_STATUSES)).hasSize(1);
+        // Decided by the provider day row's version, not by waiting on a lock
+        assertThat(LockingStatements.seen()).isEmpty();
+    }
+
+    @Test
+    void bookingsOfDifferentSlotsAreNeverRejected() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(4);
+        List<Long> customerIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            customerIds.add(newUser(User.UserType.CUSTOMER).getUserId());
+        }
+
+        // Same provider and day, one hour each from 08:00: every claim but the
+        // first races on the day row's version and has to be retried
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        runConcurrently(() -> {
+            int n = next.getAndIncrement();
+            try {
+                bookingService.createBooking(customerIds.get(n), BookingDTO.CreateBookingRequest.builder()
+                        .serviceId(service.getServiceId())
+                        .providerId(provider.getProviderId())
+                        .scheduledDate(date)
+                        .scheduledTime(LocalTime.of(8 + n, 0))
+                        .serviceAddress("12 MG Road")
+                        .servicePincode("560001")
+                        .build());
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.incrementAndGet();
+            }
+            return null;
+        });
+
+        List<Booking> booked = bookingRepository.findByProviderProviderIdAndScheduledDateBetweenAndBookingStatusIn(
+                provider.getProviderId(), date, date, ProviderSlotCalendar.BLOCKING_STATUSES);
+        assertThat(booked.size() + conflicts.get()).isEqualTo(THREADS);
+        assertThat(booked).isNotEmpty();
+        assertThat(LockingStatements.seen()).isEmpty();
+    }
+
+    @Test
+    void conflictsLeftAfterTheRetriesAreReportedAs409() {
+        String method = "AlwaysConflicting.update";
+        double retriedBefore = count(method, "retried");
+        double exhaustedBefore = count(method, "exhausted");
+        alwaysConflicting.reset();
+
+        OptimisticLockingFailureException failure = null;
+        try {
+            alwaysConflicting.update();
+        } catch (OptimisticLockingFailureException e) {
+            failure = e;
+        }
+
+        assertThat(failure).isNotNull();
+        assertThat(alwaysConflicting.attempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(count(method, "retried") - retriedBefore).isEqualTo(MAX_ATTEMPTS - 1.0);
+        assertThat(count(method, "exhausted") - exhaustedBefore).isEqualTo(1.0);
+
+        ResponseEntity<ApiResponse<Void>> response = new GlobalExceptionHandler().handleConflict(failure);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().getError().getCode()).isEqualTo("CONFLICT");
+    }
+
+    @Test
+    void nonConflictFailuresAreNotRetried() {
+        User customer = newUser(User.UserType.CUSTOMER);
+        double retriedBefore = count("BookingService.createBooking", "retried");
+
+        assertThatThrownBy(() -> bookingService.createBooking(customer.getUserId(),
+                BookingDTO.CreateBookingRequest.builder()
+                        .serviceId(service.getServiceId())
+                        .providerId(-1L)
+                        .scheduledDate(LocalDate.now().plusDays(2))
+                        .scheduledTime(LocalTime.of(9, 0))
+                        .serviceAddress("12 MG Road")
+                        .servicePincode("560001")
+                        .build()))
+                .hasMessage("Provider not found");
+        assertThat(count("BookingService.createBooking", "retried")).isEqualTo(retriedBefore);
+    }
+
+    private void runConcurrently(Callable<Void> task) throws Exception {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS,
+                runnable -> new Thread(runnable, WORKER_PREFIX + threads.incrementAndGet()));
+        CountDownLatch start = new CountDownLatch(1);
+        LockingStatements.clear();
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                // Rethrows assertion failures and unexpected exceptions of the workers
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private User newUser(User.UserType type) {
+        long n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .name("Stress user " + n)
+                .email("stress" + n + "@example.com")
+                .phone(String.format("9%09d", n))
+                .userType(type)
+                .build());
+    }
+
+    private double count(String method, String outcome) {
+        Counter counter = meterRegistry.find(METRIC).tags("method", method, "outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    /**
+     * Fails every attempt, as a row updated on every read would.
+     */
+    static class AlwaysConflicting {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        @RetryOnConflict(maxAttempts = MAX_ATTEMPTS)
+        public void update() {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Booking.class, 1L);
+        }
+
+        // Read through methods: the bean is a proxy
+        public int attempts() {
+            return attempts.get();
+        }
+
+        public void reset() {
+            attempts.set(0);
+        }
+    }
+
+    /**
+     * Records row-locking statements sent by the worker threads; other threads
+     * (e.g. the outbox dispatcher claiming events) are not under test.
+     */
+    public static class LockingStatements implements StatementInspector {
+
+        private static final List<String> SEEN = new CopyOnWriteArrayList<>();
+
+        static List<String> seen() {
+            return SEEN;
+        }
+
+        static void clear() {
+            SEEN.clear();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread().getName().startsWith(WORKER_PREFIX)
+                    && sql.toLowerCase().contains("for update")) {
+                SEEN.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        AlwaysConflicting alwaysConflicting() {
+            return new AlwaysConflicting();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.hirelink.service;
+
+import com.hirelink.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        List<BookingCursor> cursors = List.of(
+                new BookingCursor(LocalDateTime.of(2024, 3, 1, 10, 0), 1L),
+                new BookingCursor(LocalDateTime.of(2024, 3, 1, 10, 0, 5), 42L),
+                new BookingCursor(LocalDateTime.of(2024, 12, 31, 23, 59, 59, 123_456_000), 9_876_543_210L),
+                BookingCursor.FIRST);
+
+        for (BookingCursor cursor : cursors) {
+            assertThat(BookingCursor.decode(cursor.encode())).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new BookingCursor(LocalDateTime.of(2024, 3, 1, 10, 0, 5), 1_000L).encode();
+
+        assertThat(token.matches("[A-Za-z0-9_-]+")).isTrue();
+    }
+
+    @Test
+    void blankTokenStartsFromTheNewest() {
+        assertThat(BookingCursor.decode(null)).isEqualTo(BookingCursor.FIRST);
+        assertThat(BookingCursor.decode(" ")).isEqualTo(BookingCursor.FIRST);
+    }
+
+    @Test
+    void malformedTokensAreBadRequests() {
+        List<String> tokens = List.of("not base64!", encode("no-separator"), encode("2024-03-01T10:00_x"),
+                encode("yesterday_5"));
+
+        for (String token : tokens) {
+            assertThatThrownBy(() -> BookingCursor.decode(token))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("Invalid cursor");
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
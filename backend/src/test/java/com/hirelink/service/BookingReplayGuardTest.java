@@ -0,0 +1,128 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Booking.BookingStatus;
+import com.hirelink.event.BookingEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingReplayGuardTest {
+
+    private static final BookingStatus[] STATUSES = {BookingStatus.PENDING, BookingStatus.ACCEPTED,
+            BookingStatus.CONFIRMED, BookingStatus.IN_PROGRESS, BookingStatus.CANCELLED};
+
+    @Test
+    void liveChangeBeforeReplayedRowIsCountedOnce() {
+        BookingReplayGuard guard = new BookingReplayGuard();
+        Map<BookingStatus, Integer> counts = new EnumMap<>(BookingStatus.class);
+
+        count(counts, guard.toCount(change(1, BookingStatus.PENDING, BookingStatus.CANCELLED)));
+        // Row read after the change committed
+        count(counts, guard.toCount(snapshot(1, BookingStatus.CANCELLED)));
+
+        assertThat(nonZero(counts)).containsExactly(Map.entry(BookingStatus.CANCELLED, 1));
+    }
+
+    @Test
+    void staleReplayedRowDoesNotOverwriteLiveState() {
+        BookingReplayGuard guard = new BookingReplayGuard();
+
+        assertThat(guard.isNewer(change(1, BookingStatus.PENDING, BookingStatus.CANCELLED))).isTrue();
+        assertThat(guard.isNewer(snapshot(0, BookingStatus.PENDING))).isFalse();
+    }
+
+    @Test
+    void everythingAppliesAfterFinish() {
+        BookingReplayGuard guard = new BookingReplayGuard();
+        guard.isNewer(snapshot(3, BookingStatus.ACCEPTED));
+        guard.finish();
+
+        BookingEvent late = change(2, BookingStatus.PENDING, BookingStatus.ACCEPTED);
+        assertThat(guard.isNewer(late)).isTrue();
+        assertThat(guard.toCount(late)).containsExactly(late);
+    }
+
+    @Test
+    void anyDeliveryOrderEndsInTheLatestState() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20_000; round++) {
+            int changes = random.nextInt(4);
+            BookingStatus[] states = new BookingStatus[changes + 1];
+            for (int i = 0; i <= changes; i++) {
+                states[i] = STATUSES[random.nextInt(STATUSES.length)];
+            }
+
+            // Change i commits at 10 * i, the row is read at some point in between,
+            // and every event is delivered some time after it happened
+            int readAt = random.nextInt(changes * 10 + 6);
+            int readVersion = Math.min(changes, readAt / 10);
+            List<long[]> deliveries = new ArrayList<>();
+            deliveries.add(new long[]{readAt + random.nextInt(30), -1});
+            if (random.nextBoolean()) {
+                deliveries.add(new long[]{random.nextInt(30), 0});
+            }
+            for (int i = 1; i <= changes; i++) {
+                deliveries.add(new long[]{i * 10L + random.nextInt(30), i});
+            }
+            Collections.shuffle(deliveries, random);
+            deliveries.sort(Comparator.comparingLong(d -> d[0]));
+
+            BookingReplayGuard counting = new BookingReplayGuard();
+            BookingReplayGuard latest = new BookingReplayGuard();
+            Map<BookingStatus, Integer> counts = new EnumMap<>(BookingStatus.class);
+            BookingStatus state = null;
+            for (long[] delivery : deliveries) {
+                int i = (int) delivery[1];
+                BookingEvent event = i < 0 ? snapshot(readVersion, states[readVersion])
+                        : i == 0 ? created(states[0])
+                        : change(i, states[i - 1], states[i]);
+                count(counts, counting.toCount(event));
+                if (latest.isNewer(event)) {
+                    state = event.getStatus();
+                }
+            }
+
+            assertThat(nonZero(counts)).containsExactly(Map.entry(states[changes], 1));
+            assertThat(state).isEqualTo(states[changes]);
+        }
+    }
+
+    private static BookingEvent snapshot(long version, BookingStatus status) {
+        return BookingEvent.builder().type(BookingEvent.Type.SNAPSHOT).bookingId(7L)
+                .status(status).version(version).build();
+    }
+
+    private static BookingEvent created(BookingStatus status) {
+        return BookingEvent.builder().type(BookingEvent.Type.CREATED).bookingId(7L)
+                .status(status).version(0L).build();
+    }
+
+    private static BookingEvent change(long version, BookingStatus from, BookingStatus to) {
+        return BookingEvent.builder().type(BookingEvent.Type.STATUS_CHANGED).bookingId(7L)
+                .previousStatus(from).status(to).version(version).build();
+    }
+
+    private static void count(Map<BookingStatus, Integer> counts, List<BookingEvent> events) {
+        for (BookingEvent event : events) {
+            if (event.getType() == BookingEvent.Type.STATUS_CHANGED && event.getPreviousStatus() != null) {
+                counts.merge(event.getPreviousStatus(), -1, Integer::sum);
+            }
+            if (event.getStatus() != null) {
+                counts.merge(event.getStatus(), 1, Integer::sum);
+            }
+        }
+    }
+
+    private static Map<BookingStatus, Integer> nonZero(Map<BookingStatus, Integer> counts) {
+        counts.values().removeIf(count -> count == 0);
+        return counts;
+    }
+}
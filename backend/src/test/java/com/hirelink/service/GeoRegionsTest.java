@@ -0,0 +1,127 @@
+package com.hirelink.service;
+
+import com.hirelink.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeoRegionsTest {
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    @Test
+    void regionIsTheGeohashPrefix() {
+        assertThat(new GeoRegions(3, "").regionOf(57.64911, 10.40744)).isEqualTo("u4p");
+        assertThat(new GeoRegions(6, "").regionOf(57.64911, 10.40744)).isEqualTo("u4pruy");
+
+        Random random = new Random(3);
+        for (int precision = 1; precision <= 6; precision++) {
+            GeoRegions regions = new GeoRegions(precision, "");
+            for (int i = 0; i < 2_000; i++) {
+                double latitude = random.nextDouble() * 180 - 90;
+                double longitude = random.nextDouble() * 360 - 180;
+                assertThat(regions.regionOf(latitude, longitude)).isEqualTo(geohash(latitude, longitude, precision));
+            }
+        }
+    }
+
+    @Test
+    void boundsContainTheirPoints() {
+        GeoRegions regions = new GeoRegions(4, "");
+        Random random = new Random(5);
+        for (int i = 0; i < 2_000; i++) {
+            double latitude = random.nextDouble() * 170 - 85;
+            double longitude = random.nextDouble() * 350 - 175;
+            LocationService.BoundingBox box = regions.boundsOf(regions.regionOf(latitude, longitude));
+
+            assertThat(latitude).isBetween(box.minLat(), box.maxLat());
+            assertThat(longitude).isBetween(box.minLon(), box.maxLon());
+            assertThat(Math.abs(box.maxLat() - box.minLat() - regions.latStep()) < 1e-9).isTrue();
+            assertThat(Math.abs(box.maxLon() - box.minLon() - regions.lonStep()) < 1e-9).isTrue();
+        }
+    }
+
+    @Test
+    void overlappingRegionsCoverEveryPointOfTheBox() {
+        GeoRegions regions = new GeoRegions(3, "");
+        Random random = new Random(9);
+        for (int i = 0; i < 200; i++) {
+            double minLat = random.nextDouble() * 160 - 80;
+            double minLon = random.nextDouble() * 340 - 170;
+            LocationService.BoundingBox box = new LocationService.BoundingBox(
+                    minLat, minLat + random.nextDouble() * 5, minLon, minLon + random.nextDouble() * 5);
+
+            List<String> covering = regions.regionsOverlapping(box);
+
+            assertThat(covering).isNotNull();
+            for (int j = 0; j < 200; j++) {
+                double latitude = box.minLat() + random.nextDouble() * (box.maxLat() - box.minLat());
+                double longitude = box.minLon() + random.nextDouble() * (box.maxLon() - box.minLon());
+                assertThat(covering).contains(regions.regionOf(latitude, longitude));
+            }
+            for (String region : covering) {
+                LocationService.BoundingBox bounds = regions.boundsOf(region);
+                assertThat(bounds.minLat() <= box.maxLat() && bounds.maxLat() >= box.minLat()
+                        && bounds.minLon() <= box.maxLon() && bounds.maxLon() >= box.minLon()).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void boxesSpanningTooManyRegionsAreNotCovered() {
+        GeoRegions regions = new GeoRegions(3, "");
+
+        assertThat(regions.regionsOverlapping(new LocationService.BoundingBox(-60, 60, -120, 120))).isNull();
+    }
+
+    @Test
+    void servedPrefixesMatchRegionsBothWays() {
+        GeoRegions regions = new GeoRegions(3, " TDR , tf");
+
+        assertThat(regions.serves("tdr")).isTrue();
+        assertThat(regions.serves("tf5")).isTrue();
+        assertThat(regions.serves("t")).isTrue();
+        assertThat(regions.serves("tds")).isFalse();
+        assertThat(new GeoRegions(3, "").serves("zzz")).isTrue();
+    }
+
+    @Test
+    void malformedRegionsAreBadRequests() {
+        GeoRegions regions = new GeoRegions(3, "");
+
+        assertThatThrownBy(() -> regions.boundsOf("tdra")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> regions.boundsOf("tda")).isInstanceOf(BadRequestException.class);
+    }
+
+    /**
+     * Textbook geohash: halve the longitude and latitude ranges alternately.
+     */
+    private static String geohash(double latitude, double longitude, int precision) {
+        double[] lat = {-90, 90};
+        double[] lon = {-180, 180};
+        StringBuilder hash = new StringBuilder();
+        boolean lonTurn = true;
+        for (int c = 0; c < precision; c++) {
+            int value = 0;
+            for (int b = 0; b < 5; b++) {
+                double[] range = lonTurn ? lon : lat;
+                double coordinate = lonTurn ? longitude : latitude;
+                double middle = (range[0] + range[1]) / 2;
+                value <<= 1;
+                if (coordinate >= middle) {
+                    value |= 1;
+                    range[0] = middle;
+                } else {
+                    range[1] = middle;
+                }
+                lonTurn = !lonTurn;
+            }
+            hash.append(BASE32.charAt(value));
+        }
+        return hash.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package com.hirelink.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LocationServiceTest {
+
+    private static final double CENTER_LAT = 12.97;
+    private static final double CENTER_LON = 77.59;
+
+    private final LocationService locationService = new LocationService(null);
+    private final Random random = new Random(3);
+
+    @Test
+    void batchDistancesMatchSingleDistances() {
+        int count = 500;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        fill(latitudes, longitudes, 2.0);
+        double[] distances = new double[count];
+
+        locationService.calculateDistances(CENTER_LAT, CENTER_LON, latitudes, longitudes, count, distances);
+
+        for (int i = 0; i < count; i++) {
+            assertThat(distances[i]).isCloseTo(
+                    locationService.calculateDistance(CENTER_LAT, CENTER_LON, latitudes[i], longitudes[i]),
+                    within(1e-6));
+        }
+    }
+
+    @Test
+    void markWithinRadiusMatchesDistanceCheck() {
+        int count = 1_000;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        fill(latitudes, longitudes, 1.0);
+        long[] mask = new long[(count + 63) >>> 6];
+
+        int matches = locationService.markWithinRadius(CENTER_LAT, CENTER_LON, latitudes, longitudes, count, 40, mask);
+
+        int expected = 0;
+        for (int i = 0; i < count; i++) {
+            double distance = locationService.calculateDistance(CENTER_LAT, CENTER_LON, latitudes[i], longitudes[i]);
+            if (Math.abs(distance - 40) < 1e-6) {
+                continue; // on the boundary either answer is right
+            }
+            boolean marked = (mask[i >>> 6] & (1L << i)) != 0;
+            assertThat(marked).as("point %d at %.3f km", i, distance).isEqualTo(distance <= 40);
+            if (marked) {
+                expected++;
+            }
+        }
+        assertThat(matches).isEqualTo(expected);
+        assertThat(matches).isPositive();
+        assertThat(matches).isLessThan(count);
+    }
+
+    @Test
+    void markWithinRadiusClearsTheMaskFirst() {
+        double[] latitudes = {CENTER_LAT, CENTER_LAT + 5};
+        double[] longitudes = {CENTER_LON, CENTER_LON};
+        long[] mask = {-1L};
+
+        int matches = locationService.markWithinRadius(CENTER_LAT, CENTER_LON, latitudes, longitudes, 2, 10, mask);
+
+        assertThat(matches).isEqualTo(1);
+        assertThat(mask[0]).isEqualTo(1L);
+    }
+
+    @Test
+    void radiusBeyondHalfTheEarthMarksEverything() {
+        double[] latitudes = {-CENTER_LAT};
+        double[] longitudes = {CENTER_LON - 180};
+        long[] mask = new long[1];
+
+        assertThat(locationService.markWithinRadius(CENTER_LAT, CENTER_LON, latitudes, longitudes, 1, 25_000, mask))
+                .isEqualTo(1);
+    }
+
+    private void fill(double[] latitudes, double[] longitudes, double spreadDeg) {
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = CENTER_LAT + (random.nextDouble() - 0.5) * spreadDeg;
+            longitudes[i] = CENTER_LON + (random.nextDouble() - 0.5) * spreadDeg;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.hirelink.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderGeoIndexTest {
+
+    private static final double CENTER_LAT = 12.97;
+    private static final double CENTER_LON = 77.59;
+
+    private final LocationService locationService = new LocationService(null);
+    private final Random random = new Random(7);
+    private ProviderGeoIndex index;
+    private List<ProviderGeoIndex.Entry> entries;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProviderGeoIndex(locationService, new GeoRegions(3, ""));
+        entries = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            ProviderGeoIndex.Entry entry = new ProviderGeoIndex.Entry(id,
+                    CENTER_LAT + (random.nextDouble() - 0.5),
+                    CENTER_LON + (random.nextDouble() - 0.5),
+                    1 + random.nextInt(25),
+                    Set.of(1L + random.nextInt(5)),
+                    null);
+            index.upsert(entry);
+            entries.add(entry);
+        }
+        index.markReady();
+    }
+
+    @Test
+    void findNearestMatchesBruteForce() {
+        for (int query = 0; query < 500; query++) {
+            double latitude = CENTER_LAT + (random.nextDouble() - 0.5) * 1.2;
+            double longitude = CENTER_LON + (random.nextDouble() - 0.5) * 1.2;
+            double radiusKm = 1 + random.nextInt(40);
+            Long categoryId = random.nextBoolean() ? null : 1L + random.nextInt(5);
+            Integer limit = random.nextBoolean() ? null : 1 + random.nextInt(30);
+            boolean withinServiceArea = random.nextBoolean();
+
+            List<Long> expected = bruteForce(latitude, longitude, radiusKm, categoryId, limit, withinServiceArea);
+            List<Long> actual = index.findNearest(latitude, longitude, radiusKm, categoryId, limit, withinServiceArea)
+                    .stream()
+                    .map(hit -> hit.entry().providerId())
+                    .toList();
+
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void hugeLimitBehavesLikeNoLimit() {
+        List<ProviderGeoIndex.Hit> unbounded = index.findNearest(CENTER_LAT, CENTER_LON, 20, null, null, false);
+        List<ProviderGeoIndex.Hit> huge = index.findNearest(CENTER_LAT, CENTER_LON, 20, null, Integer.MAX_VALUE, false);
+
+        assertThat(unbounded).isNotEmpty();
+        assertThat(huge).isEqualTo(unbounded);
+    }
+
+    @Test
+    void removedProvidersAreNotFound() {
+        ProviderGeoIndex.Entry nearest = index.findNearest(CENTER_LAT, CENTER_LON, 20, null, 1, false).get(0).entry();
+        index.remove(nearest.providerId());
+
+        assertThat(index.findNearest(CENTER_LAT, CENTER_LON, 20, null, null, false))
+                .noneMatch(hit -> hit.entry().providerId().equals(nearest.providerId()));
+    }
+
+    private List<Long> bruteForce(double latitude, double longitude, double radiusKm, Long categoryId,
+                                  Integer limit, boolean withinServiceArea) {
+        record Candidate(long providerId, double distanceKm) {
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        for (ProviderGeoIndex.Entry entry : entries) {
+            double distance = locationService.calculateDistance(
+                    latitude, longitude, entry.latitude(), entry.longitude());
+            if (distance > radiusKm
+                    || (withinServiceArea && distance > entry.serviceRadiusKm())
+                    || (categoryId != null && !entry.categoryIds().contains(categoryId))) {
+                continue;
+            }
+            candidates.add(new Candidate(entry.providerId(), distance));
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::distanceKm));
+        return candidates.stream()
+                .limit(limit != null ? limit : Long.MAX_VALUE)
+                .map(Candidate::providerId)
+                .toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Booking;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderSlotCalendarTest {
+
+    private static final Long PROVIDER = 1L;
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+
+    private final ProviderSlotCalendar calendar = new ProviderSlotCalendar(60);
+
+    @Test
+    void maskSelectsSlotsOfEachWord() {
+        assertThat(ProviderSlotCalendar.mask(0, 64, 0)).isEqualTo(-1L);
+        assertThat(ProviderSlotCalendar.mask(62, 66, 0)).isEqualTo(0b11L << 62);
+        assertThat(ProviderSlotCalendar.mask(62, 66, 64)).isEqualTo(0b11L);
+        assertThat(ProviderSlotCalendar.mask(64, 96, 64)).isEqualTo((1L << 32) - 1);
+        assertThat(ProviderSlotCalendar.mask(10, 10, 0)).isEqualTo(0L);
+        assertThat(ProviderSlotCalendar.mask(70, 80, 0)).isEqualTo(0L);
+    }
+
+    @Test
+    void bookingPastMidnightTakesSlotsOfBothDays() {
+        calendar.hold(PROVIDER, 10L, DAY, LocalTime.of(23, 0), 120);
+
+        assertThat(calendar.occupancy(PROVIDER, DAY)).containsExactly(0L, 0b1111L << 28);
+        assertThat(calendar.occupancy(PROVIDER, DAY.plusDays(1))).containsExactly(0b1111L, 0L);
+    }
+
+    @Test
+    void releaseFreesBothDays() {
+        calendar.hold(PROVIDER, 10L, DAY, LocalTime.of(23, 30), 60);
+        long version = calendar.version(PROVIDER);
+
+        calendar.release(PROVIDER, 10L);
+
+        assertThat(calendar.occupancy(PROVIDER, DAY)).containsExactly(0L, 0L);
+        assertThat(calendar.occupancy(PROVIDER, DAY.plusDays(1))).containsExactly(0L, 0L);
+        assertThat(calendar.version(PROVIDER)).isGreaterThan(version);
+    }
+
+    @Test
+    void holdingAgainMovesTheBooking() {
+        calendar.hold(PROVIDER, 10L, DAY, LocalTime.of(9, 0), 60);
+        calendar.hold(PROVIDER, 11L, DAY, LocalTime.of(9, 30), 30);
+
+        calendar.hold(PROVIDER, 10L, DAY, LocalTime.of(14, 0), 15);
+
+        assertThat(calendar.occupancy(PROVIDER, DAY)).containsExactly(
+                ProviderSlotCalendar.mask(38, 40, 0) | ProviderSlotCalendar.mask(56, 57, 0), 0L);
+    }
+
+    @Test
+    void durationIsCappedAtADay() {
+        assertThat(calendar.durationOrDefault(null)).isEqualTo(60);
+        assertThat(calendar.durationOrDefault(3 * 24 * 60)).isEqualTo(ProviderSlotCalendar.MAX_DURATION_MINUTES);
+        assertThat(ProviderSlotCalendar.spans(DAY, LocalTime.of(12, 0), Integer.MAX_VALUE)).hasSize(2);
+    }
+
+    @Test
+    void occupancyOfRowsIncludesThePreviousDayPastMidnight() {
+        List<Booking> rows = List.of(
+                booking(20L, DAY.minusDays(1), LocalTime.of(22, 0), LocalTime.of(1, 0)),
+                booking(21L, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                booking(22L, DAY, LocalTime.of(10, 0), null));
+
+        assertThat(calendar.occupancyOf(rows, DAY)).containsExactly(
+                ProviderSlotCalendar.mask(0, 4, 0) | ProviderSlotCalendar.mask(36, 44, 0), 0L);
+        assertThat(calendar.occupancyOf(rows, DAY.minusDays(1))).containsExactly(0L,
+                ProviderSlotCalendar.mask(88, 96, 64));
+    }
+
+    @Test
+    void refreshReplacesBookingsOfTheDays() {
+        calendar.hold(PROVIDER, 10L, DAY, LocalTime.of(9, 0), 60);
+        // Starts before the refreshed days, must be kept
+        calendar.hold(PROVIDER, 11L, DAY.minusDays(2), LocalTime.of(9, 0), 60);
+
+        calendar.refresh(PROVIDER, DAY.minusDays(1), DAY.plusDays(1),
+                List.of(booking(12L, DAY, LocalTime.of(14, 0), LocalTime.of(15, 0))));
+
+        assertThat(calendar.occupancy(PROVIDER, DAY)).containsExactly(ProviderSlotCalendar.mask(56, 60, 0), 0L);
+        assertThat(calendar.occupancy(PROVIDER, DAY.minusDays(2))).containsExactly(
+                ProviderSlotCalendar.mask(36, 40, 0), 0L);
+    }
+
+    private static Booking booking(Long bookingId, LocalDate date, LocalTime start, LocalTime end) {
+        return Booking.builder()
+                .bookingId(bookingId)
+                .scheduledDate(date)
+                .scheduledTime(start)
+                .scheduledEndTime(end)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Booking;
+import com.hirelink.entity.ProviderDaySlots;
+import com.hirelink.repository.BookingRepository;
+import com.hirelink.repository.ProviderDaySlotsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProviderSlotLedgerTest {
+
+    private static final Long PROVIDER = 7L;
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+
+    private final ProviderDaySlotsRepository daySlotsRepository = mock(ProviderDaySlotsRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final ProviderSlotLedger ledger = new ProviderSlotLedger(daySlotsRepository, bookingRepository,
+            new ProviderSlotCalendar(60));
+
+    @Test
+    void claimTakesFreeSlotsOfTheDayRow() {
+        ProviderDaySlots row = row(DAY, ProviderSlotCalendar.mask(36, 40, 0));
+        when(daySlotsRepository.findByProviderIdAndSlotDate(PROVIDER, DAY)).thenReturn(Optional.of(row));
+
+        assertThat(ledger.claim(PROVIDER, DAY, LocalTime.of(10, 0), 60)).isTrue();
+
+        assertThat(row.getSlotsLow()).isEqualTo(ProviderSlotCalendar.mask(36, 44, 0));
+        assertThat(row.getSlotsHigh()).isZero();
+    }
+
+    @Test
+    void claimOfATakenSlotChangesNothing() {
+        ProviderDaySlots first = row(DAY, 0L);
+        ProviderDaySlots second = row(DAY.plusDays(1), ProviderSlotCalendar.mask(2, 3, 0));
+        when(daySlotsRepository.findByProviderIdAndSlotDate(PROVIDER, DAY)).thenReturn(Optional.of(first));
+        when(daySlotsRepository.findByProviderIdAndSlotDate(PROVIDER, DAY.plusDays(1))).thenReturn(Optional.of(second));
+
+        // 23:00 to 01:00 runs into the next day's slot 2
+        assertThat(ledger.claim(PROVIDER, DAY, LocalTime.of(23, 0), 120)).isFalse();
+
+        assertThat(first.getSlotsLow()).isZero();
+        assertThat(first.getSlotsHigh()).isZero();
+        assertThat(second.getSlotsLow()).isEqualTo(ProviderSlotCalendar.mask(2, 3, 0));
+    }
+
+    @Test
+    void firstClaimOfADayStartsFromTheBookings() {
+        when(bookingRepository.findByProviderProviderIdAndScheduledDateBetweenAndBookingStatusIn(
+                PROVIDER, DAY.minusDays(1), DAY, ProviderSlotCalendar.BLOCKING_STATUSES))
+                .thenReturn(List.of(booking(DAY.minusDays(1), LocalTime.of(22, 0), LocalTime.of(1, 0))));
+
+        assertThat(ledger.claim(PROVIDER, DAY, LocalTime.of(0, 30), 30)).isFalse();
+    }
+
+    @Test
+    void losingTheRaceToCreateADayIsAConflict() {
+        ProviderDaySlots created = ProviderDaySlots.builder()
+                .providerId(PROVIDER)
+                .slotDate(DAY)
+                .slotsLow(ProviderSlotCalendar.mask(4, 6, 0))
+                .build();
+        when(daySlotsRepository.saveAllAndFlush(List.of(created)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for key 'uk_provider_day'"));
+
+        assertThatThrownBy(() -> ledger.claim(PROVIDER, DAY, LocalTime.of(1, 0), 30))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void releaseKeepsSlotsOfTheRemainingBookings() {
+        ProviderDaySlots row = row(DAY, ProviderSlotCalendar.mask(36, 48, 0));
+        when(daySlotsRepository.findByProviderIdAndSlotDate(PROVIDER, DAY)).thenReturn(Optional.of(row));
+        // The released 09:00-10:00 booking is no longer blocking; 10:00-12:00 still is
+        when(bookingRepository.findByProviderProviderIdAndScheduledDateBetweenAndBookingStatusIn(
+                PROVIDER, DAY.minusDays(1), DAY, ProviderSlotCalendar.BLOCKING_STATUSES))
+                .thenReturn(List.of(booking(DAY, LocalTime.of(10, 0), LocalTime.of(12, 0))));
+
+        ledger.release(PROVIDER, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        assertThat(row.getSlotsLow()).isEqualTo(ProviderSlotCalendar.mask(40, 48, 0));
+    }
+
+    private static ProviderDaySlots row(LocalDate date, long low) {
+        return ProviderDaySlots.builder()
+                .daySlotsId(1L)
+                .providerId(PROVIDER)
+                .slotDate(date)
+                .slotsLow(low)
+                .version(3L)
+                .build();
+    }
+
+    private static Booking booking(LocalDate date, LocalTime start, LocalTime end) {
+        return Booking.builder()
+                .bookingId(100L)
+                .scheduledDate(date)
+                .scheduledTime(start)
+                .scheduledEndTime(end)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.hirelink.service;
+
+import com.hirelink.entity.Service;
+import com.hirelink.entity.ServiceCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.rebuild(List.of(
+                service("Emergency Plumber", "Plumbing"),
+                service("Pipe Leak Repair", "Plumbing"),
+                service("House Wiring", "Electrician"),
+                service("Electrical Inspection", "Electrician"),
+                service("Deep Cleaning", "Cleaning")));
+    }
+
+    @Test
+    void editDistanceCountsInsertionsSubstitutionsAndTranspositions() {
+        assertThat(TrigramIndex.editDistance("plumbr", "plumber", 2)).isEqualTo(1);
+        assertThat(TrigramIndex.editDistance("electrision", "electrician", 3)).isEqualTo(2);
+        assertThat(TrigramIndex.editDistance("wirnig", "wiring", 2)).isEqualTo(1);
+        assertThat(TrigramIndex.editDistance("repair", "repair", 1)).isZero();
+    }
+
+    @Test
+    void editDistanceGivesUpPastTheLimit() {
+        assertThat(TrigramIndex.editDistance("plumber", "carpenter", 2)).isEqualTo(3);
+        assertThat(TrigramIndex.editDistance("electrision", "electrical", 3)).isEqualTo(4);
+        // Length difference alone exceeds the limit
+        assertThat(TrigramIndex.editDistance("ac", "cleaning", 1)).isEqualTo(2);
+    }
+
+    @Test
+    void misspelledWordsAreCorrectedToTheClosestNameWord() {
+        assertThat(index.correct("plumbr")).containsExactly("plumber");
+        assertThat(index.correct("electrision")).containsExactly("electrician");
+    }
+
+    @Test
+    void knownAndUnmatchedWordsAreKeptAsTyped() {
+        assertThat(index.correct("pipe repair")).containsExactly("pipe", "repair");
+        assertThat(index.correct("xylophone")).containsExactly("xylophone");
+    }
+
+    private static Service service(String name, String category) {
+        return Service.builder()
+                .serviceName(name)
+                .category(ServiceCategory.builder().categoryName(category).build())
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+-- ============================================================================
+-- BENCHMARK: DECIMAL bounding box vs SPATIAL index for radius queries
+-- Run after migration_spatial_location.sql (MySQL 8.0.18+ for EXPLAIN ANALYZE)
+--
+-- Seeds a scratch table shaped like service_providers' location columns with
+-- 200,000 points spread over the Bangalore metro area, then runs the same
+-- 5 km radius search through both query paths used by the application.
+-- ============================================================================
+
+USE hirelink_db;
+
+DROP TABLE IF EXISTS bench_provider_locations;
+
+CREATE TABLE bench_provider_locations (
+    provider_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    base_latitude DECIMAL(10, 8) NOT NULL,
+    base_longitude DECIMAL(11, 8) NOT NULL,
+    base_location POINT NOT NULL SRID 4326,
+    is_available TINYINT(1) NOT NULL DEFAULT 1,
+    INDEX idx_bench_lat (base_latitude),
+    INDEX idx_bench_lng (base_longitude),
+    SPATIAL INDEX idx_bench_location (base_location)
+) ENGINE=InnoDB;
+
+SET SESSION cte_max_recursion_depth = 200000;
+
+INSERT INTO bench_provider_locations (base_latitude, base_longitude, base_location, is_available)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 200000
+),
+pts AS (
+    SELECT n,
+           12.70 + RAND(n) * 0.60 AS lat,
+           77.35 + RAND(n + 200000) * 0.60 AS lng
+    FROM seq
+)
+SELECT lat, lng,
+       ST_GeomFromText(CONCAT('POINT(', lng, ' ', lat, ')'), 4326, 'axis-order=long-lat'),
+       IF(n % 5 = 0, 0, 1)
+FROM pts;
+
+ANALYZE TABLE bench_provider_locations;
+
+-- Search centre: MG Road, radius 5 km (bounding box deltas as in LocationService)
+SET @lat = 12.9716, @lng = 77.5946, @radius_km = 5;
+SET @lat_delta = @radius_km / 111.0;
+SET @lng_delta = @radius_km / (111.0 * COS(RADIANS(@lat)));
+
+-- ----------------------------------------------------------------------------
+-- Path 1: DECIMAL BETWEEN bounding box (current findProvidersInArea)
+-- ----------------------------------------------------------------------------
+EXPLAIN ANALYZE
+SELECT provider_id
+FROM bench_provider_locations
+WHERE base_latitude BETWEEN @lat - @lat_delta AND @lat + @lat_delta
+  AND base_longitude BETWEEN @lng - @lng_delta AND @lng + @lng_delta
+  AND is_available = 1;
+
+-- ----------------------------------------------------------------------------
+-- Path 2: SPATIAL index (findProviderIdsWithinRadiusSpatial)
+-- ----------------------------------------------------------------------------
+EXPLAIN ANALYZE
+SELECT provider_id
+FROM bench_provider_locations
+WHERE MBRContains(
+        ST_GeomFromText(CONCAT('POLYGON((',
+            @lng - @lng_delta, ' ', @lat - @lat_delta, ',',
+            @lng + @lng_delta, ' ', @lat - @lat_delta, ',',
+            @lng + @lng_delta, ' ', @lat + @lat_delta, ',',
+            @lng - @lng_delta, ' ', @lat + @lat_delta, ',',
+            @lng - @lng_delta, ' ', @lat - @lat_delta, '))'), 4326, 'axis-order=long-lat'),
+        base_location)
+  AND ST_Distance_Sphere(base_location,
+        ST_GeomFromText(CONCAT('POINT(', @lng, ' ', @lat, ')'), 4326, 'axis-order=long-lat')) <= @radius_km * 1000
+  AND is_available = 1;
+
+DROP TABLE bench_provider_locations;
@@ -0,0 +1,144 @@
+-- ============================================================================
+-- BENCHMARK: LIKE '%kw%' vs FULLTEXT for admin booking search
+-- MySQL 8.0.18+ for EXPLAIN ANALYZE
+--
+-- Seeds scratch tables shaped like services, users, service_providers and
+-- bookings (2,000,000 bookings), then runs the admin search through both
+-- query paths used by the application: searchAllBookings (LIKE) and
+-- searchAllBookingIdsFullText (FULLTEXT + booking number prefix).
+-- ============================================================================
+
+USE hirelink_db;
+
+DROP TABLE IF EXISTS bench_bookings, bench_services, bench_users, bench_providers, bench_words;
+
+CREATE TABLE bench_words (
+    word_id INT PRIMARY KEY,
+    word VARCHAR(20) NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO bench_words VALUES
+    (0, 'plumbing'), (1, 'electrical'), (2, 'cleaning'), (3, 'painting'), (4, 'carpentry'),
+    (5, 'repair'), (6, 'installation'), (7, 'service'), (8, 'deep'), (9, 'kitchen'),
+    (10, 'bathroom'), (11, 'geyser'), (12, 'wiring'), (13, 'leak'), (14, 'sofa'),
+    (15, 'pest'), (16, 'control'), (17, 'water'), (18, 'tank'), (19, 'inverter');
+
+CREATE TABLE bench_services (
+    service_id BIGINT PRIMARY KEY,
+    service_name VARCHAR(200) NOT NULL,
+    service_description TEXT,
+    FULLTEXT INDEX ft_bench_services_name (service_name)
+) ENGINE=InnoDB;
+
+CREATE TABLE bench_users (
+    user_id BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    FULLTEXT INDEX ft_bench_users_name (name)
+) ENGINE=InnoDB;
+
+CREATE TABLE bench_providers (
+    provider_id BIGINT PRIMARY KEY,
+    business_name VARCHAR(200),
+    FULLTEXT INDEX ft_bench_sp_business_name (business_name)
+) ENGINE=InnoDB;
+
+CREATE TABLE bench_bookings (
+    booking_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    booking_number VARCHAR(20) NOT NULL,
+    user_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+    created_at DATETIME NOT NULL,
+    UNIQUE INDEX uk_bench_booking_number (booking_number),
+    INDEX idx_bench_bookings_user (user_id),
+    INDEX idx_bench_bookings_provider (provider_id),
+    INDEX idx_bench_bookings_service (service_id),
+    INDEX idx_bench_bookings_created (created_at)
+) ENGINE=InnoDB;
+
+SET SESSION cte_max_recursion_depth = 2000000;
+
+INSERT INTO bench_services (service_id, service_name, service_description)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 5000)
+SELECT n,
+       CONCAT((SELECT word FROM bench_words WHERE word_id = n % 20), ' ',
+              (SELECT word FROM bench_words WHERE word_id = (n DIV 20) % 20)),
+       'Doorstep service by verified professionals'
+FROM seq;
+
+INSERT INTO bench_users (user_id, name)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 200000)
+SELECT n, CONCAT(ELT(1 + n % 8, 'Rahul', 'Priya', 'Amit', 'Sneha', 'Vikram', 'Anita', 'Suresh', 'Kavya'),
+                 ' ', ELT(1 + (n DIV 8) % 6, 'Sharma', 'Patel', 'Reddy', 'Iyer', 'Khan', 'Das'), ' ', n)
+FROM seq;
+
+INSERT INTO bench_providers (provider_id, business_name)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 20000)
+SELECT n, CONCAT((SELECT word FROM bench_words WHERE word_id = n % 20), ' Experts ', n)
+FROM seq;
+
+INSERT INTO bench_bookings (booking_number, user_id, provider_id, service_id, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 2000000)
+SELECT CONCAT('HL', DATE_FORMAT(DATE('2024-01-01') + INTERVAL n DIV 5000 DAY, '%Y%m%d'), LPAD(n % 100000, 5, '0')),
+       1 + n % 200000, 1 + n % 20000, 1 + n % 5000,
+       TIMESTAMP('2024-01-01') + INTERVAL n * 15 SECOND
+FROM seq;
+
+ANALYZE TABLE bench_services, bench_users, bench_providers, bench_bookings;
+
+-- A word that matches only rare rows, as support staff typically search
+SET @keyword = 'inverter';
+
+-- ----------------------------------------------------------------------------
+-- Path 1: LIKE '%kw%' across joined tables (current searchAllBookings, content query)
+-- ----------------------------------------------------------------------------
+EXPLAIN ANALYZE
+SELECT b.booking_id
+FROM bench_bookings b
+JOIN bench_services s ON s.service_id = b.service_id
+JOIN bench_users u ON u.user_id = b.user_id
+JOIN bench_providers p ON p.provider_id = b.provider_id
+WHERE LOWER(b.booking_number) LIKE LOWER(CONCAT('%', @keyword, '%'))
+   OR LOWER(s.service_name) LIKE LOWER(CONCAT('%', @keyword, '%'))
+   OR LOWER(u.name) LIKE LOWER(CONCAT('%', @keyword, '%'))
+   OR LOWER(p.business_name) LIKE LOWER(CONCAT('%', @keyword, '%'))
+LIMIT 20;
+
+-- ----------------------------------------------------------------------------
+-- Path 2: FULLTEXT in boolean mode + booking number prefix (searchAllBookingIdsFullText)
+-- ----------------------------------------------------------------------------
+SET @query = CONCAT('+', @keyword, '*');
+
+EXPLAIN ANALYZE
+SELECT b.booking_id
+FROM bench_bookings b
+WHERE b.booking_number LIKE CONCAT(UPPER(@keyword), '%')
+   OR b.service_id IN (SELECT s.service_id FROM bench_services s WHERE MATCH(s.service_name) AGAINST(@query IN BOOLEAN MODE))
+   OR b.user_id IN (SELECT u.user_id FROM bench_users u WHERE MATCH(u.name) AGAINST(@query IN BOOLEAN MODE))
+   OR b.provider_id IN (SELECT p.provider_id FROM bench_providers p WHERE MATCH(p.business_name) AGAINST(@query IN BOOLEAN MODE))
+ORDER BY b.created_at DESC
+LIMIT 20;
+
+-- ----------------------------------------------------------------------------
+-- Count queries, which each search also runs for the page total
+-- ----------------------------------------------------------------------------
+EXPLAIN ANALYZE
+SELECT COUNT(*)
+FROM bench_bookings b
+JOIN bench_services s ON s.service_id = b.service_id
+JOIN bench_users u ON u.user_id = b.user_id
+JOIN bench_providers p ON p.provider_id = b.provider_id
+WHERE LOWER(b.booking_number) LIKE LOWER(CONCAT('%', @keyword, '%'))
+   OR LOWER(s.service_name) LIKE LOWER(CONCAT('%', @keyword, '%'))
+   OR LOWER(u.name) LIKE LOWER(CONCAT('%', @keyword, '%'))
+   OR LOWER(p.business_name) LIKE LOWER(CONCAT('%', @keyword, '%'));
+
+EXPLAIN ANALYZE
+SELECT COUNT(*)
+FROM bench_bookings b
+WHERE b.booking_number LIKE CONCAT(UPPER(@keyword), '%')
+   OR b.service_id IN (SELECT s.service_id FROM bench_services s WHERE MATCH(s.service_name) AGAINST(@query IN BOOLEAN MODE))
+   OR b.user_id IN (SELECT u.user_id FROM bench_users u WHERE MATCH(u.name) AGAINST(@query IN BOOLEAN MODE))
+   OR b.provider_id IN (SELECT p.provider_id FROM bench_providers p WHERE MATCH(p.business_name) AGAINST(@query IN BOOLEAN MODE));
+
+DROP TABLE bench_bookings, bench_services, bench_users, bench_providers, bench_words;
@@ -0,0 +1,18 @@
+-- ============================================================================
+-- MIGRATION: Index on bookings.updated_at
+-- Run this SQL against your hirelink_db database
+--
+-- The booking facet and keyword indexes periodically read the bookings
+-- written since their last pass (by any node) to pick up changes they did not
+-- see as events. The range scan on updated_at keeps that pass from reading
+-- the whole table.
+-- ============================================================================
+
+USE hirelink_db;
+
+CREATE INDEX idx_bookings_updated ON bookings(updated_at);
+
+-- ============================================================================
+-- VERIFY
+-- ============================================================================
+SHOW INDEX FROM bookings WHERE Key_name = 'idx_bookings_updated';
@@ -0,0 +1,52 @@
+-- ============================================================================
+-- MIGRATION: FULLTEXT indexes for service and booking keyword search
+-- Run this SQL against your hirelink_db database (MySQL 8.0+)
+--
+-- Service search matches service_name + service_description; booking search
+-- matches the service name, customer name and business name through one index
+-- per table, and booking numbers by prefix on their existing UNIQUE index.
+-- Enable the query path with: hirelink.search.query-mode=fulltext
+--
+-- Words shorter than innodb_ft_min_token_size (default 3) are not indexed;
+-- queries made only of such words keep using the LIKE path.
+-- ============================================================================
+
+USE hirelink_db;
+
+-- ============================================================================
+-- 1. services: service search and booking search by service name
+-- ============================================================================
+ALTER TABLE services
+ADD FULLTEXT INDEX ft_services_name_description (service_name, service_description);
+
+ALTER TABLE services
+ADD FULLTEXT INDEX ft_services_name (service_name);
+
+-- ============================================================================
+-- 2. users: provider and admin booking search by customer name
+-- ============================================================================
+ALTER TABLE users
+ADD FULLTEXT INDEX ft_users_name (name);
+
+-- ============================================================================
+-- 3. service_providers: customer and admin booking search by business name
+-- ============================================================================
+ALTER TABLE service_providers
+ADD FULLTEXT INDEX ft_sp_business_name (business_name);
+
+-- ============================================================================
+-- 4. bookings: newest-first ordering of matches per customer and provider
+-- ============================================================================
+CREATE INDEX idx_bookings_user_created ON bookings(user_id, created_at);
+CREATE INDEX idx_bookings_provider_created ON bookings(provider_id, created_at);
+CREATE INDEX idx_bookings_created ON bookings(created_at);
+
+-- ============================================================================
+-- VERIFY
+-- ============================================================================
+SELECT TABLE_NAME, INDEX_NAME, INDEX_TYPE, GROUP_CONCAT(COLUMN_NAME ORDER BY SEQ_IN_INDEX) AS columns
+FROM information_schema.STATISTICS
+WHERE TABLE_SCHEMA = 'hirelink_db'
+  AND INDEX_NAME IN ('ft_services_name_description', 'ft_services_name', 'ft_users_name', 'ft_sp_business_name',
+                     'idx_bookings_user_created', 'idx_bookings_provider_created', 'idx_bookings_created')
+GROUP BY TABLE_NAME, INDEX_NAME, INDEX_TYPE;
@@ -0,0 +1,20 @@
+-- ============================================================================
+-- MIGRATION: Optimistic locking columns
+-- Run this SQL against your hirelink_db database
+--
+-- Hibernate bumps the version on every entity update and adds
+-- "AND version = ?" to the WHERE clause, so a write based on a stale read
+-- fails instead of overwriting a concurrent change. Existing rows start at 0.
+-- (With spring.jpa.hibernate.ddl-auto=update the columns are added the same way.)
+-- ============================================================================
+
+USE hirelink_db;
+
+ALTER TABLE bookings
+ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE service_providers
+ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE services
+ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,23 @@
+-- ============================================================================
+-- MIGRATION: Booking event outbox
+-- Run this SQL against your hirelink_db database
+--
+-- Booking, status and review changes insert a row here in the same
+-- transaction; OutboxDispatcher delivers pending rows (processed_at IS NULL)
+-- to the subscribers that update provider/service stats and ratings.
+-- (With spring.jpa.hibernate.ddl-auto=update the table is created the same way.)
+-- ============================================================================
+
+USE hirelink_db;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    event_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(40) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    processed_at DATETIME(6) NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    INDEX idx_outbox_pending (processed_at, event_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
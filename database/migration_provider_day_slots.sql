@@ -0,0 +1,23 @@
+-- ============================================================================
+-- MIGRATION: Provider day slots
+-- Run this SQL against your hirelink_db database
+--
+-- One row per provider and day with the day's 96 fifteen-minute slots as two
+-- words (slots 0-63, 64-95). A booking claims its slots by a versioned
+-- update of the row, so concurrent bookings of one provider conflict on the
+-- version instead of waiting on a lock. Rows are created by the first booking
+-- of the day; nothing needs to be backfilled.
+-- (With spring.jpa.hibernate.ddl-auto=update the table is created the same way.)
+-- ============================================================================
+
+USE hirelink_db;
+
+CREATE TABLE IF NOT EXISTS provider_day_slots (
+    day_slots_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    provider_id BIGINT NOT NULL,
+    slot_date DATE NOT NULL,
+    slots_low BIGINT NOT NULL DEFAULT 0,
+    slots_high BIGINT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    UNIQUE KEY uk_provider_day (provider_id, slot_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,108 @@
+-- ============================================================================
+-- MIGRATION: Native spatial columns for provider and booking locations
+-- Run this SQL against your hirelink_db database (MySQL 8.0.13+)
+--
+-- Adds a POINT SRID 4326 column with a SPATIAL index next to the existing
+-- DECIMAL latitude/longitude pairs. Triggers keep the point in sync, so the
+-- application keeps writing only the DECIMAL columns.
+-- Enable the query path with: hirelink.geo.query-mode=spatial
+-- ============================================================================
+
+USE hirelink_db;
+
+-- SPATIAL indexes require NOT NULL columns; rows without coordinates get
+-- POINT(0 0) and are excluded by the IS NOT NULL checks in the queries.
+
+-- ============================================================================
+-- 1. service_providers.base_location
+-- ============================================================================
+ALTER TABLE service_providers
+ADD COLUMN base_location POINT NOT NULL SRID 4326
+    DEFAULT (ST_GeomFromText('POINT(0 0)', 4326)) AFTER base_longitude;
+
+UPDATE service_providers
+SET base_location = ST_GeomFromText(
+        CONCAT('POINT(', base_longitude, ' ', base_latitude, ')'), 4326, 'axis-order=long-lat')
+WHERE base_latitude IS NOT NULL AND base_longitude IS NOT NULL;
+
+CREATE SPATIAL INDEX idx_sp_base_location ON service_providers(base_location);
+
+DROP TRIGGER IF EXISTS trg_sp_base_location_insert;
+DROP TRIGGER IF EXISTS trg_sp_base_location_update;
+
+DELIMITER //
+CREATE TRIGGER trg_sp_base_location_insert BEFORE INSERT ON service_providers
+FOR EACH ROW
+BEGIN
+    IF NEW.base_latitude IS NOT NULL AND NEW.base_longitude IS NOT NULL THEN
+        SET NEW.base_location = ST_GeomFromText(
+            CONCAT('POINT(', NEW.base_longitude, ' ', NEW.base_latitude, ')'), 4326, 'axis-order=long-lat');
+    ELSE
+        SET NEW.base_location = ST_GeomFromText('POINT(0 0)', 4326);
+    END IF;
+END//
+
+CREATE TRIGGER trg_sp_base_location_update BEFORE UPDATE ON service_providers
+FOR EACH ROW
+BEGIN
+    IF NOT (NEW.base_latitude <=> OLD.base_latitude) OR NOT (NEW.base_longitude <=> OLD.base_longitude) THEN
+        IF NEW.base_latitude IS NOT NULL AND NEW.base_longitude IS NOT NULL THEN
+            SET NEW.base_location = ST_GeomFromText(
+                CONCAT('POINT(', NEW.base_longitude, ' ', NEW.base_latitude, ')'), 4326, 'axis-order=long-lat');
+        ELSE
+            SET NEW.base_location = ST_GeomFromText('POINT(0 0)', 4326);
+        END IF;
+    END IF;
+END//
+DELIMITER ;
+
+-- ============================================================================
+-- 2. bookings.service_location
+-- ============================================================================
+ALTER TABLE bookings
+ADD COLUMN service_location POINT NOT NULL SRID 4326
+    DEFAULT (ST_GeomFromText('POINT(0 0)', 4326)) AFTER service_longitude;
+
+UPDATE bookings
+SET service_location = ST_GeomFromText(
+        CONCAT('POINT(', service_longitude, ' ', service_latitude, ')'), 4326, 'axis-order=long-lat')
+WHERE service_latitude IS NOT NULL AND service_longitude IS NOT NULL;
+
+CREATE SPATIAL INDEX idx_bookings_service_location ON bookings(service_location);
+
+DROP TRIGGER IF EXISTS trg_bookings_service_location_insert;
+DROP TRIGGER IF EXISTS trg_bookings_service_location_update;
+
+DELIMITER //
+CREATE TRIGGER trg_bookings_service_location_insert BEFORE INSERT ON bookings
+FOR EACH ROW
+BEGIN
+    IF NEW.service_latitude IS NOT NULL AND NEW.service_longitude IS NOT NULL THEN
+        SET NEW.service_location = ST_GeomFromText(
+            CONCAT('POINT(', NEW.service_longitude, ' ', NEW.service_latitude, ')'), 4326, 'axis-order=long-lat');
+    ELSE
+        SET NEW.service_location = ST_GeomFromText('POINT(0 0)', 4326);
+    END IF;
+END//
+
+CREATE TRIGGER trg_bookings_service_location_update BEFORE UPDATE ON bookings
+FOR EACH ROW
+BEGIN
+    IF NOT (NEW.service_latitude <=> OLD.service_latitude) OR NOT (NEW.service_longitude <=> OLD.service_longitude) THEN
+        IF NEW.service_latitude IS NOT NULL AND NEW.service_longitude IS NOT NULL THEN
+            SET NEW.service_location = ST_GeomFromText(
+                CONCAT('POINT(', NEW.service_longitude, ' ', NEW.service_latitude, ')'), 4326, 'axis-order=long-lat');
+        ELSE
+            SET NEW.service_location = ST_GeomFromText('POINT(0 0)', 4326);
+        END IF;
+    END IF;
+END//
+DELIMITER ;
+
+-- ============================================================================
+-- Verification
+-- ============================================================================
+SELECT 'Migration completed successfully!' AS Status;
+
+SHOW INDEX FROM service_providers WHERE Key_name = 'idx_sp_base_location';
+SHOW INDEX FROM bookings WHERE Key_name = 'idx_bookings_service_location';
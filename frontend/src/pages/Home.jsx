@@ -1,7 +1,7 @@
 import { useState } from 'react'
 import { Link, useNavigate } from 'react-router-dom'
 import { useQuery } from 'react-query'
-import { categoriesAPI, servicesAPI, providersAPI, bookingsAPI } from '../services/api'
+import { categoriesAPI, servicesAPI, providersAPI, dashboardAPI } from '../services/api'
 import { useAuthStore } from '../context/authStore'
 import { format } from 'date-fns'
 import { 
@@ -77,15 +77,15 @@ export default function Home() {
   const { isAuthenticated, user } = useAuthStore()
   const { data: categoriesData } = useQuery('categories', categoriesAPI.getAll)
   const { data: featuredProviders } = useQuery('featuredProviders', providersAPI.getFeatured)
-  const { data: recentBookingsData } = useQuery(
-    'recentBookings', 
-    () => bookingsAPI.getRecent(3),
+  const { data: dashboardData } = useQuery(
+    'dashboardSummary', 
+    dashboardAPI.getSummary,
     { enabled: isAuthenticated && (user?.userType === 'CUSTOMER' || user?.userType === 'PROVIDER') }
   )
   
   const categories = categoriesData?.data?.data?.slice(0, 8) || []
   const providers = featuredProviders?.data?.data?.slice(0, 4) || []
-  const recentBookings = recentBookingsData?.data?.data || []
+  const recentBookings = dashboardData?.data?.data?.recentBookings?.slice(0, 3) || []
   
   const isProvider = user?.userType === 'PROVIDER'
   const isCustomer = user?.userType === 'CUSTOMER'
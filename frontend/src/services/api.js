@@ -102,12 +102,16 @@ export const providersAPI = {
   getFeatured: () => api.get('/providers/featured'),
   getTopRated: (params) => api.get('/providers/top-rated', { params }),
   getByCategory: (categoryId, params) => api.get(`/providers/category/${categoryId}`, { params }),
+  getAvailability: (id, params) => api.get(`/providers/${id}/availability`, { params }),
+  getAvailabilityBatch: (providerIds, params) =>
+    api.get('/providers/availability', { params: { providerIds: providerIds.join(','), ...params } }),
 }
 
 // Bookings API
 export const bookingsAPI = {
   create: (data) => api.post('/bookings', data),
   getMyBookings: (params) => api.get('/bookings/my-bookings', { params }),
+  getStatusCounts: () => api.get('/bookings/counts'),
   getRecent: (limit = 3) => api.get('/bookings/recent', { params: { limit } }),
   getById: (id) => api.get(`/bookings/${id}`),
   getByNumber: (number) => api.get(`/bookings/number/${number}`),
@@ -124,6 +128,12 @@ export const bookingsAPI = {
 export const searchAPI = {
   services: (query, params) => api.get('/services/search', { params: { query, ...params } }),
   bookings: (keyword, params) => api.get('/bookings/search', { params: { keyword, ...params } }),
+  suggest: (q, limit = 8) => api.get('/search/suggest', { params: { q, limit } }),
+}
+
+// Dashboard API
+export const dashboardAPI = {
+  getSummary: () => api.get('/dashboard/summary'),
 }
 
 // User API